@@ -0,0 +1,28 @@
+/**
+ * FILE: BenchmarkRunner.java
+ * LOC: benchmarks
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Entry point of the benchmark jar. Takes the usual JMH command line and always adds the GC profiler,
+ * so every result comes with its allocation rate and bytes allocated per operation.
+ */
+
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build()).run();
+    }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * FILE: ConvexHullBenchmark.java
+ * LOC: benchmarks
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Benchmarks for the convex hulls: Melkman's algorithm on polygons, and the monotone chain run
+ * sequentially and in parallel on uniform point clouds in a disk.
+ */
+
+package benchmarks;
+
+import main.ConvexHull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shape.Point;
+import shape.Polygon;
+import tools.PolygonGenerator;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ConvexHullBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Polygons {
+        @Param({"CONVEX", "STAR", "COMB"})
+        PolygonGenerator.Family family;
+        @Param({"1000", "100000", "1000000"})
+        int n;
+        Polygon polygon;
+
+        @Setup
+        public void setup() {polygon = PolygonGenerator.generate(family, n, 42).toPolygon();}
+    }
+
+    @State(Scope.Benchmark)
+    public static class Cloud {
+        @Param({"100000", "1000000", "10000000"})
+        int n;
+        double[] xs;
+        double[] ys;
+        ArrayList<Point> points;
+        ForkJoinPool single;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(42);
+            xs = new double[n];
+            ys = new double[n];
+            points = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                double angle = 2 * Math.PI * random.nextDouble();
+                double radius = Math.sqrt(random.nextDouble());
+                xs[i] = radius * Math.cos(angle);
+                ys[i] = radius * Math.sin(angle);
+                points.add(new Point(xs[i], ys[i]));
+            }
+            single = new ForkJoinPool(1);
+        }
+    }
+
+    @Benchmark
+    public Polygon melkman(Polygons state) {
+        return ConvexHull.melkman(state.polygon);
+    }
+
+    /** Sorting and the monotone chain on Point objects. */
+    @Benchmark
+    public ArrayList<Point> hull(Cloud state) {
+        return ConvexHull.hull(state.points);
+    }
+
+    @Benchmark
+    public int[] parallelHull(Cloud state) {
+        return ConvexHull.parallelHull(state.xs, state.ys);
+    }
+
+    /** The divide and conquer on a single thread, the baseline of the parallel speedup. */
+    @Benchmark
+    public int[] parallelHullOneThread(Cloud state) {
+        return ConvexHull.parallelHull(state.xs, state.ys, state.single);
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ * FILE: MonotoneBenchmark.java
+ * LOC: benchmarks
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Benchmarks for the monotone partition and the triangulation through monotone pieces, and for the
+ * stages fed by that triangulation.
+ */
+
+package benchmarks;
+
+import main.ConvexPartition;
+import main.Delaunay;
+import main.Monotone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shape.Diagonal;
+import shape.Polygon;
+import shape.Segment;
+import tools.PolygonGenerator;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MonotoneBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Large {
+        @Param({"CONVEX", "STAR", "COMB"})
+        PolygonGenerator.Family family;
+        @Param({"10", "1000", "100000", "1000000"})
+        int n;
+        Polygon polygon;
+        /** Monotone triangulation of the polygon, the input of the Delaunay benchmark. */
+        ArrayList<Diagonal> diagonals;
+
+        @Setup
+        public void setup() {
+            polygon = PolygonGenerator.generate(family, n, 42).toPolygon();
+            diagonals = Monotone.triangulateMonotone(polygon);
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Segment> monotonePartition(Large state) {
+        return Monotone.monotonePartition(state.polygon);
+    }
+
+    @Benchmark
+    public ArrayList<Diagonal> triangulateMonotone(Large state) {
+        return Monotone.triangulateMonotone(state.polygon);
+    }
+
+    /** Monotone pieces as polygons, read off the half-edge mesh. */
+    @Benchmark
+    public ArrayList<Polygon> monotone(Large state) {
+        return Monotone.monotone(state.polygon);
+    }
+
+    /** Flipping the monotone triangulation to the constrained Delaunay triangulation. */
+    @Benchmark
+    public ArrayList<Diagonal> delaunay(Large state) {
+        return Delaunay.delaunay(state.polygon, state.diagonals);
+    }
+
+    /** Merging the monotone triangulation into convex pieces. */
+    @Benchmark
+    public ArrayList<Diagonal> convexPartition(Large state) {
+        return ConvexPartition.convexPartition(state.polygon, state.diagonals);
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * FILE: PolygonPropertiesBenchmark.java
+ * LOC: benchmarks
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Benchmarks for the fused property kernel against areaPoly2, the serial fan sum it replaces, with the
+ * kernel run on the common pool and on a single thread, and directly on a mapped polygon's off-heap buffer.
+ */
+
+package benchmarks;
+
+import main.PolygonProperties;
+import main.Triangulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shape.MappedPolygon;
+import shape.Polygon;
+import tools.PolygonGenerator;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class PolygonPropertiesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Polygons {
+        @Param({"STAR", "SPIRAL"})
+        PolygonGenerator.Family family;
+        @Param({"1000", "100000", "1000000"})
+        int n;
+        Polygon polygon;
+        double[] xs;
+        double[] ys;
+        /** The same vertices in a direct buffer, laid out like a binary polygon file. */
+        MappedPolygon mapped;
+        ForkJoinPool single;
+
+        @Setup
+        public void setup() {
+            polygon = PolygonGenerator.generate(family, n, 42).toPolygon();
+            xs = new double[n];
+            ys = new double[n];
+            for (int v = 0; v < n; v++) {
+                xs[v] = polygon.getPoint(v).getX();
+                ys[v] = polygon.getPoint(v).getY();
+            }
+            DoubleBuffer buffer = ByteBuffer.allocateDirect(16 * n).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            for (int v = 0; v < n; v++) buffer.put(xs[v]).put(ys[v]);
+            mapped = new MappedPolygon(buffer.flip(), n);
+            single = new ForkJoinPool(1);
+        }
+    }
+
+    @Benchmark
+    public double areaPoly2(Polygons state) {
+        return Triangulation.areaPoly2(state.polygon);
+    }
+
+    /** The kernel on a polygon, including the copy of its points to arrays. */
+    @Benchmark
+    public PolygonProperties properties(Polygons state) {
+        return PolygonProperties.compute(state.polygon);
+    }
+
+    @Benchmark
+    public PolygonProperties propertiesArrays(Polygons state) {
+        return PolygonProperties.compute(state.xs, state.ys);
+    }
+
+    /** The kernel reading the buffer in place, against the copy MappedPolygon.toPolygon used to make. */
+    @Benchmark
+    public PolygonProperties propertiesMapped(Polygons state) {
+        return PolygonProperties.compute(state.mapped);
+    }
+
+    /** The kernel's reduction on a single thread, the baseline of the parallel speedup. */
+    @Benchmark
+    public PolygonProperties propertiesOneThread(Polygons state) {
+        return PolygonProperties.compute(state.xs, state.ys, state.single);
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * FILE: TrapezoidalizationBenchmark.java
+ * LOC: benchmarks
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Benchmarks for the sweep trapezoidalization, its vertex sort, and the randomized decomposition.
+ */
+
+package benchmarks;
+
+import main.Trapezoidalization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shape.HalfEdgeMesh;
+import shape.Polygon;
+import shape.Segment;
+import tools.PolygonGenerator;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class TrapezoidalizationBenchmark {
+
+    @Param({"CONVEX", "STAR", "COMB"})
+    PolygonGenerator.Family family;
+    @Param({"10", "1000", "100000", "1000000"})
+    int n;
+    Polygon polygon;
+
+    @Setup
+    public void setup() {polygon = PolygonGenerator.generate(family, n, 42).toPolygon();}
+
+    @Benchmark
+    public ArrayList<Segment> trapezoidalization() {
+        return Trapezoidalization.trapezoidalization(polygon);
+    }
+
+    @Benchmark
+    public ArrayList<Segment> trapezoidalizationSeidel() {
+        return Trapezoidalization.trapezoidalizationSeidel(polygon);
+    }
+
+    @Benchmark
+    public HalfEdgeMesh trapezoidMesh() {
+        return Trapezoidalization.trapezoidMesh(polygon);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> sortVerticesY() {
+        return Trapezoidalization.sortVerticesY(polygon);
+    }
+
+}
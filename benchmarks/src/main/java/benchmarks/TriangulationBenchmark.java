@@ -0,0 +1,120 @@
+/**
+ * FILE: TriangulationBenchmark.java
+ * LOC: benchmarks
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Benchmarks for ear clipping and its predicates. Each state limits the polygon sizes to what the
+ * measured method finishes in reasonable time: ear clipping on Polygon is cubic, earInit quadratic, and the
+ * others linear.
+ */
+
+package benchmarks;
+
+import main.Triangulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shape.ArrayPolygon;
+import shape.Diagonal;
+import shape.Polygon;
+import tools.PolygonGenerator;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class TriangulationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Small {
+        @Param({"CONVEX", "STAR", "COMB"})
+        PolygonGenerator.Family family;
+        @Param({"10", "100", "1000"})
+        int n;
+        Polygon polygon;
+
+        @Setup
+        public void setup() {polygon = PolygonGenerator.generate(family, n, 42).toPolygon();}
+    }
+
+    @State(Scope.Benchmark)
+    public static class Medium {
+        @Param({"CONVEX", "STAR", "COMB"})
+        PolygonGenerator.Family family;
+        @Param({"10", "100", "1000", "10000"})
+        int n;
+        Polygon polygon;
+        ArrayPolygon arrayPolygon;
+
+        @Setup
+        public void setup() {
+            polygon = PolygonGenerator.generate(family, n, 42).toPolygon();
+            arrayPolygon = new ArrayPolygon(polygon);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Large {
+        @Param({"CONVEX", "STAR", "COMB"})
+        PolygonGenerator.Family family;
+        @Param({"10", "1000", "100000", "1000000"})
+        int n;
+        Polygon polygon;
+        /** Vertex pairs tested by the diagonal benchmark, two entries per pair. */
+        int[] pairs;
+        int next;
+
+        @Setup
+        public void setup() {
+            polygon = PolygonGenerator.generate(family, n, 42).toPolygon();
+            Random random = new Random(7);
+            pairs = new int[2048];
+            for (int i = 0; i < pairs.length; i++) pairs[i] = random.nextInt(polygon.getSize());
+        }
+    }
+
+    /** Ear clipping on the list-backed Polygon. The copy it works on is included in the time. */
+    @Benchmark
+    public ArrayList<Diagonal> triangulate(Small state) {
+        return Triangulation.triangulate(new Polygon(state.polygon));
+    }
+
+    /** Ear clipping on the array-backed polygon. */
+    @Benchmark
+    public ArrayList<Diagonal> triangulateArray(Medium state) {
+        return Triangulation.triangulate(new ArrayPolygon(state.arrayPolygon));
+    }
+
+    @Benchmark
+    public Polygon earInit(Medium state) {
+        Triangulation.earInit(state.polygon);
+        return state.polygon;
+    }
+
+    @Benchmark
+    public boolean diagonal(Large state) {
+        int i = state.next;
+        state.next = (i + 2) % state.pairs.length;
+        return Triangulation.diagonal(state.polygon, state.pairs[i], state.pairs[i + 1]);
+    }
+
+    @Benchmark
+    public double areaPoly2(Large state) {
+        return Triangulation.areaPoly2(state.polygon);
+    }
+
+}
@@ -0,0 +1,526 @@
+/**
+ * FILE: CanvasRenderer.java
+ * LOC: src.drawing
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Draws polygons, diagonals and segments onto one JavaFX Canvas instead of adding a Line node to the
+ * scene for every edge. Each layer is stroked as a few large paths, only the parts of a layer inside the viewport
+ * are visited, and when zoomed out consecutive boundary vertices less than half a pixel apart are merged and
+ * subpixel segments landing on a pixel already drawn are skipped. Scrolling zooms about the cursor, dragging pans
+ * and a double click fits the drawing to the window; each of them only changes the view and redraws the canvas.
+ * NOTE: Points are drawn in screen coordinates, y down, like Drawing draws them. Layers are drawn in the order they
+ * were added, and adding a layer to a renderer already on screen needs a call to redraw.
+ */
+
+package drawing;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import shape.Diagonal;
+import shape.Point;
+import shape.Polygon;
+import shape.Segment;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+public class CanvasRenderer {
+    /** Zoom factor of one scroll step. */
+    private static final double ZOOM_STEP = 1.15;
+    /** Screen distance, in pixels, under which a boundary vertex is merged into the one drawn before it. */
+    private static final double TOLERANCE = 0.5;
+    /** Number of consecutive boundary edges sharing one bounding box for culling. */
+    private static final int CHUNK = 256;
+    /** Number of edges stroked as one path, which bounds the size of the paths the canvas has to hold. */
+    private static final int BATCH = 4096;
+    /** Largest number of grid cells a segment is filed under; longer segments are tested on every redraw. */
+    private static final int MAX_CELLS = 16;
+    /** Fraction of the window left blank on each side when fitting the drawing. */
+    private static final double MARGIN = 0.05;
+
+    private final Canvas canvas = new Canvas();
+    private final Pane pane = new Pane(canvas);
+    private final ArrayList<Layer> layers = new ArrayList<>();
+
+    // a point (x, y) is drawn at ((x - offsetX) * scale, (y - offsetY) * scale)
+    private double scale = 1;
+    private double offsetX;
+    private double offsetY;
+    private boolean fitted;
+    private double dragX;
+    private double dragY;
+
+    /** One bit per pixel, set when a subpixel segment of the layer being drawn has been drawn there. */
+    private long[] covered = new long[0];
+    private int pixelWidth;
+    private int pixelHeight;
+    /** Number of edges stroked by the last redraw. */
+    private long drawn;
+
+    public CanvasRenderer() {
+        canvas.widthProperty().bind(pane.widthProperty());
+        canvas.heightProperty().bind(pane.heightProperty());
+        canvas.widthProperty().addListener(observable -> resized());
+        canvas.heightProperty().addListener(observable -> resized());
+        canvas.setOnScroll(this::zoom);
+        canvas.setOnMousePressed(this::press);
+        canvas.setOnMouseDragged(this::pan);
+        canvas.setOnMouseClicked(event -> {
+            if (event.getClickCount() == 2) fit();
+        });
+    }
+
+    /** @return the node to put in a scene. The canvas takes the size the pane is given. */
+    public Pane getPane() {return pane;}
+
+    public Canvas getCanvas() {return canvas;}
+
+    /** @return the number of edges stroked by the last redraw, after culling and simplification. */
+    public long getDrawnCount() {return drawn;}
+
+    /**
+     * Adds a polygon's boundary, drawn in black with a width of 2 like Drawing.drawPolygon.
+     * @param polygon the polygon to be drawn.
+     */
+    public void addPolygon(Polygon polygon) {
+        addPolygons(List.of(polygon), Color.BLACK, 2);
+    }
+
+    /**
+     * Adds a polygon's boundary.
+     * @param polygon the polygon to be drawn.
+     * @param stroke the color of its edges.
+     * @param width the width of its edges.
+     */
+    public void addPolygon(Polygon polygon, Paint stroke, double width) {
+        addPolygons(List.of(polygon), stroke, width);
+    }
+
+    /**
+     * Adds the boundaries of several polygons, such as the pieces of a partition, as a single layer.
+     * @param polygons the polygons to be drawn.
+     * @param stroke the color of their edges.
+     * @param width the width of their edges.
+     */
+    public void addPolygons(List<Polygon> polygons, Paint stroke, double width) {
+        layers.add(new PathLayer(polygons, stroke, width));
+    }
+
+    /**
+     * Adds diagonals, drawn in black with a width of 1 like Drawing.drawDiagonal.
+     * @param diagonals the diagonals to be drawn.
+     */
+    public void addDiagonals(List<Diagonal> diagonals) {
+        addDiagonals(diagonals, Color.BLACK, 1);
+    }
+
+    /**
+     * Adds diagonals.
+     * @param diagonals the diagonals to be drawn.
+     * @param stroke the color of the diagonals.
+     * @param width the width of the diagonals.
+     */
+    public void addDiagonals(List<Diagonal> diagonals, Paint stroke, double width) {
+        layers.add(new SegmentLayer(coordinates(diagonals, Diagonal::getP1, Diagonal::getP2), stroke, width));
+    }
+
+    /**
+     * Adds segments, such as the ones of a trapezoidalization, drawn in black with a width of 1.
+     * @param segments the segments to be drawn.
+     */
+    public void addSegments(List<Segment> segments) {
+        addSegments(segments, Color.BLACK, 1);
+    }
+
+    /**
+     * Adds segments, such as the ones of a trapezoidalization.
+     * @param segments the segments to be drawn.
+     * @param stroke the color of the segments.
+     * @param width the width of the segments.
+     */
+    public void addSegments(List<Segment> segments, Paint stroke, double width) {
+        layers.add(new SegmentLayer(coordinates(segments, Segment::getP1, Segment::getP2), stroke, width));
+    }
+
+    /** Removes every layer. */
+    public void clear() {
+        layers.clear();
+        redraw();
+    }
+
+    /** Zooms and pans so the whole drawing fits the canvas, then redraws it. */
+    public void fit() {
+        double w = canvas.getWidth(), h = canvas.getHeight();
+        if (w <= 0 || h <= 0) return;
+        fitted = true;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (Layer layer : layers) {
+            minX = Math.min(minX, layer.minX);
+            minY = Math.min(minY, layer.minY);
+            maxX = Math.max(maxX, layer.maxX);
+            maxY = Math.max(maxY, layer.maxY);
+        }
+        if (minX > maxX) {
+            scale = 1;
+            offsetX = 0;
+            offsetY = 0;
+        } else {
+            double extent = Math.max((maxX - minX) / w, (maxY - minY) / h);
+            scale = extent > 0 ? (1 - 2 * MARGIN) / extent : 1;
+            offsetX = (minX + maxX) / 2 - w / 2 / scale;
+            offsetY = (minY + maxY) / 2 - h / 2 / scale;
+        }
+        redraw();
+    }
+
+    /** Draws every layer again with the current view. */
+    public void redraw() {
+        double w = canvas.getWidth(), h = canvas.getHeight();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, w, h);
+        pixelWidth = (int) Math.ceil(w);
+        pixelHeight = (int) Math.ceil(h);
+        int words = (int) (((long) pixelWidth * pixelHeight + 63) >>> 6);
+        if (covered.length < words) covered = new long[words];
+
+        // the visible part of the plane
+        double x0 = offsetX, y0 = offsetY;
+        double x1 = offsetX + w / scale, y1 = offsetY + h / scale;
+        drawn = 0;
+        for (Layer layer : layers) {
+            // a wide edge just outside the window still shows
+            double pad = layer.width / scale;
+            if (layer.maxX < x0 - pad || layer.minX > x1 + pad || layer.maxY < y0 - pad || layer.minY > y1 + pad) {
+                continue;
+            }
+            gc.setStroke(layer.stroke);
+            gc.setLineWidth(layer.width);
+            gc.beginPath();
+            layer.edges = 0;
+            layer.draw(gc, x0 - pad, y0 - pad, x1 + pad, y1 + pad);
+            gc.stroke();
+            drawn += layer.edges;
+        }
+    }
+
+    private void resized() {
+        if (fitted) redraw();
+        else fit();
+    }
+
+    /** Zooms by one step about the cursor, keeping the point under it in place. */
+    private void zoom(ScrollEvent event) {
+        if (event.getDeltaY() == 0) return;
+        double factor = event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+        offsetX += event.getX() / scale * (1 - 1 / factor);
+        offsetY += event.getY() / scale * (1 - 1 / factor);
+        scale *= factor;
+        redraw();
+        event.consume();
+    }
+
+    private void press(MouseEvent event) {
+        dragX = event.getX();
+        dragY = event.getY();
+    }
+
+    /** Moves the view with the cursor. */
+    private void pan(MouseEvent event) {
+        offsetX -= (event.getX() - dragX) / scale;
+        offsetY -= (event.getY() - dragY) / scale;
+        dragX = event.getX();
+        dragY = event.getY();
+        redraw();
+    }
+
+    /**
+     * Packs the endpoints of segments into one array.
+     * @param items the segments.
+     * @param first gives the first endpoint of a segment.
+     * @param second gives the second endpoint of a segment.
+     * @return x1, y1, x2 and y2 of each segment in turn.
+     */
+    private static <T> double[] coordinates(List<T> items, Function<T, Point> first, Function<T, Point> second) {
+        double[] coords = new double[4 * items.size()];
+        int k = 0;
+        for (T item : items) {
+            Point p1 = first.apply(item), p2 = second.apply(item);
+            coords[k++] = p1.getX();
+            coords[k++] = p1.getY();
+            coords[k++] = p2.getX();
+            coords[k++] = p2.getY();
+        }
+        return coords;
+    }
+
+    /** Geometry drawn with one stroke and width. */
+    private abstract class Layer {
+        final Paint stroke;
+        final double width;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        /** Number of edges added to the path so far in this redraw. */
+        long edges;
+
+        Layer(Paint stroke, double width) {
+            this.stroke = stroke;
+            this.width = width;
+        }
+
+        /**
+         * Adds the visible edges to the current path of the canvas.
+         * @param gc the canvas's graphics context, with a path begun.
+         * @param x0 smallest visible x.
+         * @param y0 smallest visible y.
+         * @param x1 largest visible x.
+         * @param y1 largest visible y.
+         */
+        abstract void draw(GraphicsContext gc, double x0, double y0, double x1, double y1);
+
+        /**
+         * Counts an edge added to the path, and strokes the path once it holds BATCH edges.
+         * @param gc the canvas's graphics context.
+         * @return whether a new path was begun, which has no current point.
+         */
+        boolean batch(GraphicsContext gc) {
+            if (++edges % BATCH != 0) return false;
+            gc.stroke();
+            gc.beginPath();
+            return true;
+        }
+    }
+
+    /**
+     * Closed polygon boundaries. The vertices of all the polygons are stored one after the other, and their edges
+     * are grouped into runs of CHUNK consecutive edges of one polygon, each with its bounding box.
+     */
+    private class PathLayer extends Layer {
+        private final double[] xs;
+        private final double[] ys;
+        /** Index of the first vertex of each polygon, and the total number of vertices at the end. */
+        private final int[] starts;
+        /** Polygon, first edge and edge after the last one of each run. */
+        private final int[] runs;
+        /** Smallest x, smallest y, largest x and largest y of each run. */
+        private final double[] boxes;
+
+        PathLayer(List<Polygon> polygons, Paint stroke, double width) {
+            super(stroke, width);
+            starts = new int[polygons.size() + 1];
+            int count = 0;
+            int runCount = 0;
+            for (int r = 0; r < polygons.size(); r++) {
+                int n = polygons.get(r).getSize();
+                starts[r] = count;
+                count += n;
+                runCount += (n + CHUNK - 1) / CHUNK;
+            }
+            starts[polygons.size()] = count;
+            xs = new double[count];
+            ys = new double[count];
+            runs = new int[3 * runCount];
+            boxes = new double[4 * runCount];
+
+            int run = 0;
+            for (int r = 0; r < polygons.size(); r++) {
+                Polygon polygon = polygons.get(r);
+                int n = polygon.getSize();
+                for (int v = 0; v < n; v++) {
+                    Point p = polygon.getPoint(v);
+                    xs[starts[r] + v] = p.getX();
+                    ys[starts[r] + v] = p.getY();
+                }
+                for (int from = 0; from < n; from += CHUNK, run++) {
+                    int to = Math.min(from + CHUNK, n);
+                    runs[3 * run] = r;
+                    runs[3 * run + 1] = from;
+                    runs[3 * run + 2] = to;
+                    double bx0 = Double.POSITIVE_INFINITY, by0 = Double.POSITIVE_INFINITY;
+                    double bx1 = Double.NEGATIVE_INFINITY, by1 = Double.NEGATIVE_INFINITY;
+                    // the run's edges end at vertex to, which wraps to the polygon's first vertex
+                    for (int v = from; v <= to; v++) {
+                        int i = starts[r] + (v == n ? 0 : v);
+                        bx0 = Math.min(bx0, xs[i]);
+                        by0 = Math.min(by0, ys[i]);
+                        bx1 = Math.max(bx1, xs[i]);
+                        by1 = Math.max(by1, ys[i]);
+                    }
+                    boxes[4 * run] = bx0;
+                    boxes[4 * run + 1] = by0;
+                    boxes[4 * run + 2] = bx1;
+                    boxes[4 * run + 3] = by1;
+                    minX = Math.min(minX, bx0);
+                    minY = Math.min(minY, by0);
+                    maxX = Math.max(maxX, bx1);
+                    maxY = Math.max(maxY, by1);
+                }
+            }
+        }
+
+        @Override
+        void draw(GraphicsContext gc, double x0, double y0, double x1, double y1) {
+            for (int run = 0; run < runs.length / 3; run++) {
+                if (boxes[4 * run + 2] < x0 || boxes[4 * run] > x1
+                        || boxes[4 * run + 3] < y0 || boxes[4 * run + 1] > y1) {
+                    continue;
+                }
+                int start = starts[runs[3 * run]];
+                int n = starts[runs[3 * run] + 1] - start;
+                int from = runs[3 * run + 1], to = runs[3 * run + 2];
+                double lastX = (xs[start + from] - offsetX) * scale;
+                double lastY = (ys[start + from] - offsetY) * scale;
+                gc.moveTo(lastX, lastY);
+                for (int e = from; e < to; e++) {
+                    int v = start + (e + 1 == n ? 0 : e + 1);
+                    double x = (xs[v] - offsetX) * scale;
+                    double y = (ys[v] - offsetY) * scale;
+                    // merge vertices too close to tell apart, but always reach the end of the run
+                    if (e + 1 < to && Math.abs(x - lastX) < TOLERANCE && Math.abs(y - lastY) < TOLERANCE) continue;
+                    gc.lineTo(x, y);
+                    lastX = x;
+                    lastY = y;
+                    if (batch(gc)) gc.moveTo(x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Independent segments, filed in a uniform grid over their bounding box so a redraw zoomed in only visits the
+     * cells in view. A segment is filed under every cell its bounding box overlaps, unless there are more than
+     * MAX_CELLS of them.
+     */
+    private class SegmentLayer extends Layer {
+        /** x1, y1, x2 and y2 of each segment. */
+        private final double[] coords;
+        private final int columns;
+        private final int rows;
+        private final double cellWidth;
+        private final double cellHeight;
+        /** Index in cells of the first segment of each cell, and the total at the end. */
+        private final int[] cellStarts;
+        private final int[] cells;
+        /** Segments spanning too many cells, visited on every redraw. */
+        private final int[] spanning;
+        /** Redraw in which each segment was last visited, so a segment filed under several cells is drawn once. */
+        private final int[] visited;
+        private int frame;
+
+        SegmentLayer(double[] coords, Paint stroke, double width) {
+            super(stroke, width);
+            this.coords = coords;
+            int m = coords.length / 4;
+            for (int k = 0; k < coords.length; k += 2) {
+                minX = Math.min(minX, coords[k]);
+                minY = Math.min(minY, coords[k + 1]);
+                maxX = Math.max(maxX, coords[k]);
+                maxY = Math.max(maxY, coords[k + 1]);
+            }
+            // about four segments to a cell
+            columns = rows = Math.max(1, (int) Math.sqrt(m / 4.0));
+            cellWidth = maxX > minX ? (maxX - minX) / columns : 1;
+            cellHeight = maxY > minY ? (maxY - minY) / rows : 1;
+            visited = new int[m];
+
+            cellStarts = new int[columns * rows + 1];
+            int spanCount = 0;
+            for (int i = 0; i < m; i++) {
+                int c0 = column(segmentMinX(i)), c1 = column(segmentMaxX(i));
+                int r0 = row(segmentMinY(i)), r1 = row(segmentMaxY(i));
+                if ((c1 - c0 + 1) * (r1 - r0 + 1) > MAX_CELLS) {
+                    spanCount++;
+                    continue;
+                }
+                for (int r = r0; r <= r1; r++) {
+                    for (int c = c0; c <= c1; c++) cellStarts[r * columns + c + 1]++;
+                }
+            }
+            for (int c = 0; c < columns * rows; c++) cellStarts[c + 1] += cellStarts[c];
+            cells = new int[cellStarts[columns * rows]];
+            spanning = new int[spanCount];
+            int[] fill = Arrays.copyOf(cellStarts, columns * rows);
+            spanCount = 0;
+            for (int i = 0; i < m; i++) {
+                int c0 = column(segmentMinX(i)), c1 = column(segmentMaxX(i));
+                int r0 = row(segmentMinY(i)), r1 = row(segmentMaxY(i));
+                if ((c1 - c0 + 1) * (r1 - r0 + 1) > MAX_CELLS) {
+                    spanning[spanCount++] = i;
+                    continue;
+                }
+                for (int r = r0; r <= r1; r++) {
+                    for (int c = c0; c <= c1; c++) cells[fill[r * columns + c]++] = i;
+                }
+            }
+        }
+
+        @Override
+        void draw(GraphicsContext gc, double x0, double y0, double x1, double y1) {
+            Arrays.fill(covered, 0, (int) (((long) pixelWidth * pixelHeight + 63) >>> 6), 0L);
+            int c0 = column(x0), c1 = column(x1), r0 = row(y0), r1 = row(y1);
+            if (c0 == 0 && r0 == 0 && c1 == columns - 1 && r1 == rows - 1) {
+                // everything is in view, so the grid would only add work
+                for (int i = 0; i < visited.length; i++) segment(gc, i, x0, y0, x1, y1);
+                return;
+            }
+            frame++;
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    for (int k = cellStarts[r * columns + c]; k < cellStarts[r * columns + c + 1]; k++) {
+                        int i = cells[k];
+                        if (visited[i] == frame) continue;
+                        visited[i] = frame;
+                        segment(gc, i, x0, y0, x1, y1);
+                    }
+                }
+            }
+            for (int i : spanning) segment(gc, i, x0, y0, x1, y1);
+        }
+
+        /** Adds segment i to the path if its bounding box is in view and it is not hidden by a subpixel segment. */
+        private void segment(GraphicsContext gc, int i, double x0, double y0, double x1, double y1) {
+            if (segmentMaxX(i) < x0 || segmentMinX(i) > x1 || segmentMaxY(i) < y0 || segmentMinY(i) > y1) return;
+            double ax = (coords[4 * i] - offsetX) * scale, ay = (coords[4 * i + 1] - offsetY) * scale;
+            double bx = (coords[4 * i + 2] - offsetX) * scale, by = (coords[4 * i + 3] - offsetY) * scale;
+            if (Math.abs(bx - ax) < 1 && Math.abs(by - ay) < 1 && ax >= 0 && ay >= 0) {
+                // a segment inside one pixel adds nothing to a pixel already drawn by another
+                int px = (int) ax, py = (int) ay;
+                if (px < pixelWidth && py < pixelHeight) {
+                    long bit = (long) py * pixelWidth + px;
+                    if ((covered[(int) (bit >>> 6)] & 1L << bit) != 0) return;
+                    covered[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+            gc.moveTo(ax, ay);
+            gc.lineTo(bx, by);
+            batch(gc);
+        }
+
+        private int column(double x) {
+            return Math.max(0, Math.min(columns - 1, (int) ((x - minX) / cellWidth)));
+        }
+
+        private int row(double y) {
+            return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellHeight)));
+        }
+
+        private double segmentMinX(int i) {return Math.min(coords[4 * i], coords[4 * i + 2]);}
+
+        private double segmentMaxX(int i) {return Math.max(coords[4 * i], coords[4 * i + 2]);}
+
+        private double segmentMinY(int i) {return Math.min(coords[4 * i + 1], coords[4 * i + 3]);}
+
+        private double segmentMaxY(int i) {return Math.max(coords[4 * i + 1], coords[4 * i + 3]);}
+    }
+
+}
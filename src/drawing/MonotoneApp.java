@@ -0,0 +1,66 @@
+/**
+ * FILE: MonotoneApp.java
+ * LOC: src.drawing
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 1/15/2024
+ *
+ * DESCRIPTION: JavaFX window showing a partition of a polygon into monotone pieces. Kept apart from Monotone so the
+ * algorithm loads without JavaFX.
+ */
+
+package drawing;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import shape.Polygon;
+import java.util.ArrayList;
+import java.util.List;
+import static main.Monotone.monotone;
+import static main.Triangulation.areaPoly2;
+import static tools.PolygonTools.readPolygon;
+
+public class MonotoneApp extends Application {
+
+    public static void main(String[] args) {Application.launch(args);}
+
+    @Override
+    public void start(Stage stage) {
+        // read polygon data from the file given on the command line, or the sample
+        List<String> args = getParameters().getRaw();
+        Polygon polygon = readPolygon(args.isEmpty() ? "src/data/poly7.txt" : args.get(0));
+        if (polygon == null) {
+            System.out.println("Could not read polygon file.");
+            return;
+        }
+
+        CanvasRenderer renderer = new CanvasRenderer();
+
+        // calculate the polygon's area
+        System.out.println("The polygon's area is " + (areaPoly2(polygon) / 2));
+
+        // draw monotone partition
+        drawMonotone(renderer, polygon);
+
+        // window setup
+        Scene scene = new Scene(renderer.getPane());
+        stage.setScene(scene);
+        stage.setWidth(1200);
+        stage.setHeight(700);
+        stage.setTitle("Monotone");
+        stage.show();
+    }
+
+    /**
+     * Calculate and draw a monotone partition for the polygon.
+     * @param renderer the renderer being drawn to.
+     * @param polygon the shape being partitioned.
+     */
+    public static void drawMonotone(CanvasRenderer renderer, Polygon polygon) {
+        ArrayList<Polygon> polygons = monotone(polygon);
+        renderer.addPolygons(polygons, Color.BLACK, 2);
+    }
+
+}
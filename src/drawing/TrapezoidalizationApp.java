@@ -0,0 +1,71 @@
+/**
+ * FILE: TrapezoidalizationApp.java
+ * LOC: src.drawing
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 1/14/2024
+ *
+ * DESCRIPTION: JavaFX window showing a polygon and its trapezoidalization. Kept apart from Trapezoidalization so the
+ * algorithm loads without JavaFX.
+ */
+
+package drawing;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import shape.Polygon;
+import shape.Segment;
+import java.util.ArrayList;
+import java.util.List;
+import static main.Trapezoidalization.trapezoidalization;
+import static main.Triangulation.areaPoly2;
+import static tools.PolygonTools.readPolygon;
+
+public class TrapezoidalizationApp extends Application {
+
+    public static void main(String[] args) {
+        Application.launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        // read polygon data from the file given on the command line, or the sample
+        List<String> args = getParameters().getRaw();
+        Polygon polygon = readPolygon(args.isEmpty() ? "src/data/poly6.txt" : args.get(0));
+        if (polygon == null) {
+            System.out.println("Could not read polygon file.");
+            return;
+        }
+
+        CanvasRenderer renderer = new CanvasRenderer();
+
+        // draw polygon
+        renderer.addPolygon(polygon);
+
+        // calculate the polygon's area
+        System.out.println("The polygon's area is " + (areaPoly2(polygon) / 2));
+
+        // draw trapezoidalization
+        drawTrapezoidalization(renderer, polygon);
+
+        // window setup
+        Scene scene = new Scene(renderer.getPane());
+        stage.setScene(scene);
+        stage.setWidth(1200);
+        stage.setHeight(700);
+        stage.setTitle("Trapezoidalization");
+        stage.show();
+    }
+
+    /**
+     * Calculate and draw a trapezoidalization for the polygon.
+     * @param renderer the renderer that the trapezoidalization will be added to.
+     * @param polygon the shape being trapezoidilated.
+     */
+    public static void drawTrapezoidalization(CanvasRenderer renderer, Polygon polygon) {
+        ArrayList<Segment> segments = trapezoidalization(polygon);
+        renderer.addSegments(segments);
+    }
+
+}
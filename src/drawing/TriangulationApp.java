@@ -0,0 +1,72 @@
+/**
+ * FILE: TriangulationApp.java
+ * LOC: src.drawing
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 1/12/2024
+ *
+ * DESCRIPTION: JavaFX window showing a polygon and its triangulation. Kept apart from Triangulation so the algorithm
+ * loads without JavaFX.
+ */
+
+package drawing;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import shape.Diagonal;
+import shape.Polygon;
+import java.util.ArrayList;
+import java.util.List;
+import static main.Triangulation.areaPoly2;
+import static main.Triangulation.triangulate;
+import static tools.PolygonTools.readPolygon;
+
+public class TriangulationApp extends Application {
+
+    public static void main(String[] args) {
+        Application.launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        // read polygon data from the file given on the command line, or the sample
+        List<String> args = getParameters().getRaw();
+        Polygon polygon = readPolygon(args.isEmpty() ? "src/data/poly7.txt" : args.get(0));
+        if (polygon == null) {
+            System.out.println("Could not read polygon file.");
+            return;
+        }
+
+        CanvasRenderer renderer = new CanvasRenderer();
+
+        // draw polygon
+        renderer.addPolygon(polygon);
+
+        // calculate and draw triangulation
+        drawTriangulation(renderer, polygon);
+
+        // calculate the polygon's area
+        System.out.println("The polygon's area is " + (areaPoly2(polygon) / 2));
+
+        // window setup
+        Scene scene = new Scene(renderer.getPane());
+        stage.setScene(scene);
+        stage.setWidth(1200);
+        stage.setHeight(700);
+        stage.setTitle("Triangulation");
+        stage.show();
+    }
+
+    /**
+     * Calculate and draw triangulation for the polygon.
+     * @param renderer the renderer that the triangulation will be added to.
+     * @param polygon the shape being triangulated.
+     */
+    public static void drawTriangulation(CanvasRenderer renderer, Polygon polygon) {
+        Polygon copyPolygon = new Polygon(polygon);
+        ArrayList<Diagonal> diagonals = triangulate(copyPolygon);
+        renderer.addDiagonals(diagonals);
+    }
+
+}
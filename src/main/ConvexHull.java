@@ -0,0 +1,289 @@
+/**
+ * FILE: ConvexHull.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Convex hulls of point sets and polygons. Andrew's monotone chain builds the hull of points sorted by
+ * x coordinate in linear time, Melkman's algorithm the hull of a simple polygon in linear time without sorting, and
+ * a divide-and-conquer version of the monotone chain splits very large point clouds across a fork/join pool.
+ * NOTE: Hulls are counterclockwise (positive areaPoly2) and leave out vertices in the middle of a hull edge.
+ */
+
+package main;
+
+import shape.Point;
+import shape.Polygon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import static main.Triangulation.collinear;
+import static main.Triangulation.left;
+
+public class ConvexHull {
+    /** Largest number of points a parallel task hulls directly instead of splitting. */
+    public static final int LEAF_SIZE = 1 << 15;
+
+    /** Orders points by x coordinate, then by y coordinate. */
+    private static final Comparator<Point> X_ORDER = Comparator.comparingDouble(Point::getX)
+            .thenComparingDouble(Point::getY);
+
+    /**
+     * Calculate the convex hull of a set of points.
+     * @param points the points, in any order. The list is not modified.
+     * @return the hull's vertices in counterclockwise order.
+     */
+    public static ArrayList<Point> hull(List<Point> points) {
+        return monotoneChain(sortedCopy(points));
+    }
+
+    /**
+     * Calculate the convex hull of points sorted by x coordinate, then by y coordinate, with Andrew's monotone chain.
+     * One chain is built left to right and the other right to left, each keeping only left turns.
+     * @param sorted the sorted points.
+     * @return the hull's vertices in counterclockwise order.
+     */
+    public static ArrayList<Point> monotoneChain(List<Point> sorted) {
+        int n = sorted.size();
+        ArrayList<Point> hull = new ArrayList<>();
+        if (n < 3) {
+            for (Point p : sorted) if (hull.isEmpty() || !hull.get(hull.size() - 1).equals(p)) hull.add(p);
+            return hull;
+        }
+        for (int i = 0; i < n; i++) {
+            Point p = sorted.get(i);
+            while (hull.size() >= 2 && !left(hull.get(hull.size() - 2), hull.get(hull.size() - 1), p)) {
+                hull.remove(hull.size() - 1);
+            }
+            hull.add(p);
+        }
+        int lower = hull.size() + 1;
+        for (int i = n - 2; i >= 0; i--) {
+            Point p = sorted.get(i);
+            while (hull.size() >= lower && !left(hull.get(hull.size() - 2), hull.get(hull.size() - 1), p)) {
+                hull.remove(hull.size() - 1);
+            }
+            hull.add(p);
+        }
+        // the last point closes the loop on the first
+        hull.remove(hull.size() - 1);
+        return hull;
+    }
+
+    /**
+     * Calculate the convex hull of a simple polygon with Melkman's algorithm. A deque holds the hull of the vertices
+     * seen so far, with the last vertex added at both ends; a new vertex outside it is pushed on both ends after
+     * popping the vertices it hides.
+     * @param polygon the simple polygon, in either orientation.
+     * @return the hull as a counterclockwise polygon.
+     */
+    public static Polygon melkman(Polygon polygon) {
+        int n = polygon.getSize();
+        Point[] deque = new Point[2 * n + 1];
+        int bottom = n, top = n;
+
+        // vertices collinear with the first two run along a line, so only the last of them matters
+        int k = 2;
+        while (k < n && collinear(polygon.getPoint(0), polygon.getPoint(1), polygon.getPoint(k))) k++;
+        if (k == n) return new Polygon(monotoneChain(sortedCopy(polygon.getPoints())));
+        Point a = polygon.getPoint(0), b = polygon.getPoint(k - 1), c = polygon.getPoint(k);
+        deque[bottom] = c;
+        if (left(a, b, c)) {
+            deque[++top] = a;
+            deque[++top] = b;
+        } else {
+            deque[++top] = b;
+            deque[++top] = a;
+        }
+        deque[++top] = c;
+
+        for (int i = k + 1; i < n; i++) {
+            Point p = polygon.getPoint(i);
+            // a vertex inside the current hull is skipped
+            if (left(deque[top - 1], deque[top], p) && left(deque[bottom], deque[bottom + 1], p)) continue;
+            while (top - bottom > 1 && !left(deque[top - 1], deque[top], p)) top--;
+            deque[++top] = p;
+            while (top - bottom > 1 && !left(p, deque[bottom], deque[bottom + 1])) bottom++;
+            deque[--bottom] = p;
+        }
+        return new Polygon(Arrays.asList(deque).subList(bottom, top));
+    }
+
+    /**
+     * Calculate the convex hull of a large point cloud on the common fork/join pool.
+     * @param xs x coordinate of each point.
+     * @param ys y coordinate of each point.
+     * @return indices of the hull's vertices in counterclockwise order.
+     */
+    public static int[] parallelHull(double[] xs, double[] ys) {
+        return parallelHull(xs, ys, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculate the convex hull of a large point cloud by divide and conquer. The points are split by index range
+     * until a range holds at most LEAF_SIZE points; each range is hulled on its own, and two hulls are merged by
+     * running the monotone chain over their vertices, which are few.
+     * @param xs x coordinate of each point.
+     * @param ys y coordinate of each point.
+     * @param pool the pool running the tasks.
+     * @return indices of the hull's vertices in counterclockwise order.
+     */
+    public static int[] parallelHull(double[] xs, double[] ys, ForkJoinPool pool) {
+        return pool.invoke(new HullTask(xs, ys, 0, xs.length));
+    }
+
+    /** Hull of the points of an index range. */
+    private static class HullTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+
+        HullTask(double[] xs, double[] ys, int from, int to) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= LEAF_SIZE) return leaf();
+            int middle = (from + to) >>> 1;
+            HullTask right = new HullTask(xs, ys, middle, to);
+            right.fork();
+            int[] first = new HullTask(xs, ys, from, middle).compute();
+            int[] second = right.join();
+            int[] union = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, union, first.length, second.length);
+            return chain(union, union.length);
+        }
+
+        /**
+         * Hull the range directly. Points strictly inside the octagon of the extreme points in x, y and the two
+         * diagonal directions cannot be on the hull, which rules out most of a random cloud before sorting.
+         */
+        private int[] leaf() {
+            // extreme points in eight directions, counterclockwise from +x: x, x + y, y, y - x, -x, -x - y, -y, x - y
+            int[] octagon = new int[8];
+            Arrays.fill(octagon, from);
+            for (int i = from + 1; i < to; i++) {
+                double x = xs[i], y = ys[i];
+                if (x > xs[octagon[0]]) octagon[0] = i;
+                if (x + y > xs[octagon[1]] + ys[octagon[1]]) octagon[1] = i;
+                if (y > ys[octagon[2]]) octagon[2] = i;
+                if (y - x > ys[octagon[3]] - xs[octagon[3]]) octagon[3] = i;
+                if (x < xs[octagon[4]]) octagon[4] = i;
+                if (x + y < xs[octagon[5]] + ys[octagon[5]]) octagon[5] = i;
+                if (y < ys[octagon[6]]) octagon[6] = i;
+                if (x - y > xs[octagon[7]] - ys[octagon[7]]) octagon[7] = i;
+            }
+            int[] candidates = new int[to - from];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (!inside(octagon, i)) candidates[count++] = i;
+            }
+            return chain(candidates, count);
+        }
+
+        /**
+         * Determines whether point i is strictly inside a convex polygon, whatever its orientation. Only the
+         * floating-point filter of the orientation predicate is evaluated, and a point it cannot decide is kept, so
+         * no hull vertex is ever discarded.
+         * @param polygon indices of the polygon's vertices. Repeated vertices are allowed.
+         * @param i index of the point.
+         */
+        private boolean inside(int[] polygon, int i) {
+            int sign = 0;
+            for (int j = 0; j < polygon.length; j++) {
+                int a = polygon[j], b = polygon[(j + 1) % polygon.length];
+                if (xs[a] == xs[b] && ys[a] == ys[b]) continue;
+                double left = (xs[b] - xs[a]) * (ys[i] - ys[a]);
+                double right = (ys[b] - ys[a]) * (xs[i] - xs[a]);
+                double det = left - right;
+                if (Math.abs(det) <= Predicates.ORIENTATION_BOUND * (Math.abs(left) + Math.abs(right))) return false;
+                int o = det > 0 ? 1 : -1;
+                if (sign != 0 && o != sign) return false;
+                sign = o;
+            }
+            return sign != 0;
+        }
+
+        /**
+         * Monotone chain over some of the points.
+         * @param points indices of the points. Sorted in place.
+         * @param count number of points used.
+         * @return indices of the hull's vertices in counterclockwise order, empty if there are no points.
+         */
+        private int[] chain(int[] points, int count) {
+            if (count == 0) return new int[0];
+            sort(points, 0, count - 1);
+            int[] hull = new int[2 * count + 1];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                while (size >= 2 && !leftTurn(hull[size - 2], hull[size - 1], points[i])) size--;
+                hull[size++] = points[i];
+            }
+            int lower = size + 1;
+            for (int i = count - 2; i >= 0; i--) {
+                while (size >= lower && !leftTurn(hull[size - 2], hull[size - 1], points[i])) size--;
+                hull[size++] = points[i];
+            }
+            return Arrays.copyOf(hull, Math.max(1, size - 1));
+        }
+
+        /**
+         * Sort point indices by x coordinate, then by y coordinate, with a quicksort on the primitive indices. Small
+         * ranges are finished by insertion sort, and the larger side is looped on so the recursion stays shallow.
+         */
+        private void sort(int[] points, int lo, int hi) {
+            while (hi - lo > 16) {
+                int pivot = points[lo + (hi - lo) / 2];
+                int i = lo, j = hi;
+                while (i <= j) {
+                    while (before(points[i], pivot)) i++;
+                    while (before(pivot, points[j])) j--;
+                    if (i <= j) {
+                        int t = points[i];
+                        points[i++] = points[j];
+                        points[j--] = t;
+                    }
+                }
+                if (j - lo < hi - i) {
+                    sort(points, lo, j);
+                    lo = i;
+                } else {
+                    sort(points, i, hi);
+                    hi = j;
+                }
+            }
+            for (int i = lo + 1; i <= hi; i++) {
+                int p = points[i];
+                int j = i - 1;
+                for (; j >= lo && before(p, points[j]); j--) points[j + 1] = points[j];
+                points[j + 1] = p;
+            }
+        }
+
+        private boolean before(int p, int q) {
+            return xs[p] < xs[q] || (xs[p] == xs[q] && ys[p] < ys[q]);
+        }
+
+        private boolean leftTurn(int a, int b, int c) {
+            return Predicates.orientation(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]) > 0;
+        }
+    }
+
+    private static ArrayList<Point> sortedCopy(List<Point> points) {
+        ArrayList<Point> sorted = new ArrayList<>(points);
+        sorted.sort(X_ORDER);
+        return sorted;
+    }
+
+}
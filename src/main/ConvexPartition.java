@@ -0,0 +1,105 @@
+/**
+ * FILE: ConvexPartition.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Partition a polygon into convex pieces with the Hertel-Mehlhorn algorithm. Starting from any
+ * triangulation, each diagonal is removed unless that would make one of its endpoints reflex in the merged piece.
+ * Every diagonal left is essential at one of its endpoints, and a reflex vertex keeps at most two essential
+ * diagonals, so there are at most four times as many pieces as in an optimal convex partition.
+ * NOTE: The diagonals are visited once each on the half-edge mesh, so the pass runs in linear time.
+ */
+
+package main;
+
+import shape.Diagonal;
+import shape.HalfEdgeMesh;
+import shape.Polygon;
+import java.util.ArrayList;
+import java.util.List;
+import static tools.PolygonTools.vertexIndices;
+
+public class ConvexPartition {
+
+    /**
+     * Partition a polygon into convex pieces from one of its triangulations.
+     * @param polygon the triangulated polygon, counterclockwise.
+     * @param diagonals the diagonals of a triangulation of the polygon.
+     * @return the diagonals cutting the polygon into convex pieces, a subset of the given ones.
+     */
+    public static ArrayList<Diagonal> convexPartition(Polygon polygon, List<Diagonal> diagonals) {
+        return convexMesh(new HalfEdgeMesh(polygon, vertexIndices(polygon, diagonals))).getDiagonals();
+    }
+
+    /**
+     * Partition a polygon into convex pieces from one of its triangulations.
+     * @param polygon the triangulated polygon, counterclockwise.
+     * @param diagonals the diagonals of a triangulation of the polygon.
+     * @return the convex pieces as counterclockwise polygons.
+     */
+    public static ArrayList<Polygon> convexPieces(Polygon polygon, List<Diagonal> diagonals) {
+        return convexPieces(new HalfEdgeMesh(polygon, vertexIndices(polygon, diagonals)));
+    }
+
+    /**
+     * Partition a polygon into convex pieces from one of its triangulations, given as a mesh such as
+     * Triangulation.triangulateMesh builds. The mesh knows its vertices by index, so vertices sharing their
+     * coordinates, as the bridge ends of a polygon with holes do, stay apart.
+     * @param triangulation a mesh whose faces are all convex.
+     * @return the convex pieces as counterclockwise polygons.
+     */
+    public static ArrayList<Polygon> convexPieces(HalfEdgeMesh triangulation) {
+        HalfEdgeMesh mesh = convexMesh(triangulation);
+        ArrayList<Polygon> pieces = new ArrayList<>(mesh.getFaceCount());
+        for (int f = 0; f < mesh.getFaceCount(); f++) pieces.add(mesh.getFacePolygon(f));
+        return pieces;
+    }
+
+    /**
+     * Merge the faces of a mesh into convex pieces by removing inessential chords, in the order they were given.
+     * Removing the chord a->b joins its two faces; the merged face turns at a from the half-edge entering a on one
+     * side to the one leaving a on the other, and the chord can go if that turn and the one at b are not right turns.
+     * @param mesh a mesh whose faces are all convex, such as a triangulation or a trapezoidalization.
+     * @return a new mesh over the same vertices, keeping only the essential chords.
+     */
+    public static HalfEdgeMesh convexMesh(HalfEdgeMesh mesh) {
+        int n = mesh.getVertexCount();
+        int edges = mesh.getEdgeCount();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int[] boundary = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = mesh.getX(i);
+            ys[i] = mesh.getY(i);
+            boundary[i] = mesh.getOrigin(2 * i);
+        }
+        int[] next = new int[edges];
+        int[] prev = new int[edges];
+        for (int e = 0; e < edges; e++) {
+            next[e] = mesh.getNext(e);
+            prev[e] = mesh.getPrev(e);
+        }
+
+        ArrayList<int[]> chords = new ArrayList<>();
+        for (int e = 2 * n; e < edges; e += 2) {
+            int t = e ^ 1;
+            int a = mesh.getOrigin(e), b = mesh.getOrigin(t);
+            int beforeA = mesh.getOrigin(prev[e]), afterA = mesh.getOrigin(next[t] ^ 1);
+            int beforeB = mesh.getOrigin(prev[t]), afterB = mesh.getOrigin(next[e] ^ 1);
+            if (Predicates.orientation(xs[beforeA], ys[beforeA], xs[a], ys[a], xs[afterA], ys[afterA]) >= 0
+                    && Predicates.orientation(xs[beforeB], ys[beforeB], xs[b], ys[b], xs[afterB], ys[afterB]) >= 0) {
+                // splice the chord out of both faces
+                next[prev[e]] = next[t];
+                prev[next[t]] = prev[e];
+                next[prev[t]] = next[e];
+                prev[next[e]] = prev[t];
+            } else {
+                chords.add(new int[] {a, b});
+            }
+        }
+        return new HalfEdgeMesh(xs, ys, boundary, chords);
+    }
+
+}
@@ -0,0 +1,185 @@
+/**
+ * FILE: Delaunay.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Turn any triangulation of a polygon into its constrained Delaunay triangulation, with the polygon's
+ * edges as the constraints. Diagonals whose opposite vertex lies inside the circumcircle of a neighboring triangle
+ * are flipped (Lawson's algorithm) until no such diagonal remains, which removes the sliver triangles ear clipping
+ * tends to produce.
+ * NOTE: The predicates are exact, so the flipping always terminates.
+ */
+
+package main;
+
+import shape.ArrayPolygon;
+import shape.Coordinates;
+import shape.Diagonal;
+import shape.Polygon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static tools.PolygonTools.splitPieces;
+import static tools.PolygonTools.vertexIndices;
+
+public class Delaunay {
+
+    /**
+     * Compute the constrained Delaunay triangulation of a polygon from one of its triangulations.
+     * @param polygon the triangulated polygon.
+     * @param diagonals the diagonals of a triangulation of the polygon.
+     * @return the diagonals of the constrained Delaunay triangulation.
+     */
+    public static ArrayList<Diagonal> delaunay(Polygon polygon, List<Diagonal> diagonals) {
+        Coordinates coordinates = new ArrayPolygon(polygon).getCoordinates();
+        ArrayList<int[]> pairs = delaunay(coordinates, vertexIndices(polygon, diagonals));
+        ArrayList<Diagonal> result = new ArrayList<>(pairs.size());
+        for (int[] d : pairs) result.add(new Diagonal(polygon.getPoint(d[0]), polygon.getPoint(d[1])));
+        return result;
+    }
+
+    /**
+     * Compute the constrained Delaunay triangulation of a polygon from one of its triangulations, given by vertex
+     * indices so that vertices sharing their coordinates, such as the bridge ends of a polygon with holes, stay apart.
+     * @param polygon the triangulated polygon.
+     * @param diagonals the diagonals of a triangulation of the polygon, each given as the pair of indices of its
+     * vertices.
+     * @return the diagonals of the constrained Delaunay triangulation, each given as the pair of indices of its
+     * vertices.
+     */
+    public static ArrayList<int[]> delaunay(Coordinates polygon, List<int[]> diagonals) {
+        int n = polygon.getSize();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = polygon.getX(v);
+            ys[v] = polygon.getY(v);
+        }
+        ArrayList<int[]> pieces = splitPieces(n, diagonals);
+        int[] triangles = new int[3 * pieces.size()];
+        for (int t = 0; t < pieces.size(); t++) System.arraycopy(pieces.get(t), 0, triangles, 3 * t, 3);
+
+        int[] twins = twins(n, triangles);
+        legalize(xs, ys, triangles, twins);
+
+        ArrayList<int[]> result = new ArrayList<>(diagonals.size());
+        for (int s = 0; s < triangles.length; s++) {
+            if (twins[s] > s) result.add(new int[] {triangles[s], triangles[next(s)]});
+        }
+        return result;
+    }
+
+    /**
+     * Flip diagonals until every one is locally Delaunay. Each side of a triangle is identified by the index of its
+     * first vertex in the triangle array: side s runs from triangles[s] to triangles[next(s)]. A work stack holds the
+     * sides still to check; a flip rewrites both triangles in place and pushes the four sides around them.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     * @param triangles vertex indices of each triangle, three per triangle with positive orientation. Updated.
+     * @param twins the side opposite each side, or -1 on the polygon's boundary. Updated.
+     * @return the number of flips.
+     */
+    public static int legalize(double[] xs, double[] ys, int[] triangles, int[] twins) {
+        int[] stack = new int[Math.max(16, triangles.length / 2)];
+        int size = 0;
+        boolean[] queued = new boolean[triangles.length];
+        for (int s = 0; s < triangles.length; s++) {
+            if (twins[s] > s) {
+                if (size == stack.length) stack = Arrays.copyOf(stack, 2 * size);
+                stack[size++] = s;
+                queued[s] = true;
+            }
+        }
+
+        int flips = 0;
+        while (size > 0) {
+            int s = stack[--size];
+            queued[s] = false;
+            int r = twins[s];
+            if (r < 0) continue;
+
+            // side s runs a->b in triangle abc, its twin r runs b->a in triangle bad
+            int a = triangles[s], b = triangles[next(s)], c = triangles[prev(s)], d = triangles[prev(r)];
+            if (Predicates.inCircle(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c], xs[d], ys[d]) <= 0) continue;
+
+            // replace ab by cd: abc becomes adc and bad becomes dbc
+            int t = s - s % 3, u = r - r % 3;
+            int ad = twins[next(r)], db = twins[prev(r)], bc = twins[next(s)], ca = twins[prev(s)];
+            triangles[t] = a;
+            triangles[t + 1] = d;
+            triangles[t + 2] = c;
+            triangles[u] = d;
+            triangles[u + 1] = b;
+            triangles[u + 2] = c;
+            link(twins, t, ad);
+            link(twins, t + 1, u + 2);
+            link(twins, t + 2, ca);
+            link(twins, u, db);
+            link(twins, u + 1, bc);
+            flips++;
+
+            for (int side : new int[] {t, t + 2, u, u + 1}) {
+                int twin = twins[side];
+                if (twin < 0 || queued[side] || queued[twin]) continue;
+                if (size == stack.length) stack = Arrays.copyOf(stack, 2 * size);
+                stack[size++] = side;
+                queued[side] = true;
+            }
+        }
+        return flips;
+    }
+
+    /**
+     * Pair up the triangle sides shared by two triangles. Sides are bucketed by their smaller vertex and matched by
+     * their larger one, so pairing takes linear time without hashing.
+     * @param n number of polygon vertices.
+     * @param triangles vertex indices of each triangle, three per triangle.
+     * @return the side opposite each side, or -1 on the boundary.
+     */
+    public static int[] twins(int n, int[] triangles) {
+        int[] start = new int[n + 1];
+        for (int s = 0; s < triangles.length; s++) start[Math.min(triangles[s], triangles[next(s)]) + 1]++;
+        for (int v = 0; v < n; v++) start[v + 1] += start[v];
+        int[] fill = Arrays.copyOf(start, n);
+        int[] sides = new int[triangles.length];
+        for (int s = 0; s < triangles.length; s++) sides[fill[Math.min(triangles[s], triangles[next(s)])]++] = s;
+
+        // within a bucket, match sides by their larger vertex through a scratch table
+        int[] twins = new int[triangles.length];
+        Arrays.fill(twins, -1);
+        int[] open = new int[n];
+        Arrays.fill(open, -1);
+        for (int v = 0; v < n; v++) {
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                int s = sides[i];
+                int w = Math.max(triangles[s], triangles[next(s)]);
+                if (open[w] < 0) {
+                    open[w] = s;
+                } else {
+                    link(twins, s, open[w]);
+                    open[w] = -1;
+                }
+            }
+            // boundary sides stay unmatched; clear them for the next bucket
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                int s = sides[i];
+                open[Math.max(triangles[s], triangles[next(s)])] = -1;
+            }
+        }
+        return twins;
+    }
+
+    private static void link(int[] twins, int s, int r) {
+        twins[s] = r;
+        if (r >= 0) twins[r] = s;
+    }
+
+    /** @return the side following side s in its triangle. */
+    private static int next(int s) {return s % 3 == 2 ? s - 2 : s + 1;}
+
+    /** @return the side preceding side s in its triangle. */
+    private static int prev(int s) {return s % 3 == 0 ? s + 2 : s - 1;}
+
+}
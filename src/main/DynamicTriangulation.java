@@ -0,0 +1,746 @@
+/**
+ * FILE: DynamicTriangulation.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Triangulation of a polygon that is kept up to date while single vertices are moved, inserted and
+ * removed. An edit only retriangulates the cavity of triangles it touches, growing the cavity when the edit reaches
+ * past it, and reports the diagonals that were added and removed.
+ * NOTE: Vertices are identified by ids that stay valid across edits. Ids of removed vertices are not reused.
+ */
+
+package main;
+
+import shape.ArrayPolygon;
+import shape.Diagonal;
+import shape.Point;
+import shape.Polygon;
+import tools.VertexGrid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import static tools.PolygonTools.splitPieces;
+
+public class DynamicTriangulation {
+    /** Fraction of all triangles above which a cavity is abandoned for a full retriangulation. */
+    private static final double REBUILD_FRACTION = 0.5;
+    /** Largest cavity retriangulated by ear clipping, which takes quadratic time. */
+    private static final int EAR_LIMIT = 64;
+    /** Fraction of the edges, the shortest ones, looked up through the grid; the rest are tested on every edit. */
+    private static final double SHORT_FRACTION = 0.9;
+    /** Edges reaching no further than this many grid cells are always short. */
+    private static final int SHORT_CELLS = 4;
+
+    /** X coordinate of each vertex id. */
+    private double[] xs;
+    /** Y coordinate of each vertex id. */
+    private double[] ys;
+    /** Id of the vertex following each vertex, or -1 for removed ids. */
+    private int[] next;
+    /** Id of the vertex preceding each vertex, or -1 for removed ids. */
+    private int[] prev;
+    /** Number of vertex ids handed out. */
+    private int ids;
+    /** Some vertex of the polygon. */
+    private int head;
+    /** Number of vertices of the polygon. */
+    private int size;
+    /** Twice the area of the polygon, updated by each edit. */
+    private double area;
+
+    /** Vertex ids of each triangle slot, three per slot, counterclockwise. A free slot starts with -1. */
+    private int[] corners;
+    /** Number of triangle slots in use or freed. */
+    private int slots;
+    /** Freed triangle slots, ready for reuse, in freeSlots[0] to freeSlots[freeCount - 1]. */
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    /** Triangle slot owning each directed triangle side. */
+    private final EdgeTable edges = new EdgeTable();
+    /** Successor of each vertex on the boundary of the cavity being walked, or -1. */
+    private int[] successor;
+    /** The vertices by position, so that an edit checks only the vertices and edges near it. */
+    private VertexGrid grid;
+    /** Largest width and height of a short edge, set when the grid is built. */
+    private double reachX, reachY;
+    /** Vertices starting a long edge, in longEdges[0] to longEdges[longCount - 1]. */
+    private int[] longEdges = new int[16];
+    private int longCount;
+    /** Position of each vertex in longEdges, or -1 if the edge it starts is short. */
+    private int[] longIndex;
+    /** Bounding box of the segment crossesBoundary is testing. */
+    private double minX, maxX, minY, maxY;
+    /** Edges waiting to be tested against a segment, reused by every test instead of allocated per test. */
+    private final Triangulation.EdgeBlock block = new Triangulation.EdgeBlock();
+
+    /**
+     * Diagonals added and removed by one edit, each given as the pair of vertex ids of its ends.
+     */
+    public static class Delta {
+        private final ArrayList<int[]> added;
+        private final ArrayList<int[]> removed;
+        private final int vertex;
+
+        Delta(ArrayList<int[]> added, ArrayList<int[]> removed, int vertex) {
+            this.added = added;
+            this.removed = removed;
+            this.vertex = vertex;
+        }
+
+        public ArrayList<int[]> getAdded() {return added;}
+
+        public ArrayList<int[]> getRemoved() {return removed;}
+
+        /** @return id of the vertex that was edited. */
+        public int getVertex() {return vertex;}
+    }
+
+    /**
+     * Triangulate a polygon. Its vertices get the ids 0 to n - 1 in order.
+     * @param polygon a simple polygon with at least three vertices.
+     */
+    public DynamicTriangulation(Polygon polygon) {
+        int n = polygon.getSize();
+        if (n < 3) throw new IllegalArgumentException("polygon needs at least 3 vertices, got " + n);
+        xs = new double[n];
+        ys = new double[n];
+        next = new int[n];
+        prev = new int[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = polygon.getPoint(v).getX();
+            ys[v] = polygon.getPoint(v).getY();
+            next[v] = (v + 1) % n;
+            prev[v] = (v + n - 1) % n;
+        }
+        ids = n;
+        size = n;
+        head = 0;
+        successor = new int[n];
+        Arrays.fill(successor, -1);
+        longIndex = new int[n];
+        Arrays.fill(longIndex, -1);
+        for (int v = 0; v < n; v++) area += edgeArea(v, next[v]);
+        corners = new int[3 * (n - 2)];
+        rebuild(-1);
+    }
+
+    public double getX(int v) {return xs[v];}
+
+    public double getY(int v) {return ys[v];}
+
+    public Point getPoint(int v) {return new Point(xs[v], ys[v]);}
+
+    public int getNext(int v) {return next[v];}
+
+    public int getPrev(int v) {return prev[v];}
+
+    public int getHead() {return head;}
+
+    public int getSize() {return size;}
+
+    /** @return true if v is the id of a vertex of the polygon. */
+    public boolean contains(int v) {return v >= 0 && v < ids && next[v] >= 0;}
+
+    /**
+     * Collect the vertices, starting at the head, into a Polygon.
+     * @return a new Polygon with the vertices in order.
+     */
+    public Polygon toPolygon() {
+        ArrayList<Point> points = new ArrayList<>(size);
+        int v = head;
+        for (int i = 0; i < size; i++) {
+            points.add(getPoint(v));
+            v = next[v];
+        }
+        return new Polygon(points);
+    }
+
+    /**
+     * @return the diagonals of the current triangulation.
+     */
+    public ArrayList<Diagonal> getDiagonals() {
+        ArrayList<Diagonal> diagonals = new ArrayList<>(size - 3);
+        for (int t = 0; t < slots; t++) {
+            if (corners[3 * t] < 0) continue;
+            for (int i = 0; i < 3; i++) {
+                int a = corners[3 * t + i];
+                int b = corners[3 * t + (i + 1) % 3];
+                // report each diagonal once, from the side with the smaller id
+                if (a < b && edges.get(edgeKey(b, a)) >= 0) {
+                    diagonals.add(new Diagonal(getPoint(a), getPoint(b)));
+                }
+            }
+        }
+        return diagonals;
+    }
+
+    /**
+     * Move a vertex and repair the triangulation around it.
+     * @param v id of the vertex.
+     * @param x new x coordinate.
+     * @param y new y coordinate.
+     * @return the diagonals added and removed.
+     * @throws IllegalArgumentException if the polygon would no longer be simple. The polygon is left unchanged.
+     */
+    public Delta moveVertex(int v, double x, double y) {
+        checkVertex(v);
+        int p = prev[v], n = next[v];
+        double oldX = xs[v], oldY = ys[v];
+        double oldArea = area;
+        area -= edgeArea(p, v) + edgeArea(v, n);
+        xs[v] = x;
+        ys[v] = y;
+        area += edgeArea(p, v) + edgeArea(v, n);
+        if (!simpleAfterEdit(p, v, n)) {
+            xs[v] = oldX;
+            ys[v] = oldY;
+            area = oldArea;
+            throw new IllegalArgumentException("moving vertex " + v + " makes the polygon not simple");
+        }
+        grid.remove(v);
+        grid.add(v, x, y);
+        classify(p);
+        classify(v);
+        return repair(star(v), -1, -1, v, new int[] {v});
+    }
+
+    /**
+     * Insert a vertex on the edge leaving vertex u and repair the triangle on that edge.
+     * @param u id of the vertex the new vertex follows.
+     * @param x x coordinate of the new vertex.
+     * @param y y coordinate of the new vertex.
+     * @return the diagonals added and removed. Delta.getVertex() is the id of the new vertex.
+     * @throws IllegalArgumentException if the polygon would no longer be simple. The polygon is left unchanged.
+     */
+    public Delta insertVertex(int u, double x, double y) {
+        checkVertex(u);
+        int n = next[u];
+        int w = ids;
+        if (w == xs.length) growVertices();
+        ids++;
+        xs[w] = x;
+        ys[w] = y;
+        int seed = edges.get(edgeKey(u, n));
+        double oldArea = area;
+        area += edgeArea(u, w) + edgeArea(w, n) - edgeArea(u, n);
+        link(w, u, n);
+        if (!simpleAfterEdit(u, w, n)) {
+            unlink(w);
+            ids--;
+            area = oldArea;
+            throw new IllegalArgumentException("inserting after vertex " + u + " makes the polygon not simple");
+        }
+        grid.add(w, x, y);
+        classify(u);
+        classify(w);
+        ArrayList<Integer> cavity = new ArrayList<>();
+        cavity.add(seed);
+        return repair(cavity, w, -1, w, new int[] {w});
+    }
+
+    /**
+     * Remove a vertex and repair the triangulation around it.
+     * @param v id of the vertex.
+     * @return the diagonals added and removed.
+     * @throws IllegalArgumentException if the polygon would have fewer than three vertices or no longer be simple.
+     * The polygon is left unchanged.
+     */
+    public Delta removeVertex(int v) {
+        checkVertex(v);
+        if (size == 3) throw new IllegalArgumentException("polygon needs at least 3 vertices");
+        int p = prev[v], n = next[v];
+        ArrayList<Integer> cavity = star(v);
+        double oldArea = area;
+        area += edgeArea(p, n) - edgeArea(p, v) - edgeArea(v, n);
+        unlink(v);
+        if (!simpleAfterEdit(p, n)) {
+            link(v, p, n);
+            area = oldArea;
+            throw new IllegalArgumentException("removing vertex " + v + " makes the polygon not simple");
+        }
+        grid.remove(v);
+        classify(p);
+        classify(v);
+        return repair(cavity, -1, v, v, new int[] {p, n});
+    }
+
+    /**
+     * Check the polygon after an edit that changed the edges along the given path of consecutive vertices. Those
+     * edges may not cross or touch other edges, consecutive edges at the path's vertices may not fold back over each
+     * other, the vertices inside the path may not land on another vertex, and the polygon must keep a positive area.
+     * @param path ids of consecutive vertices, the first and last of which kept their other edge and their place.
+     * @return true if the polygon is still simple and counterclockwise; otherwise, false.
+     */
+    private boolean simpleAfterEdit(int... path) {
+        if (!(area > 0)) return false;
+        for (int v : path) {
+            Point a = getPoint(prev[v]);
+            Point b = getPoint(v);
+            Point c = getPoint(next[v]);
+            if (Triangulation.between(b, a, c) || Triangulation.between(b, c, a)) return false;
+        }
+        // edges meeting at equal coordinates count as sharing an end, which the crossing test lets through; a vertex
+        // at the same coordinates is in the same grid cell
+        for (int i = 1; i + 1 < path.length; i++) {
+            int v = path[i];
+            for (int u = grid.getFirst(grid.column(xs[v]), grid.row(ys[v])); u != -1; u = grid.getNext(u)) {
+                if (u != v && next[u] >= 0 && xs[u] == xs[v] && ys[u] == ys[v]) return false;
+            }
+        }
+        for (int i = 0; i + 1 < path.length; i++) {
+            if (crossesBoundary(path[i], path[i + 1])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retriangulate the cavity formed by the given triangles after an edit, growing it by a layer of neighboring
+     * triangles until its boundary is a simple, counterclockwise polygon again.
+     * @param cavity triangle slots touched by the edit.
+     * @param inserted id of a vertex inserted on the cavity's boundary, or -1.
+     * @param removed id of a vertex removed from the cavity's boundary, or -1.
+     * @param vertex id of the edited vertex.
+     * @param moved ids of the vertices whose edges on the boundary may have moved.
+     * @return the diagonals added and removed.
+     */
+    private Delta repair(ArrayList<Integer> cavity, int inserted, int removed, int vertex, int[] moved) {
+        BitSet member = new BitSet(slots);
+        for (int t : cavity) member.set(t);
+        int[] boundary = boundary(cavity, member, inserted, removed);
+        while (!fillable(boundary, moved)) {
+            if (cavity.size() > REBUILD_FRACTION * (slots - freeCount)) return rebuild(vertex);
+            // add the triangles across every side of the cavity that is a diagonal
+            int count = cavity.size();
+            for (int i = 0; i < count; i++) {
+                int t = cavity.get(i);
+                for (int j = 0; j < 3; j++) {
+                    int twin = edges.get(edgeKey(corners[3 * t + (j + 1) % 3], corners[3 * t + j]));
+                    if (twin >= 0 && !member.get(twin)) {
+                        member.set(twin);
+                        cavity.add(twin);
+                    }
+                }
+            }
+            boundary = boundary(cavity, member, inserted, removed);
+        }
+
+        // the cavity's diagonals before the edit, including those on its boundary
+        HashMap<Long, int[]> before = new HashMap<>();
+        for (int t : cavity) {
+            for (int j = 0; j < 3; j++) {
+                int a = corners[3 * t + j];
+                int b = corners[3 * t + (j + 1) % 3];
+                if (edges.get(edgeKey(b, a)) >= 0) putDiagonal(before, a, b);
+            }
+        }
+        for (int t : cavity) removeTriangle(t);
+
+        HashMap<Long, int[]> after = new HashMap<>();
+        for (int[] triangle : fill(boundary)) {
+            int t = addTriangle(triangle[0], triangle[1], triangle[2]);
+            for (int j = 0; j < 3; j++) {
+                int a = corners[3 * t + j];
+                int b = corners[3 * t + (j + 1) % 3];
+                if (next[a] != b && next[b] != a) putDiagonal(after, a, b);
+            }
+        }
+        return delta(before, after, vertex);
+    }
+
+    /**
+     * Walk the boundary of a cavity, then apply an insertion or removal to it.
+     * @param cavity triangle slots of the cavity. Their union is a disk because the dual of a triangulation is a tree.
+     * @param member the cavity's slots.
+     * @param inserted id of a vertex inserted after a boundary vertex, or -1.
+     * @param removed id of a vertex removed from the boundary, or -1.
+     * @return the vertex ids around the cavity, counterclockwise.
+     */
+    private int[] boundary(ArrayList<Integer> cavity, BitSet member, int inserted, int removed) {
+        int start = -1;
+        int count = 0;
+        for (int t : cavity) {
+            for (int j = 0; j < 3; j++) {
+                int a = corners[3 * t + j];
+                int b = corners[3 * t + (j + 1) % 3];
+                int twin = edges.get(edgeKey(b, a));
+                if (twin < 0 || !member.get(twin)) {
+                    successor[a] = b;
+                    start = a;
+                    count++;
+                }
+            }
+        }
+
+        // walk the cycle, clearing the successors for the next walk
+        int[] cycle = new int[count + 1];
+        int m = 0;
+        int v = start;
+        do {
+            if (v != removed) cycle[m++] = v;
+            // the inserted vertex splits the boundary edge leaving its predecessor
+            if (inserted >= 0 && v == prev[inserted]) cycle[m++] = inserted;
+            int w = successor[v];
+            successor[v] = -1;
+            v = w;
+        } while (v != start);
+        return Arrays.copyOf(cycle, m);
+    }
+
+    /**
+     * Determines whether a cavity boundary can be triangulated in place: it must be a simple polygon with positive
+     * area. The edit has already been checked not to cross the rest of the polygon, so the triangles outside the
+     * cavity stay valid. Boundary edges away from the edit were part of a simple boundary before it, so only the
+     * edges at the moved vertices are tested against the others.
+     * @param boundary vertex ids around the cavity.
+     * @param moved ids of the vertices whose boundary edges may have moved.
+     * @return true if the cavity is fillable; otherwise, false.
+     */
+    private boolean fillable(int[] boundary, int[] moved) {
+        int m = boundary.length;
+        if (m < 3) return true;
+        double area = 0;
+        for (int i = 1; i + 1 < m; i++) {
+            area += Triangulation.area2(getPoint(boundary[0]), getPoint(boundary[i]), getPoint(boundary[i + 1]));
+        }
+        if (!(area > 0)) return false;
+        for (int i = 0; i < m; i++) {
+            int u = boundary[i];
+            int w = boundary[(i + 1) % m];
+            boolean edited = false;
+            for (int v : moved) edited |= u == v || w == v;
+            if (!edited) continue;
+            Point a = getPoint(u);
+            Point b = getPoint(w);
+            for (int j = 0; j < m; j++) {
+                int c = boundary[j], d = boundary[(j + 1) % m];
+                if (block.add(xs[c], ys[c], xs[d], ys[d]) && block.intersected(a, b)) {
+                    return false;
+                }
+            }
+            if (block.flush(a, b)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Triangulate a cavity, by clipping ears when it is small and through monotone pieces otherwise.
+     * @param boundary vertex ids around the cavity.
+     * @return the triangles, each given as three vertex ids counterclockwise.
+     */
+    private ArrayList<int[]> fill(int[] boundary) {
+        int m = boundary.length;
+        ArrayList<int[]> triangles = new ArrayList<>(Math.max(m - 2, 0));
+        if (m < 3) return triangles;
+        double[] cx = new double[m];
+        double[] cy = new double[m];
+        for (int i = 0; i < m; i++) {
+            cx[i] = xs[boundary[i]];
+            cy[i] = ys[boundary[i]];
+        }
+        // diagonals come back as cavity positions, so vertices with equal coordinates cannot be mixed up
+        ArrayPolygon polygon = new ArrayPolygon(cx, cy);
+        List<int[]> diagonals = m <= EAR_LIMIT ? Triangulation.triangulateIndices(polygon)
+                : Monotone.triangulateMonotoneIndices(polygon.toPolygon());
+        for (int[] piece : splitPieces(m, diagonals)) {
+            triangles.add(new int[] {boundary[piece[0]], boundary[piece[1]], boundary[piece[2]]});
+        }
+        return triangles;
+    }
+
+    /**
+     * Triangulate the whole polygon from scratch.
+     * @param vertex id of the edited vertex, or -1 when building the first triangulation.
+     * @return every diagonal removed and added.
+     */
+    private Delta rebuild(int vertex) {
+        HashMap<Long, int[]> before = new HashMap<>();
+        for (int t = 0; t < slots; t++) {
+            if (corners[3 * t] < 0) continue;
+            for (int j = 0; j < 3; j++) {
+                int a = corners[3 * t + j];
+                int b = corners[3 * t + (j + 1) % 3];
+                if (a < b && edges.get(edgeKey(b, a)) >= 0) putDiagonal(before, a, b);
+            }
+        }
+        edges.clear();
+        freeCount = 0;
+        slots = 0;
+
+        // refit the grid to the polygon as it is now, and make most edges short enough to be found through it
+        BitSet live = new BitSet(ids);
+        for (int u = 0; u < ids; u++) if (next[u] >= 0) live.set(u);
+        grid = new VertexGrid(xs, ys, live);
+        double[] widths = new double[size];
+        double[] heights = new double[size];
+        int e = 0;
+        for (int u = live.nextSetBit(0); u >= 0; u = live.nextSetBit(u + 1), e++) {
+            widths[e] = Math.abs(xs[next[u]] - xs[u]);
+            heights[e] = Math.abs(ys[next[u]] - ys[u]);
+        }
+        Arrays.sort(widths);
+        Arrays.sort(heights);
+        int k = (int) (SHORT_FRACTION * (size - 1));
+        reachX = Math.max(widths[k], SHORT_CELLS * grid.getCellWidth());
+        reachY = Math.max(heights[k], SHORT_CELLS * grid.getCellHeight());
+        for (int i = 0; i < longCount; i++) longIndex[longEdges[i]] = -1;
+        longCount = 0;
+        for (int u = live.nextSetBit(0); u >= 0; u = live.nextSetBit(u + 1)) classify(u);
+
+        int[] order = new int[size];
+        int v = head;
+        for (int i = 0; i < size; i++) {
+            order[i] = v;
+            v = next[v];
+        }
+        List<int[]> diagonals = size > 3 ? Monotone.triangulateMonotoneIndices(toPolygon()) : new ArrayList<>();
+        HashMap<Long, int[]> after = new HashMap<>();
+        for (int[] piece : splitPieces(size, diagonals)) {
+            int t = addTriangle(order[piece[0]], order[piece[1]], order[piece[2]]);
+            for (int j = 0; j < 3; j++) {
+                int a = corners[3 * t + j];
+                int b = corners[3 * t + (j + 1) % 3];
+                if (next[a] != b && next[b] != a) putDiagonal(after, a, b);
+            }
+        }
+        return delta(before, after, vertex);
+    }
+
+    private Delta delta(HashMap<Long, int[]> before, HashMap<Long, int[]> after, int vertex) {
+        ArrayList<int[]> added = new ArrayList<>();
+        ArrayList<int[]> removed = new ArrayList<>();
+        after.forEach((key, pair) -> {if (!before.containsKey(key)) added.add(pair);});
+        before.forEach((key, pair) -> {if (!after.containsKey(key)) removed.add(pair);});
+        return new Delta(added, removed, vertex);
+    }
+
+    /** Record the diagonal between a and b, ends ordered by id. */
+    private static void putDiagonal(HashMap<Long, int[]> diagonals, int a, int b) {
+        diagonals.put(edgeKey(Math.min(a, b), Math.max(a, b)), new int[] {Math.min(a, b), Math.max(a, b)});
+    }
+
+    /**
+     * Find the triangles incident to a vertex, walking around it from the edge leaving it to the edge entering it.
+     * @param v id of the vertex.
+     * @return the triangle slots around v.
+     */
+    private ArrayList<Integer> star(int v) {
+        ArrayList<Integer> star = new ArrayList<>();
+        int t = edges.get(edgeKey(v, next[v]));
+        while (true) {
+            star.add(t);
+            int i = corners[3 * t] == v ? 0 : corners[3 * t + 1] == v ? 1 : 2;
+            int b = corners[3 * t + (i + 2) % 3];
+            if (b == prev[v]) return star;
+            t = edges.get(edgeKey(v, b));
+        }
+    }
+
+    /**
+     * Determines whether the segment between two vertices crosses or touches an edge of the polygon not incident to
+     * either of them. Every edge starts at one vertex, and a short edge whose bounding box meets the segment's starts
+     * within reachX and reachY of it, so only the grid cells around the segment are searched for short edges. The
+     * long edges are all tested.
+     */
+    private boolean crossesBoundary(int u, int w) {
+        Point a = getPoint(u);
+        Point b = getPoint(w);
+        minX = Math.min(a.getX(), b.getX());
+        maxX = Math.max(a.getX(), b.getX());
+        minY = Math.min(a.getY(), b.getY());
+        maxY = Math.max(a.getY(), b.getY());
+        int col0 = grid.column(minX - reachX), col1 = grid.column(maxX + reachX);
+        int row0 = grid.row(minY - reachY), row1 = grid.row(maxY + reachY);
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                for (int v = grid.getFirst(col, row); v != -1; v = grid.getNext(v)) {
+                    if (longIndex[v] < 0 && crossesEdge(v, u, w, a, b)) return true;
+                }
+            }
+        }
+        for (int i = 0; i < longCount; i++) {
+            if (crossesEdge(longEdges[i], u, w, a, b)) return true;
+        }
+        return block.flush(a, b);
+    }
+
+    /**
+     * Queue the edge leaving vertex v for the test against the segment u->w, unless it is incident to the segment or
+     * its bounding box misses the segment's.
+     * @return true if a full block of queued edges was tested and one of them intersects the segment.
+     */
+    private boolean crossesEdge(int v, int u, int w, Point a, Point b) {
+        int v1 = next[v];
+        if (v1 < 0 || v == u || v == w || v1 == u || v1 == w) return false;
+        if (Math.max(xs[v], xs[v1]) < minX || Math.min(xs[v], xs[v1]) > maxX
+                || Math.max(ys[v], ys[v1]) < minY || Math.min(ys[v], ys[v1]) > maxY) {
+            return false;
+        }
+        return block.add(xs[v], ys[v], xs[v1], ys[v1]) && block.intersected(a, b);
+    }
+
+    /**
+     * File the edge leaving a vertex as long or short after it changed. A removed vertex starts no edge.
+     * @param v id of the vertex.
+     */
+    private void classify(int v) {
+        int v1 = next[v];
+        boolean isLong = v1 >= 0 && (Math.abs(xs[v1] - xs[v]) > reachX || Math.abs(ys[v1] - ys[v]) > reachY);
+        if (isLong == longIndex[v] >= 0) return;
+        if (isLong) {
+            if (longCount == longEdges.length) longEdges = Arrays.copyOf(longEdges, 2 * longCount);
+            longIndex[v] = longCount;
+            longEdges[longCount++] = v;
+        } else {
+            // move the last entry into the gap
+            int last = longEdges[--longCount];
+            longEdges[longIndex[v]] = last;
+            longIndex[last] = longIndex[v];
+            longIndex[v] = -1;
+        }
+    }
+
+    private int addTriangle(int a, int b, int c) {
+        int t;
+        if (freeCount > 0) {
+            t = freeSlots[--freeCount];
+        } else {
+            t = slots++;
+            if (3 * t == corners.length) corners = Arrays.copyOf(corners, Math.max(6, 2 * corners.length));
+        }
+        corners[3 * t] = a;
+        corners[3 * t + 1] = b;
+        corners[3 * t + 2] = c;
+        edges.put(edgeKey(a, b), t);
+        edges.put(edgeKey(b, c), t);
+        edges.put(edgeKey(c, a), t);
+        return t;
+    }
+
+    private void removeTriangle(int t) {
+        for (int j = 0; j < 3; j++) edges.remove(edgeKey(corners[3 * t + j], corners[3 * t + (j + 1) % 3]));
+        corners[3 * t] = -1;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, 2 * freeCount);
+        freeSlots[freeCount++] = t;
+    }
+
+    /** Link vertex w into the polygon between u and its successor n. */
+    private void link(int w, int u, int n) {
+        next[w] = n;
+        prev[w] = u;
+        next[u] = w;
+        prev[n] = w;
+        size++;
+    }
+
+    private void unlink(int v) {
+        next[prev[v]] = next[v];
+        prev[next[v]] = prev[v];
+        if (head == v) head = next[v];
+        next[v] = -1;
+        prev[v] = -1;
+        size--;
+    }
+
+    private void growVertices() {
+        int capacity = Math.max(4, 2 * xs.length);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        int old = successor.length;
+        successor = Arrays.copyOf(successor, capacity);
+        Arrays.fill(successor, old, capacity, -1);
+        longIndex = Arrays.copyOf(longIndex, capacity);
+        Arrays.fill(longIndex, old, capacity, -1);
+    }
+
+    private void checkVertex(int v) {
+        if (!contains(v)) throw new IllegalArgumentException("no vertex " + v);
+    }
+
+    /** Twice the signed area edge a->b contributes to the polygon, with the sign convention of areaPoly2. */
+    private double edgeArea(int a, int b) {return xs[b] * ys[a] - xs[a] * ys[b];}
+
+    /** Key of the directed edge a->b. */
+    private static long edgeKey(int a, int b) {return (long) a << 32 | b;}
+
+    /**
+     * Map from directed edge keys to triangle slots, open addressing with linear probing over primitive arrays.
+     * Removal shifts the following entries of the probe run back, so no tombstones build up.
+     */
+    private static class EdgeTable {
+        /** Marks an empty entry; no edge key is negative. */
+        private static final long EMPTY = -1;
+
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private int count;
+
+        EdgeTable() {Arrays.fill(keys, EMPTY);}
+
+        /** @return the slot stored under the key, or -1 if there is none. */
+        int get(long key) {
+            for (int i = index(key); keys[i] != EMPTY; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) return values[i];
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if (2 * (count + 1) > keys.length) grow();
+            int i = index(key);
+            while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & (keys.length - 1);
+            if (keys[i] == EMPTY) count++;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = index(key);
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) return;
+                i = (i + 1) & mask;
+            }
+            // move back every later entry of the run that the gap would cut off from its home index
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = index(keys[j]);
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = EMPTY;
+            count--;
+        }
+
+        void clear() {
+            Arrays.fill(keys, EMPTY);
+            count = 0;
+        }
+
+        /**
+         * Home index of a key. Multiplying by an odd constant and keeping the high bits spreads the packed vertex
+         * pairs, whose low bits alone would collide badly.
+         */
+        private int index(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(keys.length)));
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[2 * oldKeys.length];
+            values = new int[2 * oldKeys.length];
+            Arrays.fill(keys, EMPTY);
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+}
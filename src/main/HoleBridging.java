@@ -0,0 +1,265 @@
+/**
+ * FILE: HoleBridging.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Merge the holes of a polygon into its outer boundary so that any of the triangulators can process it.
+ * Each hole is joined to the boundary by a bridge, a pair of coincident edges between the hole's rightmost vertex
+ * and a boundary vertex visible from it. Holes are merged from right to left, so the vertex found by casting a ray
+ * to the right of a hole always belongs to the boundary built so far.
+ * NOTE: A bridged polygon of n vertices and h holes has n + 2h vertices, the bridge ends appearing twice. It is
+ * weakly simple: the ear clippers triangulate it, and since the copies of a bridge end are told apart by position,
+ * not by coordinates, their diagonals feed the mesh, point location, Delaunay and convex partition code unchanged.
+ */
+
+package main;
+
+import shape.Point;
+import shape.Polygon;
+import shape.PolygonWithHoles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class HoleBridging {
+    /** X coordinate of each vertex. The merged boundary comes first, then the holes in the order they are merged. */
+    private final double[] xs;
+    /** Y coordinate of each vertex. */
+    private final double[] ys;
+    /** Index of the vertex following each vertex on its ring. */
+    private final int[] next;
+    /** Index of the vertex preceding each vertex on its ring. */
+    private final int[] prev;
+
+    private HoleBridging(int capacity) {
+        xs = new double[capacity];
+        ys = new double[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+    }
+
+    /**
+     * Merge the holes of a polygon into its outer boundary. The outer ring is made counterclockwise and the holes
+     * clockwise, whatever their orientation in the input.
+     * @param polygon the polygon with holes.
+     * @return a single boundary enclosing the same region.
+     * @throws IllegalArgumentException if a hole does not lie inside the outer ring.
+     */
+    public static Polygon bridge(PolygonWithHoles polygon) {
+        int holes = polygon.getHoleCount();
+        HoleBridging bridging = new HoleBridging(polygon.getSize() + 2 * holes);
+        bridging.ring(polygon.getOuter(), true, 0);
+        int end = polygon.getOuter().getSize();
+
+        // merge the holes from right to left
+        Integer[] order = new Integer[holes];
+        double[] maxX = new double[holes];
+        for (int h = 0; h < holes; h++) {
+            order[h] = h;
+            maxX[h] = Double.NEGATIVE_INFINITY;
+            for (Point p : polygon.getHole(h).getPoints()) maxX[h] = Math.max(maxX[h], p.getX());
+        }
+        Arrays.sort(order, Comparator.comparingDouble(h -> -maxX[h]));
+
+        for (int h : order) {
+            Polygon hole = polygon.getHole(h);
+            int m = bridging.ring(hole, false, end);
+            int p = bridging.visibleVertex(m, end, end + hole.getSize());
+            bridging.splice(p, m, end + hole.getSize());
+            end += hole.getSize() + 2;
+        }
+
+        ArrayList<Point> points = new ArrayList<>(end);
+        int v = 0;
+        do {
+            points.add(new Point(bridging.xs[v], bridging.ys[v]));
+            v = bridging.next[v];
+        } while (v != 0);
+        return new Polygon(points);
+    }
+
+    /**
+     * Copy a ring into the arrays, reversing it if needed, and link it into a circular list.
+     * @param polygon the ring.
+     * @param counterclockwise whether the ring must have positive area.
+     * @param start index of the ring's first slot.
+     * @return index of the ring's rightmost vertex, the highest one on ties.
+     */
+    private int ring(Polygon polygon, boolean counterclockwise, int start) {
+        int n = polygon.getSize();
+        boolean reverse = (Triangulation.areaPoly2(polygon) > 0) != counterclockwise;
+        int rightmost = start;
+        for (int i = 0; i < n; i++) {
+            int v = start + (reverse ? n - 1 - i : i);
+            xs[v] = polygon.getPoint(i).getX();
+            ys[v] = polygon.getPoint(i).getY();
+        }
+        for (int i = 0; i < n; i++) {
+            int v = start + i;
+            next[v] = start + (i + 1) % n;
+            prev[v] = start + (i + n - 1) % n;
+            if (xs[v] > xs[rightmost] || (xs[v] == xs[rightmost] && ys[v] > ys[rightmost])) rightmost = v;
+        }
+        return rightmost;
+    }
+
+    /**
+     * Find a boundary vertex visible from the rightmost vertex m of a hole. A ray cast from m to the right hits the
+     * boundary at a point i on some edge; the endpoint p of that edge further right is visible unless a reflex vertex
+     * lies in the triangle m, i, p, in which case the reflex vertex making the smallest angle with the ray is.
+     * @param m index of the hole's rightmost vertex.
+     * @param boundary number of slots used by the merged boundary.
+     * @param limit index after the hole's last slot.
+     * @return index of the visible boundary vertex.
+     * @throws IllegalArgumentException if the ray hits no boundary edge.
+     */
+    private int visibleVertex(int m, int boundary, int limit) {
+        double mx = xs[m], my = ys[m];
+
+        // nearest boundary edge crossing the ray
+        int edge = -1;
+        double ix = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < boundary; v++) {
+            int w = next[v];
+            if ((ys[v] < my && ys[w] < my) || (ys[v] > my && ys[w] > my) || Math.max(xs[v], xs[w]) < mx) continue;
+            double x = ys[v] == ys[w] ? Math.max(mx, Math.min(xs[v], xs[w]))
+                    : xs[v] + (my - ys[v]) / (ys[w] - ys[v]) * (xs[w] - xs[v]);
+            if (x >= mx && x < ix) {
+                ix = x;
+                edge = v;
+            }
+        }
+        if (edge < 0) throw new IllegalArgumentException("hole is not inside the outer ring");
+
+        int p;
+        int w = next[edge];
+        if (xs[edge] == ix && ys[edge] == my) p = edge;
+        else if (xs[w] == ix && ys[w] == my) p = w;
+        else {
+            p = xs[edge] >= xs[w] ? edge : w;
+
+            // reflex vertices inside the triangle m, i, p hide p; take the one closest in angle to the ray
+            int best = -1;
+            double maxX = Math.max(ix, xs[p]), minY = Math.min(my, ys[p]), maxY = Math.max(my, ys[p]);
+            for (int v = 0; v < boundary; v++) {
+                if (xs[v] < mx || xs[v] > maxX || ys[v] < minY || ys[v] > maxY) continue;
+                if ((xs[v] == xs[p] && ys[v] == ys[p]) || !reflex(v) || !inTriangle(mx, my, ix, my, xs[p], ys[p], v)) {
+                    continue;
+                }
+                if (best < 0 || closerToRay(v, best, mx, my)) best = v;
+            }
+            if (best >= 0) p = best;
+        }
+        return visibleCopy(p, m, boundary, limit);
+    }
+
+    /**
+     * Pick, among the vertices at the candidate's coordinates, one whose cone contains the bridge and from which the
+     * bridge crosses no edge. Earlier bridges leave several vertices at the same place, and only one of them faces m.
+     * Should no copy qualify, the nearest visible boundary vertex is searched for directly.
+     * @param p index of the candidate vertex.
+     * @param m index of the hole's rightmost vertex.
+     * @param boundary number of slots used by the merged boundary.
+     * @param limit index after the hole's last slot.
+     * @return index of the visible boundary vertex.
+     */
+    private int visibleCopy(int p, int m, int boundary, int limit) {
+        for (int v = 0; v < boundary; v++) {
+            if (xs[v] == xs[p] && ys[v] == ys[p] && visible(v, m, limit)) return v;
+        }
+
+        // the filtered search failed on degenerate input; fall back to a scan by distance
+        int best = -1;
+        double distance = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < boundary; v++) {
+            double dx = xs[v] - xs[m], dy = ys[v] - ys[m];
+            if (dx * dx + dy * dy < distance && visible(v, m, limit)) {
+                best = v;
+                distance = dx * dx + dy * dy;
+            }
+        }
+        if (best < 0) throw new IllegalArgumentException("hole is not inside the outer ring");
+        return best;
+    }
+
+    /**
+     * Join a hole to the boundary by the bridge p->m, appending copies of m and p to close the loop. The boundary
+     * runs p, m, around the hole back to m, then p again.
+     * @param p index of the boundary vertex.
+     * @param m index of the hole vertex.
+     * @param slot index of the two free slots receiving the copies.
+     */
+    private void splice(int p, int m, int slot) {
+        int mCopy = slot, pCopy = slot + 1;
+        xs[mCopy] = xs[m];
+        ys[mCopy] = ys[m];
+        xs[pCopy] = xs[p];
+        ys[pCopy] = ys[p];
+
+        int after = next[p], last = prev[m];
+        next[p] = m;
+        prev[m] = p;
+        next[last] = mCopy;
+        prev[mCopy] = last;
+        next[mCopy] = pCopy;
+        prev[pCopy] = mCopy;
+        next[pCopy] = after;
+        prev[after] = pCopy;
+    }
+
+    /**
+     * Determines whether the segment v->m is a valid bridge: it lies in the cone at v and crosses no edge of the
+     * boundary or the hole.
+     */
+    private boolean visible(int v, int m, int limit) {
+        if (!inCone(v, xs[m], ys[m])) return false;
+        double minX = Math.min(xs[v], xs[m]), maxX = Math.max(xs[v], xs[m]);
+        double minY = Math.min(ys[v], ys[m]), maxY = Math.max(ys[v], ys[m]);
+        for (int u = 0; u < limit; u++) {
+            int w = next[u];
+            // bounding box prefilter
+            if ((xs[u] < minX && xs[w] < minX) || (xs[u] > maxX && xs[w] > maxX)
+                    || (ys[u] < minY && ys[w] < minY) || (ys[u] > maxY && ys[w] > maxY)) {
+                continue;
+            }
+            if (SegmentKernel.intersect(xs[v], ys[v], xs[m], ys[m], xs[u], ys[u], xs[w], ys[w])) return false;
+        }
+        return true;
+    }
+
+    /** Same test as Triangulation.inCone on the vertex v and the point b. */
+    private boolean inCone(int v, double bx, double by) {
+        int a0 = prev[v], a1 = next[v];
+        double ax = xs[v], ay = ys[v];
+        if (Predicates.orientation(ax, ay, xs[a1], ys[a1], xs[a0], ys[a0]) >= 0) {
+            return Predicates.orientation(ax, ay, bx, by, xs[a0], ys[a0]) > 0
+                    && Predicates.orientation(bx, by, ax, ay, xs[a1], ys[a1]) > 0;
+        }
+        return !(Predicates.orientation(ax, ay, bx, by, xs[a1], ys[a1]) >= 0
+                && Predicates.orientation(bx, by, ax, ay, xs[a0], ys[a0]) >= 0);
+    }
+
+    /** @return true if the boundary turns right at v. */
+    private boolean reflex(int v) {
+        return Predicates.orientation(xs[prev[v]], ys[prev[v]], xs[v], ys[v], xs[next[v]], ys[next[v]]) < 0;
+    }
+
+    /** @return true if vertex v lies in the closed triangle abc, whatever its orientation. */
+    private boolean inTriangle(double ax, double ay, double bx, double by, double cx, double cy, int v) {
+        int ab = Predicates.orientation(ax, ay, bx, by, xs[v], ys[v]);
+        int bc = Predicates.orientation(bx, by, cx, cy, xs[v], ys[v]);
+        int ca = Predicates.orientation(cx, cy, ax, ay, xs[v], ys[v]);
+        return (ab >= 0 && bc >= 0 && ca >= 0) || (ab <= 0 && bc <= 0 && ca <= 0);
+    }
+
+    /** @return true if u makes a smaller angle than v with the ray from (mx, my), or the same angle nearer. */
+    private boolean closerToRay(int u, int v, double mx, double my) {
+        double ux = xs[u] - mx, uy = Math.abs(ys[u] - my);
+        double vx = xs[v] - mx, vy = Math.abs(ys[v] - my);
+        double cross = uy * vx - vy * ux;
+        return cross < 0 || (cross == 0 && ux < vx);
+    }
+
+}
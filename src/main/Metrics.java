@@ -0,0 +1,99 @@
+/**
+ * FILE: Metrics.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Instrumentation of the algorithms' hot paths: counters of predicate calls, diagonal checks, ear
+ * re-evaluations and sweep-status operations, and Flight Recorder events per algorithm phase. Counters are
+ * LongAdders, which threads update without contending, and a snapshot reads them all at once.
+ * NOTE: Counters are switched on with -Dgeometry.metrics=true. The flag is a static final field, so when it is off the
+ * compiler drops every counting call site. Phase events are always created and committed: Flight Recorder decides
+ * whether a recording takes them, and an event no recording takes costs next to nothing.
+ */
+
+package main;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Metrics {
+    /** Whether counters are updated. Read once, from the geometry.metrics property. */
+    public static final boolean ENABLED = Boolean.getBoolean("geometry.metrics");
+
+    /** Quantities counted on the hot paths. */
+    public enum Counter {
+        /** Orientation and in-circle predicate evaluations. */
+        PREDICATE,
+        /** Diagonal checks of ear clipping. */
+        DIAGONAL,
+        /** Ear status re-evaluations after a vertex is clipped. */
+        EAR_UPDATE,
+        /** Lookups and updates of a sweep-line status. */
+        SWEEP_STATUS;
+
+        private final LongAdder adder = new LongAdder();
+    }
+
+    /** Counter values read at one time. */
+    public static class Snapshot {
+        private final long[] counts;
+
+        private Snapshot(long[] counts) {this.counts = counts;}
+
+        public long get(Counter counter) {return counts[counter.ordinal()];}
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (Counter counter : Counter.values()) {
+                if (text.length() > 0) text.append(' ');
+                text.append(counter.name().toLowerCase(Locale.ROOT)).append(' ').append(counts[counter.ordinal()]);
+            }
+            return text.toString();
+        }
+    }
+
+    public static void count(Counter counter) {
+        if (ENABLED) counter.adder.increment();
+    }
+
+    public static void count(Counter counter, long amount) {
+        if (ENABLED) counter.adder.add(amount);
+    }
+
+    /**
+     * Start timing a phase.
+     * @param algorithm name of the algorithm running.
+     * @param phase name of the phase starting.
+     * @param vertices number of vertices of the input polygon.
+     * @return the phase's event, to be passed to end.
+     */
+    public static PhaseEvent begin(String algorithm, String phase, int vertices) {
+        PhaseEvent event = new PhaseEvent(algorithm, phase, vertices);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing a phase and record its event if a recording is taking events of that kind.
+     * @param event the event returned by begin.
+     */
+    public static void end(PhaseEvent event) {
+        event.commit();
+    }
+
+    /** @return the current value of every counter. */
+    public static Snapshot snapshot() {
+        long[] counts = new long[Counter.values().length];
+        for (Counter counter : Counter.values()) counts[counter.ordinal()] = counter.adder.sum();
+        return new Snapshot(counts);
+    }
+
+    /** Set every counter back to zero. */
+    public static void reset() {
+        for (Counter counter : Counter.values()) counter.adder.reset();
+    }
+
+}
@@ -5,177 +5,257 @@
  * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
  * DATE: 1/15/2024
  *
- * DESCRIPTION: Partition a polygon into monotone pieces.
+ * DESCRIPTION: Partition a polygon into monotone pieces, and triangulate a polygon through its monotone pieces.
  * NOTE: No two vertices of the polygon can have the same y coordinate.
  */
 
 
 package main;
 
-import drawing.Drawing;
-import javafx.application.Application;
-import javafx.scene.Group;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
+import shape.Diagonal;
+import shape.HalfEdgeMesh;
 import shape.Point;
 import shape.Polygon;
 import shape.Segment;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import static main.Trapezoidalization.*;
-import static main.Triangulation.areaPoly2;
-import static main.Triangulation.diagonal;
-import static tools.PolygonTools.readPolygon;
+import static main.Triangulation.left;
+import static tools.PolygonTools.splitPieces;
 
-public class Monotone extends Application {
+public class Monotone {
 
-    public static void main(String[] args) {Application.launch(args);}
-
-    @Override
-    public void start(Stage stage) {
-        // read polygon data from file
-        Polygon polygon = readPolygon("src/data/poly7.txt");
-        if (polygon == null) {
-            System.out.println("Could not read polygon file.");
-            return;
-        }
-
-        Group group = new Group();
-
-        // calculate the polygon's area
-        System.out.println("The polygon's area is " + (areaPoly2(polygon) / 2));
-
-        // draw monotone partition
-        drawMonotone(group, polygon);
-
-        // window setup
-        Scene scene = new Scene(group);
-        stage.setScene(scene);
-        stage.setWidth(1200);
-        stage.setHeight(700);
-        stage.setTitle("Trapezoidalization");
-        stage.show();
+    /**
+     * Creates a list of segments that partition the polygon into monotone pieces.
+     * A monotone polygon with respect to the vertical has a monotone ordering of vertices when projected onto the
+     * vertical. The segments are the diagonals of monotoneDiagonals, so each split or merge vertex is joined to the
+     * helper the sweep remembers instead of searching the sorted vertices for the nearest valid diagonal.
+     * @param polygon the shape being partitioned.
+     * @return a list of segments that partition the polygon.
+     */
+    public static ArrayList<Segment> monotonePartition(Polygon polygon) {
+        ArrayList<int[]> diagonals = monotoneDiagonals(polygon);
+        ArrayList<Segment> segments = new ArrayList<>(diagonals.size());
+        for (int[] d : diagonals) segments.add(new Segment(polygon.getPoint(d[0]), polygon.getPoint(d[1])));
+        return segments;
     }
 
     /**
-     * Creates a diagonal between two vertices. If the diagonal is not valid, return null.
-     * @param polygon polygon being examined.
-     * @param v the first vertex.
-     * @param vp the second vertex.
-     * @return a diagonal segment if valid; otherwise, null.
+     * Create a list of polygons that make up the component monotone pieces of the polygon. The pieces are the ones
+     * cut out by the segments of monotonePartition.
+     * @param polygon the shape being partitioned.
+     * @return a list of monotone polygons.
      */
-    public static Segment partition(Polygon polygon, int v, int vp) {
-        if (diagonal(polygon, v, vp)) {
-            return new Segment(polygon.getPoint(v), polygon.getPoint(vp));
-        }
-        return null;
+    public static ArrayList<Polygon> monotone(Polygon polygon) {
+        HalfEdgeMesh mesh = monotoneMesh(polygon);
+        PhaseEvent phase = Metrics.begin("monotone", "piece extraction", polygon.getSize());
+        ArrayList<Polygon> polygons = new ArrayList<>(mesh.getFaceCount());
+        for (int f = 0; f < mesh.getFaceCount(); f++) polygons.add(mesh.getFacePolygon(f));
+        Metrics.end(phase);
+        return polygons;
     }
 
     /**
-     * Creates the first possible diagonal between a given vertex and another in ascending or descending order.
-     * @param polygon polygon being examined.
-     * @param vertices sorted list of vertices.
-     * @param index index of first vertex.
-     * @param asc direction to look for next vertex.
-     * @return a diagonal segment.
+     * Partition a polygon into monotone pieces and return them as a half-edge mesh. Its chords are the segments of
+     * monotonePartition.
+     * @param polygon the shape being partitioned.
+     * @return a mesh with one face per monotone piece.
      */
-    public static Segment partition(Polygon polygon, ArrayList<Integer> vertices, int index, boolean asc) {
-        Segment s;
-        int c = 1;
-        do {
-            int vp = asc ? vertices.get(index - c++) : vertices.get(index + c++);
-            s = partition(polygon, vertices.get(index), vp);
-        } while (s == null);
-        return s;
+    public static HalfEdgeMesh monotoneMesh(Polygon polygon) {
+        return new HalfEdgeMesh(polygon, monotoneDiagonals(polygon));
     }
 
     /**
-     * Updates the list of edges pierced by the line running through the current vertex.
-     * @param polygon the shape being examined.
-     * @param pierced the list of pierced edges.
-     * @param vertices the sorted list of vertices.
-     * @param index position of current vertex in vertices.
+     * Adds the diagonal from v to the helper of an edge if that helper is a merge vertex.
+     * @param diagonals list of diagonals found so far.
+     * @param helper the helper of each pierced edge.
+     * @param merge whether each vertex is a merge vertex.
+     * @param edge the pierced edge.
+     * @param v the current vertex.
      */
-    public static void updatePierced(Polygon polygon, ArrayList<Segment> pierced, ArrayList<Integer> vertices, int index) {
-        int v = vertices.get(index);
-        Point p = polygon.getPoint(v);
-        Point p0 = polygon.getPoint(v - 1);
-        Point p1 = polygon.getPoint(v + 1);
-        Segment s0 = new Segment(p0, p);
-        Segment s1 = new Segment(p, p1);
-        int v0 = pierced.indexOf(s0);
-        int v1 = pierced.indexOf(s1);
-        if (v0 == -1 && v1 == -1) {
-            pierced.add(findVertex(pierced, p), p0.getX() < p1.getX() ? s1 : s0);
-            pierced.add(findVertex(pierced, p), p0.getX() < p1.getX() ? s0 : s1);
-        } else if (v0 == -1) {
-            pierced.set(v1, s0);
-        } else if (v1 == -1) {
-            pierced.set(v0, s1);
-        } else {
-            pierced.remove(s0);
-            pierced.remove(s1);
-        }
+    private static void connectMerge(ArrayList<int[]> diagonals, HashMap<Segment, Integer> helper, boolean[] merge,
+                                     Segment edge, int v) {
+        Integer h = helper.get(edge);
+        if (h != null && merge[h]) diagonals.add(new int[] {v, h});
     }
 
     /**
-     * Creates a list of segments that partition the polygon into monotone pieces.
-     * A monotone polygon with respect to the vertical has a monotone ordering of vertices when projected onto the
-     * vertical.
+     * Calculates the diagonals of a monotone partition by a single sweep. Each pierced edge with the interior to its
+     * right remembers a helper, the last vertex seen between it and the next edge to the right. Split vertices are
+     * joined to the helper of the edge left of them, and merge vertices are joined to the next vertex that takes
+     * over as a helper, so no diagonal needs to be searched for.
      * @param polygon the shape being partitioned.
-     * @return a list of segments that partition the polygon.
+     * @return a list of diagonals, each given as the pair of indices of its vertices.
      */
-    public static ArrayList<Segment> monotonePartition(Polygon polygon) {
+    public static ArrayList<int[]> monotoneDiagonals(Polygon polygon) {
+        ArrayList<int[]> diagonals = new ArrayList<>();
+        SweepStatus pierced = new SweepStatus();
+        HashMap<Segment, Integer> helper = new HashMap<>();
+        boolean[] merge = new boolean[polygon.getSize()];
+        PhaseEvent phase = Metrics.begin("monotoneDiagonals", "sort", polygon.getSize());
         ArrayList<Integer> vertices = sortVerticesY(polygon);
-        ArrayList<Segment> segments = new ArrayList<>();
-        ArrayList<Segment> pierced = new ArrayList<>();
-        for (int i = 0; i < vertices.size(); i++) {
-            int v = vertices.get(i);
+        Metrics.end(phase);
+        phase = Metrics.begin("monotoneDiagonals", "sweep", polygon.getSize());
+        for (int v : vertices) {
             Point p = polygon.getPoint(v);
             Point p0 = polygon.getPoint(v - 1);
             Point p1 = polygon.getPoint(v + 1);
-            int v0 = pierced.indexOf(new Segment(p0, p));
-            int v1 = pierced.indexOf(new Segment(p, p1));
-            updatePierced(polygon, pierced, vertices, i);
-            if (v0 == -1 && v1 == -1 && reflex(p, p1, p0)) {
-                segments.add(partition(polygon, vertices, i, true));
-            }
-            else if (v0 != -1 && v1 != -1 && reflex(p, p1, p0)) {
-                segments.add(partition(polygon, vertices, i, false));
+
+            // edges arriving at and leaving p. Only edges followed upward (interior to their right) are pierced
+            Segment s0 = new Segment(p0, p);
+            Segment s1 = new Segment(p, p1);
+            pierced.setSweepY(p.getY());
+            boolean above0 = above(p0, p);
+            boolean above1 = above(p1, p);
+
+            if (above0 && above1) {
+                // start or split vertex
+                if (reflex(p, p1, p0)) {
+                    Segment left = pierced.leftOf(p);
+                    diagonals.add(new int[] {v, helper.get(left)});
+                    helper.put(left, v);
+                }
+                pierced.insert(s1);
+                helper.put(s1, v);
+            } else if (!above0 && !above1) {
+                // end or merge vertex
+                connectMerge(diagonals, helper, merge, s0, v);
+                pierced.remove(s0);
+                helper.remove(s0);
+                if (reflex(p, p1, p0)) {
+                    merge[v] = true;
+                    Segment left = pierced.leftOf(p);
+                    connectMerge(diagonals, helper, merge, left, v);
+                    helper.put(left, v);
+                }
+            } else if (!above0) {
+                // regular vertex with the interior to its right
+                connectMerge(diagonals, helper, merge, s0, v);
+                pierced.replace(s0, s1);
+                helper.remove(s0);
+                helper.put(s1, v);
+            } else {
+                // regular vertex with the interior to its left
+                Segment left = pierced.leftOf(p);
+                connectMerge(diagonals, helper, merge, left, v);
+                helper.put(left, v);
             }
         }
-        return segments;
+        Metrics.end(phase);
+        return diagonals;
     }
 
     /**
-     * Create a list of polygons that make up the component monotone pieces of the polygon.
-     * @param polygon the shape being partitioned.
-     * @return a list of monotone polygons.
+     * Triangulates a monotone piece in linear time. Vertices are visited bottom to top by merging the two chains,
+     * and a stack holds the reflex chain that is still waiting for diagonals.
+     * @param polygon the shape the piece belongs to.
+     * @param piece indices of the piece's vertices in polygon order.
+     * @param diagonals list the triangulation diagonals are added to.
      */
-    public static ArrayList<Polygon> monotone(Polygon polygon) {
-        ArrayList<Segment> partitions = monotonePartition(polygon);
-        ArrayList<Polygon> polygons = new ArrayList<>();
-        Polygon copyPolygon = new Polygon(polygon);
-        for (Segment segment : partitions) {
-            int v1 = polygon.getVertexNumber(segment.getP1());
-            int v2 = polygon.getVertexNumber(segment.getP2());
-            int vmin = Math.min(v1, v2);
-            int vmax = Math.max(v1, v2);
-            polygons.add(new Polygon(polygon.getPoints().subList(vmin, 1 + vmax)));
-            for (int i = vmin + 1; i < vmax; i++) {
-                copyPolygon.getPoints().remove(polygon.getPoint(i));
+    public static void triangulatePiece(Polygon polygon, int[] piece, ArrayList<Diagonal> diagonals) {
+        ArrayList<int[]> pairs = new ArrayList<>();
+        pieceDiagonals(polygon, piece, pairs);
+        for (int[] d : pairs) diagonals.add(new Diagonal(polygon.getPoint(d[0]), polygon.getPoint(d[1])));
+    }
+
+    /**
+     * Triangulates a monotone piece in linear time, like triangulatePiece, giving the diagonals by vertex index.
+     * @param polygon the shape the piece belongs to.
+     * @param piece indices of the piece's vertices in polygon order.
+     * @param diagonals list the triangulation diagonals are added to, each as the pair of indices of its vertices.
+     */
+    public static void pieceDiagonals(Polygon polygon, int[] piece, ArrayList<int[]> diagonals) {
+        int k = piece.length;
+        if (k < 4) return;
+
+        // find the lowest and highest vertices of the piece
+        int lo = 0, hi = 0;
+        for (int i = 1; i < k; i++) {
+            if (above(polygon.getPoint(piece[lo]), polygon.getPoint(piece[i]))) lo = i;
+            if (above(polygon.getPoint(piece[i]), polygon.getPoint(piece[hi]))) hi = i;
+        }
+
+        // merge the chain following the polygon upward from lo with the chain following it downward to lo
+        int[] sorted = new int[k];
+        boolean[] forward = new boolean[k];
+        sorted[0] = piece[lo];
+        int f = (lo + 1) % k;
+        int b = (lo + k - 1) % k;
+        for (int j = 1; j < k; j++) {
+            boolean takeForward = b == hi ||
+                    (f != hi && above(polygon.getPoint(piece[b]), polygon.getPoint(piece[f])));
+            if (takeForward) {
+                sorted[j] = piece[f];
+                forward[j] = true;
+                f = (f + 1) % k;
+            } else {
+                sorted[j] = piece[b];
+                b = (b + k - 1) % k;
             }
         }
-        polygons.add(copyPolygon);
-        return polygons;
+
+        // sweep upward with a stack of positions in sorted
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        stack.push(0);
+        stack.push(1);
+        for (int j = 2; j < k - 1; j++) {
+            Point u = polygon.getPoint(sorted[j]);
+            if (forward[j] != forward[stack.peek()]) {
+                // opposite chain: the whole stack is visible from u
+                int top = stack.peek();
+                while (stack.size() > 1) diagonals.add(new int[] {sorted[j], sorted[stack.pop()]});
+                stack.pop();
+                stack.push(top);
+                stack.push(j);
+            } else {
+                // same chain: cut off triangles while the vertex between u and the stack is convex
+                int last = stack.pop();
+                while (!stack.isEmpty()) {
+                    Point mid = polygon.getPoint(sorted[last]);
+                    Point top = polygon.getPoint(sorted[stack.peek()]);
+                    if (forward[j] ? !left(top, mid, u) : !left(u, mid, top)) break;
+                    last = stack.pop();
+                    diagonals.add(new int[] {sorted[j], sorted[last]});
+                }
+                stack.push(last);
+                stack.push(j);
+            }
+        }
+
+        // connect the highest vertex to the rest of the stack
+        stack.pop();
+        while (stack.size() > 1) diagonals.add(new int[] {sorted[k - 1], sorted[stack.pop()]});
     }
 
     /**
-     * Calculate and draw a monotone partition for the polygon.
-     * @param group the JavaFX Group being drawn to.
-     * @param polygon the shape being partitioned.
+     * Calculate a triangulation of the given polygon in O(n log n) time. The polygon is partitioned into monotone
+     * pieces by a single sweep, and each piece is then triangulated in linear time.
+     * @param polygon the shape being triangulated.
+     * @return a list of diagonals that comprise the triangulation.
+     */
+    public static ArrayList<Diagonal> triangulateMonotone(Polygon polygon) {
+        ArrayList<int[]> pairs = triangulateMonotoneIndices(polygon);
+        ArrayList<Diagonal> diagonals = new ArrayList<>(pairs.size());
+        for (int[] d : pairs) diagonals.add(new Diagonal(polygon.getPoint(d[0]), polygon.getPoint(d[1])));
+        return diagonals;
+    }
+
+    /**
+     * Calculate a triangulation like triangulateMonotone, giving the diagonals by vertex index. Unlike diagonals
+     * between points, these stay unambiguous when two vertices have the same coordinates.
+     * @param polygon the shape being triangulated.
+     * @return the diagonals, each given as the pair of indices of its vertices.
      */
-    public static void drawMonotone(Group group, Polygon polygon) {
-        ArrayList<Polygon> polygons = monotone(polygon);
-        for (Polygon monotone : polygons)  Drawing.drawPolygon(group, monotone, 2);
+    public static ArrayList<int[]> triangulateMonotoneIndices(Polygon polygon) {
+        ArrayList<int[]> diagonals = monotoneDiagonals(polygon);
+        PhaseEvent phase = Metrics.begin("triangulateMonotone", "piece extraction", polygon.getSize());
+        ArrayList<int[]> pieces = splitPieces(polygon.getSize(), diagonals);
+        Metrics.end(phase);
+        phase = Metrics.begin("triangulateMonotone", "piece triangulation", polygon.getSize());
+        for (int[] piece : pieces) pieceDiagonals(polygon, piece, diagonals);
+        Metrics.end(phase);
+        return diagonals;
     }
+
 }
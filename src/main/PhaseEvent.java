@@ -0,0 +1,45 @@
+/**
+ * FILE: PhaseEvent.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Flight Recorder event covering one phase of an algorithm run, such as the sort or the sweep of a
+ * trapezoidalization or the ear initialization of ear clipping. Recorded with the rest of a JFR recording, the
+ * events show where the time of a slow polygon went after the fact.
+ * NOTE: Events are created whether or not Metrics.ENABLED is set and recorded whenever a recording enables them.
+ */
+
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("geometry.Phase")
+@Label("Algorithm Phase")
+@Category("Computational Geometry")
+@Description("One phase of a geometry algorithm run")
+@StackTrace(false)
+public final class PhaseEvent extends Event {
+    @Label("Algorithm")
+    final String algorithm;
+
+    @Label("Phase")
+    final String phase;
+
+    @Label("Vertices")
+    @Description("Number of vertices of the input polygon")
+    final int vertices;
+
+    PhaseEvent(String algorithm, String phase, int vertices) {
+        this.algorithm = algorithm;
+        this.phase = phase;
+        this.vertices = vertices;
+    }
+
+}
@@ -0,0 +1,273 @@
+/**
+ * FILE: PointLocation.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Answer which triangle of a polygon's triangulation contains a point. The triangulation is computed
+ * once, then queries walk from the last hit triangle and fall back to the triangles overlapping a uniform grid cell.
+ */
+
+package main;
+
+import shape.ArrayPolygon;
+import shape.Coordinates;
+import shape.Diagonal;
+import shape.Polygon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static tools.PolygonTools.splitPieces;
+import static tools.PolygonTools.vertexIndices;
+
+public class PointLocation {
+    /** Number of steps a walk may take before the query falls back to the grid. */
+    private static final int WALK_STEPS = 8;
+
+    /** X coordinate of each polygon vertex. */
+    private final double[] xs;
+    /** Y coordinate of each polygon vertex. */
+    private final double[] ys;
+    /** Vertex indices of each triangle, three per triangle, counterclockwise. */
+    private final int[] triangles;
+    /** Triangle across each triangle side (side i runs from vertex i to vertex i + 1), or -1 on the boundary. */
+    private final int[] neighbors;
+
+    /** Lower left corner of the grid. */
+    private final double minX, minY;
+    /** Width and height of a grid cell. */
+    private final double cellWidth, cellHeight;
+    /** Number of grid cells along each axis. */
+    private final int columns, rows;
+    /** Start of each cell's run in cellTriangles. Cell c owns entries cellStart[c] to cellStart[c + 1]. */
+    private final int[] cellStart;
+    /** Triangles overlapping each cell. */
+    private final int[] cellTriangles;
+
+    /** Triangle hit by the last single query, where the next one starts walking. */
+    private int last = 0;
+
+    /**
+     * Preprocess a polygon by triangulating it with ear clipping.
+     * @param polygon the shape being queried. It is not modified.
+     */
+    public PointLocation(Polygon polygon) {this(new ArrayPolygon(polygon));}
+
+    /**
+     * Preprocess a polygon with a triangulation computed elsewhere.
+     * @param polygon the shape being queried.
+     * @param diagonals diagonals of a triangulation of the polygon.
+     */
+    public PointLocation(Polygon polygon, List<Diagonal> diagonals) {
+        this(new ArrayPolygon(polygon).getCoordinates(), vertexIndices(polygon, diagonals));
+    }
+
+    /**
+     * Preprocess a polygon by triangulating it with ear clipping.
+     * @param polygon the shape being queried. Its vertices are removed by the triangulation; their coordinates stay.
+     */
+    private PointLocation(ArrayPolygon polygon) {
+        this(polygon.getCoordinates(), Triangulation.triangulateIndices(polygon));
+    }
+
+    /**
+     * Preprocess a polygon with a triangulation given by vertex indices, which keep apart vertices that share their
+     * coordinates, such as the bridge ends of a polygon with holes.
+     * @param polygon the shape being queried.
+     * @param diagonals diagonals of a triangulation of the polygon, each given as the pair of indices of its vertices.
+     */
+    public PointLocation(Coordinates polygon, List<int[]> diagonals) {
+        int n = polygon.getSize();
+        xs = new double[n];
+        ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = polygon.getX(i);
+            ys[i] = polygon.getY(i);
+        }
+
+        // every piece between the diagonals is a triangle, already in polygon order
+        ArrayList<int[]> pieces = splitPieces(n, diagonals);
+        triangles = new int[3 * pieces.size()];
+        for (int t = 0; t < pieces.size(); t++) System.arraycopy(pieces.get(t), 0, triangles, 3 * t, 3);
+        neighbors = neighbors(n, triangles);
+
+        // grid with about two triangles per cell
+        double x0 = Arrays.stream(xs).min().orElse(0), x1 = Arrays.stream(xs).max().orElse(0);
+        double y0 = Arrays.stream(ys).min().orElse(0), y1 = Arrays.stream(ys).max().orElse(0);
+        int side = Math.max(1, Math.min(1024, (int) Math.sqrt(pieces.size() / 2.0)));
+        minX = x0;
+        minY = y0;
+        columns = side;
+        rows = side;
+        cellWidth = x1 > x0 ? (x1 - x0) / side : 1;
+        cellHeight = y1 > y0 ? (y1 - y0) / side : 1;
+
+        // count, then fill, the cells each triangle overlaps
+        cellStart = new int[columns * rows + 1];
+        for (int t = 0; t < getTriangleCount(); t++) cover(t, null);
+        for (int c = 0; c < columns * rows; c++) cellStart[c + 1] += cellStart[c];
+        cellTriangles = new int[cellStart[columns * rows]];
+        int[] fill = Arrays.copyOf(cellStart, columns * rows);
+        for (int t = 0; t < getTriangleCount(); t++) cover(t, fill);
+    }
+
+    public int getTriangleCount() {return triangles.length / 3;}
+
+    /**
+     * @param t index of a triangle.
+     * @return the polygon vertex indices of the triangle, counterclockwise.
+     */
+    public int[] getTriangle(int t) {return Arrays.copyOfRange(triangles, 3 * t, 3 * t + 3);}
+
+    /**
+     * @param t index of a triangle.
+     * @param side side of the triangle, from its vertex side to the next.
+     * @return the triangle across the side, or -1 if the side is a polygon edge.
+     */
+    public int getNeighbor(int t, int side) {return neighbors[3 * t + side];}
+
+    /**
+     * Find the triangle containing a point. Consecutive queries near each other are answered by a short walk from
+     * the previous answer. Not safe to call from several threads at once; use the batch query instead.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @return the index of a triangle containing (x, y), or -1 if the point is outside the polygon.
+     */
+    public int locate(double x, double y) {
+        int t = locate(x, y, last);
+        if (t != -1) last = t;
+        return t;
+    }
+
+    /**
+     * Find the triangles containing a batch of points. Each query starts walking from the previous answer, so
+     * spatially coherent batches are cheapest.
+     * @param qx x coordinate of each point.
+     * @param qy y coordinate of each point.
+     * @param out receives the triangle containing each point, or -1 if the point is outside the polygon.
+     */
+    public void locate(double[] qx, double[] qy, int[] out) {
+        int hint = 0;
+        for (int i = 0; i < qx.length; i++) {
+            out[i] = locate(qx[i], qy[i], hint);
+            if (out[i] != -1) hint = out[i];
+        }
+    }
+
+    /**
+     * Find the triangles containing a batch of points.
+     * @param qx x coordinate of each point.
+     * @param qy y coordinate of each point.
+     * @return the triangle containing each point, or -1 where the point is outside the polygon.
+     */
+    public int[] locate(double[] qx, double[] qy) {
+        int[] out = new int[qx.length];
+        locate(qx, qy, out);
+        return out;
+    }
+
+    /**
+     * Walk toward the point from a starting triangle, crossing the first side the point lies beyond. If the walk
+     * leaves the polygon or takes too long, test the triangles overlapping the point's grid cell instead.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @param start triangle to start walking from.
+     * @return the index of a triangle containing (x, y), or -1 if the point is outside the polygon.
+     */
+    private int locate(double x, double y, int start) {
+        int t = start;
+        for (int step = 0; step < WALK_STEPS && t != -1; step++) {
+            int side = exitSide(t, x, y);
+            if (side == -1) return t;
+            t = neighbors[3 * t + side];
+        }
+
+        double cx = (x - minX) / cellWidth;
+        double cy = (y - minY) / cellHeight;
+        if (!(cx >= 0 && cx <= columns && cy >= 0 && cy <= rows)) return -1;
+        int c = Math.min(rows - 1, (int) cy) * columns + Math.min(columns - 1, (int) cx);
+        for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+            if (exitSide(cellTriangles[i], x, y) == -1) return cellTriangles[i];
+        }
+        return -1;
+    }
+
+    /**
+     * Find a side of a triangle the point lies strictly beyond.
+     * @param t index of the triangle.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @return the side the point is beyond, or -1 if the point is in the triangle or on its boundary.
+     */
+    private int exitSide(int t, double x, double y) {
+        for (int side = 0; side < 3; side++) {
+            int a = triangles[3 * t + side];
+            int b = triangles[3 * t + (side + 1) % 3];
+            if (Predicates.orientation(xs[a], ys[a], xs[b], ys[b], x, y) < 0) return side;
+        }
+        return -1;
+    }
+
+    /**
+     * Visit the grid cells a triangle overlaps, row by row, using the triangle's extent within each row's band.
+     * @param t index of the triangle.
+     * @param fill next free slot of each cell, or null to only count the cells.
+     */
+    private void cover(int t, int[] fill) {
+        double[] tx = new double[3];
+        double[] ty = new double[3];
+        for (int i = 0; i < 3; i++) {
+            tx[i] = xs[triangles[3 * t + i]];
+            ty[i] = ys[triangles[3 * t + i]];
+        }
+        int row0 = row(Math.min(ty[0], Math.min(ty[1], ty[2])));
+        int row1 = row(Math.max(ty[0], Math.max(ty[1], ty[2])));
+        for (int r = row0; r <= row1; r++) {
+            double band0 = minY + r * cellHeight;
+            double band1 = band0 + cellHeight;
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < 3; i++) {
+                int j = (i + 1) % 3;
+                // part of side i within the band
+                double ya = Math.max(Math.min(ty[i], ty[j]), band0);
+                double yb = Math.min(Math.max(ty[i], ty[j]), band1);
+                if (ya > yb) continue;
+                double xa = tx[j], xb = tx[i];
+                if (ty[i] != ty[j]) {
+                    xa = tx[i] + (ya - ty[i]) * (tx[j] - tx[i]) / (ty[j] - ty[i]);
+                    xb = tx[i] + (yb - ty[i]) * (tx[j] - tx[i]) / (ty[j] - ty[i]);
+                }
+                lo = Math.min(lo, Math.min(xa, xb));
+                hi = Math.max(hi, Math.max(xa, xb));
+            }
+            if (lo > hi) continue;
+            double slack = cellWidth * 1e-9;
+            for (int col = column(lo - slack); col <= column(hi + slack); col++) {
+                int c = r * columns + col;
+                if (fill == null) cellStart[c + 1]++;
+                else cellTriangles[fill[c]++] = t;
+            }
+        }
+    }
+
+    private int column(double x) {return Math.min(columns - 1, Math.max(0, (int) ((x - minX) / cellWidth)));}
+
+    private int row(double y) {return Math.min(rows - 1, Math.max(0, (int) ((y - minY) / cellHeight)));}
+
+    /**
+     * Pair up the triangle sides shared by two triangles, bucketing the sides by their lower vertex as
+     * Delaunay.twins does.
+     * @param n number of polygon vertices.
+     * @param triangles vertex indices of each triangle, three per triangle.
+     * @return the triangle across each side, or -1 on the boundary.
+     */
+    private static int[] neighbors(int n, int[] triangles) {
+        int[] neighbors = Delaunay.twins(n, triangles);
+        for (int s = 0; s < neighbors.length; s++) {
+            if (neighbors[s] >= 0) neighbors[s] /= 3;
+        }
+        return neighbors;
+    }
+
+}
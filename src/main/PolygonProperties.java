@@ -0,0 +1,264 @@
+/**
+ * FILE: PolygonProperties.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Signed area, centroid, perimeter, bounding box and second moments of area of a polygon, all computed
+ * in one pass over its edges. Each edge contributes the signed triangle it forms with the first vertex, so the sums
+ * are taken relative to that vertex, and they are accumulated with Neumaier's compensated summation, which keeps
+ * the rounding error of a sum independent of the number of edges. Large polygons are split into ranges of edges
+ * summed in parallel on a fork/join pool. Coordinates are only read, so the sums run directly on a mapped polygon.
+ * NOTE: The area and the moments follow the sign convention of Triangulation.areaPoly2, positive for a
+ * counterclockwise polygon. A polygon of zero area has no centroid, and its centroid and moments are NaN.
+ */
+
+package main;
+
+import shape.Coordinates;
+import shape.Point;
+import shape.Polygon;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class PolygonProperties {
+    /** Smallest number of edges summed in parallel, and largest number a parallel task sums directly. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Index of each sum in an array of sums, each followed by its compensation. */
+    private static final int AREA = 0, X = 2, Y = 4, XX = 6, YY = 8, XY = 10, PERIMETER = 12, SUMS = 14;
+
+    private final double area2;
+    private final double centroidX;
+    private final double centroidY;
+    private final double perimeter;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    /** Second moment of area about the horizontal axis through the centroid. */
+    private final double ixx;
+    /** Second moment of area about the vertical axis through the centroid. */
+    private final double iyy;
+    /** Product of area about the centroid. */
+    private final double ixy;
+
+    private PolygonProperties(double x0, double y0, Partial partial) {
+        double[] s = partial.sums;
+        area2 = s[AREA] + s[AREA + 1];
+        double area = area2 / 2;
+        double cx = (s[X] + s[X + 1]) / (3 * area2);
+        double cy = (s[Y] + s[Y + 1]) / (3 * area2);
+        centroidX = x0 + cx;
+        centroidY = y0 + cy;
+        perimeter = s[PERIMETER] + s[PERIMETER + 1];
+        minX = partial.minX;
+        minY = partial.minY;
+        maxX = partial.maxX;
+        maxY = partial.maxY;
+
+        // the sums give moments about the first vertex; move them to the centroid by the parallel axis theorem
+        ixx = (s[YY] + s[YY + 1]) / 12 - area * cy * cy;
+        iyy = (s[XX] + s[XX + 1]) / 12 - area * cx * cx;
+        ixy = (s[XY] + s[XY + 1]) / 24 - area * cx * cy;
+    }
+
+    /**
+     * Compute the properties of a polygon.
+     * @param polygon the polygon.
+     * @return its properties.
+     */
+    public static PolygonProperties compute(Polygon polygon) {
+        int n = polygon.getSize();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int v = 0; v < n; v++) {
+            Point p = polygon.getPoint(v);
+            xs[v] = p.getX();
+            ys[v] = p.getY();
+        }
+        return compute(xs, ys);
+    }
+
+    /**
+     * Compute the properties of a polygon, in parallel on the common fork/join pool if it has at least
+     * PARALLEL_THRESHOLD edges.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     * @return the polygon's properties.
+     */
+    public static PolygonProperties compute(double[] xs, double[] ys) {
+        return compute(Coordinates.of(xs, ys));
+    }
+
+    /**
+     * Compute the properties of a polygon by summing ranges of at most PARALLEL_THRESHOLD edges on a pool.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     * @param pool the pool running the tasks.
+     * @return the polygon's properties.
+     */
+    public static PolygonProperties compute(double[] xs, double[] ys, ForkJoinPool pool) {
+        return compute(Coordinates.of(xs, ys), pool);
+    }
+
+    /**
+     * Compute the properties of a polygon without copying its coordinates, in parallel on the common fork/join pool
+     * if it has at least PARALLEL_THRESHOLD edges.
+     * @param polygon the polygon's coordinates, such as a MappedPolygon.
+     * @return the polygon's properties.
+     */
+    public static PolygonProperties compute(Coordinates polygon) {
+        int n = polygon.getSize();
+        if (n < PARALLEL_THRESHOLD) return new PolygonProperties(polygon.getX(0), polygon.getY(0), sum(polygon, 0, n));
+        return compute(polygon, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the properties of a polygon without copying its coordinates, by summing ranges of at most
+     * PARALLEL_THRESHOLD edges on a pool.
+     * @param polygon the polygon's coordinates, such as a MappedPolygon.
+     * @param pool the pool running the tasks.
+     * @return the polygon's properties.
+     */
+    public static PolygonProperties compute(Coordinates polygon, ForkJoinPool pool) {
+        return new PolygonProperties(polygon.getX(0), polygon.getY(0),
+                pool.invoke(new SumTask(polygon, 0, polygon.getSize())));
+    }
+
+    /** @return twice the signed area, as Triangulation.areaPoly2 gives it. */
+    public double getArea2() {return area2;}
+
+    public double getArea() {return area2 / 2;}
+
+    public double getCentroidX() {return centroidX;}
+
+    public double getCentroidY() {return centroidY;}
+
+    public Point getCentroid() {return new Point(centroidX, centroidY);}
+
+    public double getPerimeter() {return perimeter;}
+
+    public double getMinX() {return minX;}
+
+    public double getMinY() {return minY;}
+
+    public double getMaxX() {return maxX;}
+
+    public double getMaxY() {return maxY;}
+
+    /** @return the integral of (y - cy)^2 over the polygon, the second moment about the centroid's horizontal. */
+    public double getIxx() {return ixx;}
+
+    /** @return the integral of (x - cx)^2 over the polygon, the second moment about the centroid's vertical. */
+    public double getIyy() {return iyy;}
+
+    /** @return the integral of (x - cx)(y - cy) over the polygon. */
+    public double getIxy() {return ixy;}
+
+    @Override
+    public String toString() {
+        return "area " + getArea() + " centroid (" + centroidX + "," + centroidY + ") perimeter " + perimeter
+                + " box (" + minX + "," + minY + ")-(" + maxX + "," + maxY + ") ixx " + ixx + " iyy " + iyy
+                + " ixy " + ixy;
+    }
+
+    /** Compensated sums and bounding box of a range of edges. */
+    private static class Partial {
+        private final double[] sums = new double[SUMS];
+        private double minX = Double.POSITIVE_INFINITY;
+        private double minY = Double.POSITIVE_INFINITY;
+        private double maxX = Double.NEGATIVE_INFINITY;
+        private double maxY = Double.NEGATIVE_INFINITY;
+
+        /** Fold another range into this one, adding both its sums and its compensations. */
+        private Partial merge(Partial other) {
+            for (int k = 0; k < SUMS; k += 2) {
+                add(sums, k, other.sums[k]);
+                add(sums, k, other.sums[k + 1]);
+            }
+            minX = Math.min(minX, other.minX);
+            minY = Math.min(minY, other.minY);
+            maxX = Math.max(maxX, other.maxX);
+            maxY = Math.max(maxY, other.maxY);
+            return this;
+        }
+    }
+
+    /**
+     * Sum the contributions of the edges from vertex i to vertex i + 1 for i in a range. Coordinates are taken
+     * relative to the first vertex, which keeps the terms small for polygons far from the origin.
+     * @param polygon the polygon's coordinates.
+     * @param from first edge of the range.
+     * @param to edge after the last one of the range.
+     * @return the range's sums.
+     */
+    private static Partial sum(Coordinates polygon, int from, int to) {
+        Partial partial = new Partial();
+        double[] s = partial.sums;
+        int n = polygon.getSize();
+        double x0 = polygon.getX(0), y0 = polygon.getY(0);
+        // each vertex ends one edge and starts the next, so it is read once
+        double x = polygon.getX(from), y = polygon.getY(from);
+        for (int i = from; i < to; i++) {
+            int j = i + 1 == n ? 0 : i + 1;
+            double nextX = polygon.getX(j), nextY = polygon.getY(j);
+            double xi = x - x0, yi = y - y0;
+            double xj = nextX - x0, yj = nextY - y0;
+            double a = xj * yi - xi * yj;
+            add(s, AREA, a);
+            add(s, X, (xi + xj) * a);
+            add(s, Y, (yi + yj) * a);
+            add(s, XX, (xi * xi + xi * xj + xj * xj) * a);
+            add(s, YY, (yi * yi + yi * yj + yj * yj) * a);
+            add(s, XY, (xi * yj + 2 * xi * yi + 2 * xj * yj + xj * yi) * a);
+            add(s, PERIMETER, Math.sqrt((xj - xi) * (xj - xi) + (yj - yi) * (yj - yi)));
+            partial.minX = Math.min(partial.minX, x);
+            partial.minY = Math.min(partial.minY, y);
+            partial.maxX = Math.max(partial.maxX, x);
+            partial.maxY = Math.max(partial.maxY, y);
+            x = nextX;
+            y = nextY;
+        }
+        return partial;
+    }
+
+    /**
+     * Add a term to a sum with Neumaier's algorithm: the low-order bits lost by the addition are recovered exactly
+     * and kept in the compensation following the sum.
+     */
+    private static void add(double[] sums, int k, double term) {
+        double sum = sums[k];
+        double t = sum + term;
+        if (Math.abs(sum) >= Math.abs(term)) sums[k + 1] += (sum - t) + term;
+        else sums[k + 1] += (term - t) + sum;
+        sums[k] = t;
+    }
+
+    /** Sums of a range of edges. */
+    private static class SumTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Coordinates polygon;
+        private final int from;
+        private final int to;
+
+        SumTask(Coordinates polygon, int from, int to) {
+            this.polygon = polygon;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= PARALLEL_THRESHOLD) return sum(polygon, from, to);
+            int middle = (from + to) >>> 1;
+            SumTask right = new SumTask(polygon, middle, to);
+            right.fork();
+            Partial left = new SumTask(polygon, from, middle).compute();
+            return left.merge(right.join());
+        }
+    }
+
+}
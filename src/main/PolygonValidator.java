@@ -0,0 +1,346 @@
+/**
+ * FILE: PolygonValidator.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Check the assumptions of the decompositions before running them: the polygon must be simple and
+ * counterclockwise, and the sweeps of Monotone and Trapezoidalization also need distinct y coordinates. Malformed
+ * input does not make those algorithms fail cleanly; it sends them into endless loops or out of bounds. A
+ * Bentley-Ottmann sweep finds the pairs of crossing or touching edges in O((n + k) log n) time for k reported pairs,
+ * and stops at a given number of them, so a bad polygon is rejected long before a full decomposition would finish.
+ * NOTE: Edge i runs from vertex i to vertex i + 1. Edges sharing a vertex are reported only if they overlap.
+ */
+
+package main;
+
+import shape.Coordinates;
+import shape.Polygon;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+public class PolygonValidator {
+    /** X coordinate of each vertex. */
+    private final double[] xs;
+    /** Y coordinate of each vertex. */
+    private final double[] ys;
+    private final int n;
+    /** Position of each vertex in sweep order. */
+    private final int[] rank;
+    /** Vertex of each edge the sweep reaches first. */
+    private final int[] lower;
+    /** Vertex of each edge the sweep reaches last. */
+    private final int[] upper;
+    /** Position in sweep order of each edge's lower vertex. */
+    private final int[] start;
+    /** Coordinates of each edge's lower then upper vertex, four per edge so that a comparison reads one block. */
+    private final double[] ends;
+    /** Edges pierced by the sweep line, left to right. */
+    private final TreeSet<Integer> status = new TreeSet<>(this::compare);
+    /** Pairs of edges whose crossing the sweep has passed, so their order in the status is reversed. */
+    private final HashSet<Long> crossed = new HashSet<>();
+    /** Pairs of edges already reported. */
+    private final HashSet<Long> reported = new HashSet<>();
+    /** Upcoming crossings as {y, x, edge, edge}, in sweep order. */
+    private final PriorityQueue<double[]> crossings = new PriorityQueue<>((c1, c2) ->
+            c1[0] != c2[0] ? Double.compare(c1[0], c2[0]) : Double.compare(c1[1], c2[1]));
+    private final Report report;
+    private final int limit;
+    /** Coordinates of the current event. */
+    private double sweepX, sweepY;
+
+    /** Outcome of a validation. */
+    public static class Report {
+        private final ArrayList<int[]> intersections = new ArrayList<>();
+        private final ArrayList<int[]> repeatedY = new ArrayList<>();
+        private double area2;
+
+        /** @return pairs of edges that cross, touch or overlap, each pair in ascending order. */
+        public ArrayList<int[]> getIntersections() {return intersections;}
+
+        /** @return pairs of vertices sharing a y coordinate. */
+        public ArrayList<int[]> getRepeatedY() {return repeatedY;}
+
+        /** @return twice the signed area of the polygon. */
+        public double getArea2() {return area2;}
+
+        public boolean isSimple() {return intersections.isEmpty();}
+
+        public boolean isCounterclockwise() {return area2 > 0;}
+
+        public boolean hasDistinctY() {return repeatedY.isEmpty();}
+
+        /** @return true if the polygon is simple and counterclockwise, as every algorithm assumes. */
+        public boolean isValid() {return isSimple() && isCounterclockwise();}
+
+        /** @return true if the polygon is also fit for the sweeps of Monotone and Trapezoidalization. */
+        public boolean isSweepable() {return isValid() && hasDistinctY();}
+
+        @Override
+        public String toString() {
+            if (isSweepable()) return "valid";
+            StringBuilder message = new StringBuilder();
+            if (!isSimple()) {
+                message.append("intersecting edges");
+                for (int[] pair : intersections) message.append(' ').append(pair[0]).append('/').append(pair[1]);
+            }
+            if (!hasDistinctY()) {
+                if (message.length() > 0) message.append("; ");
+                message.append("repeated y at vertices");
+                for (int[] pair : repeatedY) message.append(' ').append(pair[0]).append('/').append(pair[1]);
+            }
+            if (!isCounterclockwise()) {
+                if (message.length() > 0) message.append("; ");
+                message.append(area2 < 0 ? "clockwise" : "zero area");
+            }
+            return message.toString();
+        }
+    }
+
+    private PolygonValidator(double[] xs, double[] ys, int limit) {
+        n = xs.length;
+        this.xs = xs;
+        this.ys = ys;
+        rank = new int[n];
+        lower = new int[n];
+        upper = new int[n];
+        start = new int[n];
+        ends = new double[4 * n];
+        report = new Report();
+        this.limit = limit;
+    }
+
+    /**
+     * Validate a polygon, reporting every intersecting pair of edges and every repeated y coordinate.
+     * @param polygon the polygon.
+     * @return the report.
+     */
+    public static Report validate(Polygon polygon) {
+        return validate(polygon, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validate a polygon, stopping after a number of problems of each kind. With a limit of one the sweep stops at
+     * the first intersection.
+     * @param polygon the polygon.
+     * @param limit largest number of intersecting pairs, and of repeated y coordinates, reported.
+     * @return the report.
+     */
+    public static Report validate(Polygon polygon, int limit) {
+        int n = polygon.getSize();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = polygon.getPoint(v).getX();
+            ys[v] = polygon.getPoint(v).getY();
+        }
+        return validate(xs, ys, limit);
+    }
+
+    /**
+     * Validate a polygon given by its coordinates alone, such as a MappedPolygon, without building a Polygon.
+     * @param polygon coordinates of the polygon's vertices.
+     * @return the report.
+     */
+    public static Report validate(Coordinates polygon) {
+        return validate(polygon, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validate a polygon given by its coordinates alone, stopping after a number of problems of each kind.
+     * @param polygon coordinates of the polygon's vertices.
+     * @param limit largest number of intersecting pairs, and of repeated y coordinates, reported.
+     * @return the report.
+     */
+    public static Report validate(Coordinates polygon, int limit) {
+        int n = polygon.getSize();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = polygon.getX(v);
+            ys[v] = polygon.getY(v);
+        }
+        return validate(xs, ys, limit);
+    }
+
+    private static Report validate(double[] xs, double[] ys, int limit) {
+        PolygonValidator validator = new PolygonValidator(xs, ys, limit);
+        validator.report.area2 = Triangulation.areaPoly2(Coordinates.of(xs, ys));
+        if (validator.n >= 3) validator.sweep(Trapezoidalization.sortVerticesY(xs, ys));
+        return validator.report;
+    }
+
+    /**
+     * Sweep the polygon bottom to top. At each vertex the edges ending there leave the status and the edges starting
+     * there enter it, and edges that become neighbors are tested against each other; crossings found ahead of the
+     * sweep swap their edges when the sweep reaches them.
+     * @param order the vertices in sweep order.
+     */
+    private void sweep(ArrayList<Integer> order) {
+        for (int i = 0; i < n; i++) {
+            int v = order.get(i);
+            rank[v] = i;
+            if (i == 0 || ys[v] != ys[order.get(i - 1)]) continue;
+            int w = order.get(i - 1);
+            if (report.repeatedY.size() < limit) report.repeatedY.add(new int[] {w, v});
+
+            // the edges at a repeated vertex touch, but the sweep never holds them at the same time
+            if (xs[v] == xs[w]) {
+                for (int e : new int[] {(v + n - 1) % n, v}) {
+                    for (int f : new int[] {(w + n - 1) % n, w}) if (e != f) check(e, f);
+                }
+            }
+        }
+        for (int e = 0; e < n; e++) {
+            int f = (e + 1) % n;
+            lower[e] = rank[e] < rank[f] ? e : f;
+            upper[e] = rank[e] < rank[f] ? f : e;
+            start[e] = rank[lower[e]];
+            ends[4 * e] = xs[lower[e]];
+            ends[4 * e + 1] = ys[lower[e]];
+            ends[4 * e + 2] = xs[upper[e]];
+            ends[4 * e + 3] = ys[upper[e]];
+            if (xs[e] == xs[f] && ys[e] == ys[f]) report(e, f);
+        }
+
+        for (int v : order) {
+            while (!crossings.isEmpty() && before(crossings.peek()[0], crossings.peek()[1], ys[v], xs[v])) {
+                if (!swap(crossings.poll())) return;
+            }
+            if (report.intersections.size() >= limit) return;
+            sweepX = xs[v];
+            sweepY = ys[v];
+
+            int[] incident = {(v + n - 1) % n, v};
+            for (int e : incident) {
+                if (upper[e] != v) continue;
+                Integer left = status.lower(e), right = status.higher(e);
+                if (!status.remove(e)) return;
+                if (left != null && right != null) check(left, right);
+            }
+            for (int e : incident) {
+                if (lower[e] != v) continue;
+                status.add(e);
+                checkNeighbors(e);
+            }
+        }
+    }
+
+    /**
+     * Pass the crossing of two edges: take them out in their order below the crossing and put them back in the
+     * reverse order.
+     * @param crossing the crossing as {y, x, edge, edge}.
+     * @return false if the status no longer holds the edges, which only happens when rounding put the crossing
+     * out of place among several crossings; the sweep cannot go on then, but has already found an intersection.
+     */
+    private boolean swap(double[] crossing) {
+        int a = (int) crossing[2], b = (int) crossing[3];
+        sweepX = crossing[1];
+        sweepY = crossing[0];
+        if (!status.remove(a) || !status.remove(b)) return false;
+        crossed.add(key(a, b));
+        status.add(a);
+        status.add(b);
+        checkNeighbors(a);
+        checkNeighbors(b);
+        return true;
+    }
+
+    private void checkNeighbors(int e) {
+        Integer left = status.lower(e), right = status.higher(e);
+        if (left != null) check(left, e);
+        if (right != null) check(e, right);
+    }
+
+    /**
+     * Test two edges for an intersection, reporting it and scheduling the swap of a proper crossing. Edges sharing
+     * a vertex intersect only if they overlap beyond it.
+     */
+    private void check(int a, int b) {
+        if (reported.contains(key(a, b))) return;
+        int a1 = (a + 1) % n, b1 = (b + 1) % n;
+        if (a1 == b || b1 == a) {
+            int shared = a1 == b ? b : a;
+            int p = shared == b ? a : a1, q = shared == b ? b1 : b;
+            if (Predicates.orientation(xs[p], ys[p], xs[shared], ys[shared], xs[q], ys[q]) == 0
+                    && (xs[p] - xs[shared]) * (xs[q] - xs[shared]) + (ys[p] - ys[shared]) * (ys[q] - ys[shared]) > 0) {
+                report(a, b);
+            }
+            return;
+        }
+
+        int o1 = Predicates.orientation(xs[a], ys[a], xs[a1], ys[a1], xs[b], ys[b]);
+        int o2 = Predicates.orientation(xs[a], ys[a], xs[a1], ys[a1], xs[b1], ys[b1]);
+        int o3 = Predicates.orientation(xs[b], ys[b], xs[b1], ys[b1], xs[a], ys[a]);
+        int o4 = Predicates.orientation(xs[b], ys[b], xs[b1], ys[b1], xs[a1], ys[a1]);
+        if (o1 * o2 < 0 && o3 * o4 < 0) {
+            report(a, b);
+            schedule(a, b);
+        } else if ((o1 == 0 && onSegment(a, a1, b)) || (o2 == 0 && onSegment(a, a1, b1))
+                || (o3 == 0 && onSegment(b, b1, a)) || (o4 == 0 && onSegment(b, b1, a1))) {
+            report(a, b);
+        }
+    }
+
+    /** Queue the swap of two properly crossing edges at their crossing point, no earlier than the current event. */
+    private void schedule(int a, int b) {
+        int a1 = (a + 1) % n, b1 = (b + 1) % n;
+        double dax = xs[a1] - xs[a], day = ys[a1] - ys[a];
+        double dbx = xs[b1] - xs[b], dby = ys[b1] - ys[b];
+        double t = ((xs[b] - xs[a]) * dby - (ys[b] - ys[a]) * dbx) / (dax * dby - day * dbx);
+        double x = xs[a] + t * dax, y = ys[a] + t * day;
+        if (before(y, x, sweepY, sweepX)) {
+            x = sweepX;
+            y = sweepY;
+        }
+        crossings.add(new double[] {y, x, a, b});
+    }
+
+    private void report(int a, int b) {
+        if (reported.add(key(a, b)) && report.intersections.size() < limit) {
+            report.intersections.add(new int[] {Math.min(a, b), Math.max(a, b)});
+        }
+    }
+
+    /**
+     * Order two edges pierced by the sweep line. The edge starting later has its lower vertex on the span of the
+     * other, and the side of the other edge it lies on is their order for as long as they do not cross, so the order
+     * is decided exactly and without reference to the sweep position. Edges whose crossing has been passed are
+     * ordered the other way.
+     */
+    private int compare(int a, int b) {
+        if (a == b) return 0;
+        int later = start[a] > start[b] || (start[a] == start[b] && a > b) ? a : b;
+        int other = later == a ? b : a;
+        int o = 4 * other, l = 4 * later;
+        int side = Predicates.orientation(ends[o], ends[o + 1], ends[o + 2], ends[o + 3], ends[l], ends[l + 1]);
+        if (side == 0) {
+            side = Predicates.orientation(ends[o], ends[o + 1], ends[o + 2], ends[o + 3], ends[l + 2], ends[l + 3]);
+        }
+        if (side == 0) side = Integer.compare(other, later);
+
+        // with the sign convention of area2, points of larger x are left of an edge pointing up the sweep
+        int order = side > 0 ? 1 : -1;
+        if (later != a) order = -order;
+        return !crossed.isEmpty() && crossed.contains(key(a, b)) ? -order : order;
+    }
+
+    /** @return true if collinear point c lies on the closed segment a->b. */
+    private boolean onSegment(int a, int b, int c) {
+        return Math.min(xs[a], xs[b]) <= xs[c] && xs[c] <= Math.max(xs[a], xs[b])
+                && Math.min(ys[a], ys[b]) <= ys[c] && ys[c] <= Math.max(ys[a], ys[b]);
+    }
+
+    /** @return true if (x1, y1) comes before (x2, y2) in sweep order. */
+    private static boolean before(double y1, double x1, double y2, double x2) {
+        return y1 < y2 || (y1 == y2 && x1 < x2);
+    }
+
+    private long key(int a, int b) {
+        return (long) Math.min(a, b) * n + Math.max(a, b);
+    }
+
+}
@@ -0,0 +1,218 @@
+/**
+ * FILE: Predicates.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Exact geometric predicates. Each determinant is first computed in plain floating point; only when the
+ * result is smaller than the worst-case rounding error is it recomputed exactly, as a floating-point expansion: a sum
+ * of nonoverlapping doubles in increasing magnitude (Shewchuk's adaptive predicates).
+ * NOTE: Exact for all finite inputs whose products neither overflow nor underflow.
+ */
+
+package main;
+
+import shape.Point;
+import java.util.Arrays;
+
+public class Predicates {
+    /** Half an ulp of 1, the relative rounding error of one floating-point operation. */
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+    /** Bound on the error of the floating-point orientation determinant, relative to the sum of its products. */
+    static final double ORIENTATION_BOUND = (3 + 16 * EPSILON) * EPSILON;
+    /** Bound on the error of the floating-point in-circle determinant, relative to its permanent. */
+    private static final double IN_CIRCLE_BOUND = (10 + 96 * EPSILON) * EPSILON;
+
+    /**
+     * Finds on which side of the line a->b the point c lies, with the sign convention of Triangulation.area2.
+     * @param a the first point.
+     * @param b the second point.
+     * @param c the point being classified.
+     * @return 1 if the triangle abc has positive area, -1 if negative, and 0 if the points are collinear.
+     */
+    public static int orientation(Point a, Point b, Point c) {
+        return orientation(a.getX(), a.getY(), b.getX(), b.getY(), c.getX(), c.getY());
+    }
+
+    /**
+     * Finds on which side of the line a->b the point c lies, with the sign convention of Triangulation.area2.
+     * @return 1 if the triangle abc has positive area, -1 if negative, and 0 if the points are collinear.
+     */
+    public static int orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        Metrics.count(Metrics.Counter.PREDICATE);
+        double detLeft = (bx - ax) * (cy - ay);
+        double detRight = (cx - ax) * (by - ay);
+        double det = detLeft - detRight;
+
+        // products of opposite signs cannot cancel, so the rounded difference has the right sign
+        double detSum;
+        if (detLeft > 0) {
+            if (detRight <= 0) return -sign(det);
+            detSum = detLeft + detRight;
+        } else if (detLeft < 0) {
+            if (detRight >= 0) return -sign(det);
+            detSum = -detLeft - detRight;
+        } else {
+            return -sign(det);
+        }
+        if (Math.abs(det) >= ORIENTATION_BOUND * detSum) return -sign(det);
+        return -exactOrientation(ax, ay, bx, by, cx, cy);
+    }
+
+    /**
+     * Computes the sign of (bx - ax)(cy - ay) - (cx - ax)(by - ay) exactly. The determinant expands into six products
+     * of coordinates, each of which is an exact two-component expansion.
+     */
+    private static int exactOrientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        double[] left = sum(sum(product(bx, cy), product(-bx, ay)), sum(product(-ax, cy), product(ax, ay)));
+        double[] right = sum(sum(product(cx, by), product(-cx, ay)), sum(product(-ax, by), product(ax, ay)));
+        return sign(sum(left, negate(right)));
+    }
+
+    /**
+     * Finds whether d lies inside the circle through a, b and c.
+     * @param a the first vertex of a triangle with positive orientation.
+     * @param b the second vertex of the triangle.
+     * @param c the third vertex of the triangle.
+     * @param d the point being classified.
+     * @return 1 if d is inside the circle, -1 if outside, and 0 if the four points are cocircular.
+     */
+    public static int inCircle(Point a, Point b, Point c, Point d) {
+        return inCircle(a.getX(), a.getY(), b.getX(), b.getY(), c.getX(), c.getY(), d.getX(), d.getY());
+    }
+
+    /**
+     * Finds whether d lies inside the circle through a, b and c, where orientation(a, b, c) is positive.
+     * @return 1 if d is inside the circle, -1 if outside, and 0 if the four points are cocircular.
+     */
+    public static int inCircle(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy) {
+        Metrics.count(Metrics.Counter.PREDICATE);
+        double adx = ax - dx, ady = ay - dy;
+        double bdx = bx - dx, bdy = by - dy;
+        double cdx = cx - dx, cdy = cy - dy;
+
+        double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+        double cdxady = cdx * ady, adxcdy = adx * cdy;
+        double adxbdy = adx * bdy, bdxady = bdx * ady;
+        double aLift = adx * adx + ady * ady;
+        double bLift = bdx * bdx + bdy * bdy;
+        double cLift = cdx * cdx + cdy * cdy;
+        double det = aLift * (bdxcdy - cdxbdy) + bLift * (cdxady - adxcdy) + cLift * (adxbdy - bdxady);
+
+        // the determinant is positive for d inside a counterclockwise triangle, the opposite of our orientation
+        double permanent = (Math.abs(bdxcdy) + Math.abs(cdxbdy)) * aLift
+                + (Math.abs(cdxady) + Math.abs(adxcdy)) * bLift
+                + (Math.abs(adxbdy) + Math.abs(bdxady)) * cLift;
+        if (Math.abs(det) > IN_CIRCLE_BOUND * permanent) return -sign(det);
+        return -exactInCircle(ax, ay, bx, by, cx, cy, dx, dy);
+    }
+
+    /**
+     * Computes the sign of the in-circle determinant exactly, with every coordinate difference kept as an exact
+     * two-component expansion.
+     */
+    private static int exactInCircle(double ax, double ay, double bx, double by, double cx, double cy,
+                                     double dx, double dy) {
+        double[] adx = difference(ax, dx), ady = difference(ay, dy);
+        double[] bdx = difference(bx, dx), bdy = difference(by, dy);
+        double[] cdx = difference(cx, dx), cdy = difference(cy, dy);
+
+        double[] bc = sum(multiply(bdx, cdy), negate(multiply(cdx, bdy)));
+        double[] ca = sum(multiply(cdx, ady), negate(multiply(adx, cdy)));
+        double[] ab = sum(multiply(adx, bdy), negate(multiply(bdx, ady)));
+        double[] aLift = sum(multiply(adx, adx), multiply(ady, ady));
+        double[] bLift = sum(multiply(bdx, bdx), multiply(bdy, bdy));
+        double[] cLift = sum(multiply(cdx, cdx), multiply(cdy, cdy));
+        return sign(sum(sum(multiply(aLift, bc), multiply(bLift, ca)), multiply(cLift, ab)));
+    }
+
+    /** Expansion of a - b. */
+    private static double[] difference(double a, double b) {
+        double x = a - b;
+        double bVirtual = a - x;
+        double aVirtual = x + bVirtual;
+        return compress(new double[] {(a - aVirtual) + (bVirtual - b), x});
+    }
+
+    /** Expansion of a * b. */
+    private static double[] product(double a, double b) {
+        double p = a * b;
+        return compress(new double[] {Math.fma(a, b, -p), p});
+    }
+
+    /**
+     * Sum two expansions: merge their components by magnitude, then sweep the running sum upward, keeping each
+     * nonzero roundoff as a component (Shewchuk's fast expansion sum with zero elimination).
+     */
+    private static double[] sum(double[] e, double[] f) {
+        double[] g = new double[e.length + f.length];
+        for (int i = 0, j = 0, k = 0; k < g.length; k++) {
+            g[k] = j == f.length || (i < e.length && Math.abs(e[i]) < Math.abs(f[j])) ? e[i++] : f[j++];
+        }
+        if (g.length < 2) return g;
+        double[] h = new double[g.length];
+        int length = 0;
+        double q = g[1] + g[0];
+        double roundoff = g[0] - (q - g[1]);
+        if (roundoff != 0) h[length++] = roundoff;
+        for (int k = 2; k < g.length; k++) {
+            double sum = q + g[k];
+            double bVirtual = sum - q;
+            double aVirtual = sum - bVirtual;
+            roundoff = (q - aVirtual) + (g[k] - bVirtual);
+            if (roundoff != 0) h[length++] = roundoff;
+            q = sum;
+        }
+        if (q != 0 || length == 0) h[length++] = q;
+        return Arrays.copyOf(h, length);
+    }
+
+    /** Product of two expansions, summing one scaled copy of e per component of f. */
+    private static double[] multiply(double[] e, double[] f) {
+        double[] result = new double[0];
+        for (double b : f) result = sum(result, scale(e, b));
+        return result;
+    }
+
+    /** Product of an expansion and a double (Shewchuk's scale expansion with zero elimination). */
+    private static double[] scale(double[] e, double b) {
+        double[] h = new double[2 * e.length];
+        int length = 0;
+        double q = e[0] * b;
+        double roundoff = Math.fma(e[0], b, -q);
+        if (roundoff != 0) h[length++] = roundoff;
+        for (int i = 1; i < e.length; i++) {
+            double product = e[i] * b;
+            double productRoundoff = Math.fma(e[i], b, -product);
+            double sum = q + productRoundoff;
+            double bVirtual = sum - q;
+            double aVirtual = sum - bVirtual;
+            roundoff = (q - aVirtual) + (productRoundoff - bVirtual);
+            if (roundoff != 0) h[length++] = roundoff;
+            q = product + sum;
+            roundoff = sum - (q - product);
+            if (roundoff != 0) h[length++] = roundoff;
+        }
+        if (q != 0 || length == 0) h[length++] = q;
+        return Arrays.copyOf(h, length);
+    }
+
+    private static double[] negate(double[] e) {
+        double[] negated = new double[e.length];
+        for (int i = 0; i < e.length; i++) negated[i] = -e[i];
+        return negated;
+    }
+
+    /** Drop the zero components of a two-component expansion. */
+    private static double[] compress(double[] e) {
+        if (e[0] == 0) return new double[] {e[1]};
+        return e;
+    }
+
+    /** Sign of an expansion, which is the sign of its largest component. */
+    private static int sign(double[] e) {return sign(e[e.length - 1]);}
+
+    private static int sign(double value) {return value > 0 ? 1 : value < 0 ? -1 : 0;}
+
+}
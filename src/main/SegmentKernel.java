@@ -0,0 +1,85 @@
+/**
+ * FILE: SegmentKernel.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Batch segment intersection test. One candidate segment a->b is tested against a block of edges held
+ * in primitive coordinate arrays, with the same answer as calling Triangulation.intersect on each edge. When the
+ * jdk.incubator.vector module is present the orientation determinants are evaluated several edges at a time and
+ * only the edges the floating-point filter cannot rule out are rechecked with the exact predicates.
+ * NOTE: Run with --add-modules jdk.incubator.vector to enable the vectorized kernel.
+ */
+
+package main;
+
+public class SegmentKernel {
+    /** Whether the vectorized kernel can be used. */
+    public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !Boolean.getBoolean("geometry.scalar");
+
+    /**
+     * Find the first edge c[i]->d[i] that the segment a->b intersects, skipping edges sharing an endpoint with a->b.
+     * @param cx x coordinates of the edges' origins.
+     * @param cy y coordinates of the edges' origins.
+     * @param dx x coordinates of the edges' termini.
+     * @param dy y coordinates of the edges' termini.
+     * @param count number of edges in the block.
+     * @return index of the first intersected edge, or -1 if there is none.
+     */
+    public static int firstIntersection(double ax, double ay, double bx, double by,
+                                        double[] cx, double[] cy, double[] dx, double[] dy, int count) {
+        // a zero-length candidate is left to the exact test, see VectorSegmentKernel
+        if (VECTORIZED && (ax != bx || ay != by)) {
+            return VectorSegmentKernel.firstIntersection(ax, ay, bx, by, cx, cy, dx, dy, count);
+        }
+        return firstIntersection(ax, ay, bx, by, cx, cy, dx, dy, 0, count);
+    }
+
+    /**
+     * Scalar version of firstIntersection over part of the block.
+     * @param from index of the first edge tested.
+     * @param to index after the last edge tested.
+     * @return index of the first intersected edge, or -1 if there is none.
+     */
+    static int firstIntersection(double ax, double ay, double bx, double by,
+                                 double[] cx, double[] cy, double[] dx, double[] dy, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (intersect(ax, ay, bx, by, cx[i], cy[i], dx[i], dy[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Same test as Triangulation.intersect on primitive coordinates, except that the segments are not considered to
+     * intersect when they share an endpoint.
+     * @return true if a->b and c->d intersect; otherwise, false.
+     */
+    static boolean intersect(double ax, double ay, double bx, double by,
+                             double cx, double cy, double dx, double dy) {
+        if ((cx == ax && cy == ay) || (dx == ax && dy == ay) || (cx == bx && cy == by) || (dx == bx && dy == by)) {
+            return false;
+        }
+        int abc = Predicates.orientation(ax, ay, bx, by, cx, cy);
+        int abd = Predicates.orientation(ax, ay, bx, by, dx, dy);
+        int cda = Predicates.orientation(cx, cy, dx, dy, ax, ay);
+        int cdb = Predicates.orientation(cx, cy, dx, dy, bx, by);
+
+        // proper intersection
+        if (abc * abd < 0 && cda * cdb < 0) return true;
+
+        // an endpoint lies on the other segment
+        return (abc == 0 && between(ax, ay, bx, by, cx, cy)) || (abd == 0 && between(ax, ay, bx, by, dx, dy))
+                || (cda == 0 && between(cx, cy, dx, dy, ax, ay)) || (cdb == 0 && between(cx, cy, dx, dy, bx, by));
+    }
+
+    /**
+     * Check that a point known to be collinear with a->b lies between a and b, as in Triangulation.between.
+     */
+    private static boolean between(double ax, double ay, double bx, double by, double cx, double cy) {
+        if (ax != bx) return (ax <= cx && cx <= bx) || (ax >= cx && cx >= bx);
+        return (ay <= cy && cy <= by) || (ay >= cy && cy >= by);
+    }
+
+}
@@ -0,0 +1,135 @@
+/**
+ * FILE: SweepStatus.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Balanced sweep-line status. Holds the polygon edges pierced by a horizontal sweep line ordered by the
+ * x coordinate where they cross it, with logarithmic insert, remove, replace and neighbor lookup.
+ * NOTE: Edges must not cross and must not be horizontal.
+ */
+
+package main;
+
+import shape.Point;
+import shape.Segment;
+import java.util.TreeSet;
+import static main.Trapezoidalization.findIntersectionX;
+
+public class SweepStatus {
+    /** Height of the sweep line. */
+    private double sweepY;
+    /** Degenerate segment standing in for a query point during a lookup. */
+    private Segment probe;
+    /** Pierced edges ordered left to right along the sweep line. */
+    private final TreeSet<Segment> edges = new TreeSet<>(this::compare);
+
+    public double getSweepY() {return sweepY;}
+
+    /**
+     * Move the sweep line. Edges must not cross between the old and the new height.
+     * @param y new height of the sweep line.
+     */
+    public void setSweepY(double y) {sweepY = y;}
+
+    public int size() {return edges.size();}
+
+    public boolean contains(Segment segment) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        return edges.contains(segment);
+    }
+
+    public void insert(Segment segment) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        edges.add(segment);
+    }
+
+    public boolean remove(Segment segment) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        return edges.remove(segment);
+    }
+
+    /**
+     * Swap an edge for the one continuing it. The new edge takes the old edge's place in the ordering.
+     * @param segment the edge ending at the sweep line.
+     * @param replacement the edge starting where segment ends.
+     */
+    public void replace(Segment segment, Segment replacement) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        edges.remove(segment);
+        edges.add(replacement);
+    }
+
+    /**
+     * @param segment an edge in the status.
+     * @return the edge immediately left of segment, or null if there is none.
+     */
+    public Segment left(Segment segment) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        return edges.lower(segment);
+    }
+
+    /**
+     * @param segment an edge in the status.
+     * @return the edge immediately right of segment, or null if there is none.
+     */
+    public Segment right(Segment segment) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        return edges.higher(segment);
+    }
+
+    /**
+     * Find the closest edge strictly left of a point on the sweep line.
+     * @param p a point at the height of the sweep line.
+     * @return the edge immediately left of p, or null if there is none.
+     */
+    public Segment leftOf(Point p) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        probe = new Segment(p, p);
+        return edges.lower(probe);
+    }
+
+    /**
+     * Find the closest edge right of or through a point on the sweep line.
+     * @param p a point at the height of the sweep line.
+     * @return the edge immediately right of p, or null if there is none.
+     */
+    public Segment rightOf(Point p) {
+        Metrics.count(Metrics.Counter.SWEEP_STATUS);
+        probe = new Segment(p, p);
+        return edges.ceiling(probe);
+    }
+
+    /**
+     * Order two edges by where they cross the sweep line. Edges meeting on the sweep line are ordered by where they
+     * cross just above it if both continue upward, otherwise just below it. The probe sorts before any edge through
+     * the same point.
+     * @param s1 the first edge.
+     * @param s2 the second edge.
+     * @return negative if s1 is left of s2, positive if it is right of s2, and zero if they are the same edge.
+     */
+    private int compare(Segment s1, Segment s2) {
+        if (s1 == s2 || s1.equals(s2)) return 0;
+        int c = Double.compare(x(s1, sweepY), x(s2, sweepY));
+        if (c != 0) return c;
+        if (s1 == probe) return -1;
+        if (s2 == probe) return 1;
+
+        // break the tie on the side of the sweep line both edges extend to
+        double top = Math.min(maxY(s1), maxY(s2));
+        double y = top > sweepY ? top : Math.max(minY(s1), minY(s2));
+        c = Double.compare(findIntersectionX(s1, y), findIntersectionX(s2, y));
+        if (c != 0) return c;
+        return Integer.compare(System.identityHashCode(s1), System.identityHashCode(s2));
+    }
+
+    private double x(Segment segment, double y) {
+        return segment == probe ? segment.getP1().getX() : findIntersectionX(segment, y);
+    }
+
+    private static double maxY(Segment segment) {return Math.max(segment.getP1().getY(), segment.getP2().getY());}
+
+    private static double minY(Segment segment) {return Math.min(segment.getP1().getY(), segment.getP2().getY());}
+
+}
@@ -0,0 +1,400 @@
+/**
+ * FILE: TrapezoidMap.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Seidel's randomized incremental trapezoidal decomposition of a polygon. The polygon edges are inserted
+ * in random order, splitting the trapezoids they cross, and the history of splits is kept as a search DAG that
+ * answers point location queries.
+ * NOTE: No two vertices of the polygon can have the same y coordinate.
+ */
+
+package main;
+
+import shape.Point;
+import shape.Polygon;
+import shape.Segment;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import static main.Trapezoidalization.findIntersectionX;
+
+public class TrapezoidMap {
+
+    /**
+     * Region bounded below and above by the horizontals through two vertices and on the sides by two polygon edges.
+     * Edge i runs from vertex i to vertex i + 1. Missing bounds are -1 and leave the trapezoid unbounded on that side.
+     */
+    public static class Trapezoid {
+        /** Edge bounding the trapezoid on the left. */
+        private final int left;
+        /** Edge bounding the trapezoid on the right. */
+        private final int right;
+        /** Vertex whose horizontal bounds the trapezoid from below. */
+        private final int bottom;
+        /** Vertex whose horizontal bounds the trapezoid from above. */
+        private final int top;
+        /** Leaf of the search DAG standing for this trapezoid. */
+        private final Node node = new Node();
+
+        private Trapezoid(int left, int right, int bottom, int top) {
+            this.left = left;
+            this.right = right;
+            this.bottom = bottom;
+            this.top = top;
+            this.node.trapezoid = this;
+        }
+
+        public int getLeft() {return left;}
+
+        public int getRight() {return right;}
+
+        public int getBottom() {return bottom;}
+
+        public int getTop() {return top;}
+
+        @Override
+        public String toString() {
+            return "[edges " + left + ", " + right + " | vertices " + bottom + ", " + top + "]";
+        }
+    }
+
+    /** Node of the search DAG. Leaves hold a trapezoid, vertex nodes split by height and edge nodes by side. */
+    private static class Node {
+        /** Trapezoid of a leaf, or null for an inner node. */
+        private Trapezoid trapezoid;
+        /** Vertex of a vertex node, or -1. */
+        private int vertex = -1;
+        /** Edge of an edge node, or -1. */
+        private int edge = -1;
+        /** Child below the vertex or left of the edge. */
+        private Node first;
+        /** Child above the vertex or right of the edge. */
+        private Node second;
+    }
+
+    /** The polygon being decomposed. */
+    private final Polygon polygon;
+    /** X coordinate of each vertex. */
+    private final double[] xs;
+    /** Y coordinate of each vertex. */
+    private final double[] ys;
+    /** Lower endpoint of each edge. */
+    private final int[] lower;
+    /** Upper endpoint of each edge. */
+    private final int[] upper;
+    /** Root of the search DAG. */
+    private final Node root;
+    /** Node splitting at each vertex once the vertex is in the map, where searches around the vertex can start. */
+    private final Node[] located;
+    /** Every trapezoid created. Those replaced by a later insertion no longer own a leaf. */
+    private final ArrayList<Trapezoid> trapezoids = new ArrayList<>();
+
+    /**
+     * Decompose the polygon, inserting its edges in an order drawn from the given seed.
+     * @param polygon the shape being trapezoidalized.
+     * @param seed seed for the random insertion order.
+     */
+    public TrapezoidMap(Polygon polygon, long seed) {
+        this.polygon = polygon;
+        int n = polygon.getSize();
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.lower = new int[n];
+        this.upper = new int[n];
+        this.located = new Node[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = polygon.getPoint(v).getX();
+            ys[v] = polygon.getPoint(v).getY();
+        }
+        ArrayList<Integer> order = new ArrayList<>(n);
+        for (int e = 0; e < n; e++) {
+            boolean up = above((e + 1) % n, e);
+            lower[e] = up ? e : (e + 1) % n;
+            upper[e] = up ? (e + 1) % n : e;
+            order.add(e);
+        }
+
+        Trapezoid whole = new Trapezoid(-1, -1, -1, -1);
+        trapezoids.add(whole);
+        root = whole.node;
+
+        Collections.shuffle(order, new Random(seed));
+        for (int e : order) insert(e);
+    }
+
+    public TrapezoidMap(Polygon polygon) {
+        this(polygon, 0);
+    }
+
+    public Polygon getPolygon() {return polygon;}
+
+    /**
+     * @param e index of an edge.
+     * @return the edge as a segment following the polygon's traversal.
+     */
+    public Segment getEdge(int e) {return new Segment(polygon.getPoint(e), polygon.getPoint(e + 1));}
+
+    /** @return every trapezoid of the decomposition, including the unbounded ones outside the polygon. */
+    public ArrayList<Trapezoid> getTrapezoids() {
+        ArrayList<Trapezoid> current = new ArrayList<>();
+        for (Trapezoid t : trapezoids) if (t.node.trapezoid == t) current.add(t);
+        return current;
+    }
+
+    /** @return the trapezoids lying inside the polygon. */
+    public ArrayList<Trapezoid> getInteriorTrapezoids() {
+        ArrayList<Trapezoid> interior = new ArrayList<>();
+        for (Trapezoid t : getTrapezoids()) if (inside(t)) interior.add(t);
+        return interior;
+    }
+
+    /**
+     * Determines whether a trapezoid lies inside the polygon. Edges followed upward by the counterclockwise traversal
+     * have the interior on their right, so these are exactly the left sides of interior trapezoids.
+     * @param trapezoid a trapezoid of this decomposition.
+     * @return true if the trapezoid is inside the polygon; otherwise, false.
+     */
+    public boolean inside(Trapezoid trapezoid) {
+        return trapezoid.left != -1 && trapezoid.right != -1 && lower[trapezoid.left] == trapezoid.left;
+    }
+
+    /**
+     * Find the trapezoid containing a point by walking down the search DAG. Points on a boundary go to either side.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @return the trapezoid containing (x, y).
+     */
+    public Trapezoid locate(double x, double y) {
+        Node node = root;
+        while (node.trapezoid == null) {
+            if (node.vertex != -1) {
+                double qy = ys[node.vertex];
+                node = y > qy || (y == qy && x > xs[node.vertex]) ? node.second : node.first;
+            } else {
+                node = leftOf(node.edge, x, y) ? node.first : node.second;
+            }
+        }
+        return node.trapezoid;
+    }
+
+    /**
+     * Corners of a trapezoid inside the polygon, counterclockwise from the lower left.
+     * @param trapezoid an interior trapezoid.
+     * @return the four corners. Corners coincide where the trapezoid narrows to a triangle.
+     */
+    public Point[] getCorners(Trapezoid trapezoid) {
+        double y0 = polygon.getPoint(trapezoid.bottom).getY();
+        double y1 = polygon.getPoint(trapezoid.top).getY();
+        return new Point[] {
+                new Point(findIntersectionX(getEdge(trapezoid.left), y0), y0),
+                new Point(findIntersectionX(getEdge(trapezoid.right), y0), y0),
+                new Point(findIntersectionX(getEdge(trapezoid.right), y1), y1),
+                new Point(findIntersectionX(getEdge(trapezoid.left), y1), y1)
+        };
+    }
+
+    /**
+     * Find, for every vertex, the edges hit by the horizontals shot left and right from it. Each trapezoid touching a
+     * vertex's horizontal gives the edges of its sides that do not pass through the vertex.
+     * @return pairs {left, right} of edge indices per vertex, -1 where a horizontal leaves the polygon's extent.
+     */
+    public int[][] getHorizontalEdges() {
+        int n = polygon.getSize();
+        int[][] edges = new int[n][];
+        for (int v = 0; v < n; v++) edges[v] = new int[] {-1, -1};
+        for (Trapezoid t : getTrapezoids()) {
+            for (int v : new int[] {t.bottom, t.top}) {
+                if (v == -1) continue;
+                if (t.left != -1 && !incident(t.left, v)) edges[v][0] = t.left;
+                if (t.right != -1 && !incident(t.right, v)) edges[v][1] = t.right;
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Insert an edge, replacing the trapezoids it crosses. The crossed trapezoids are found by locating the lower
+     * endpoint and then the edge just above the top of each crossed trapezoid.
+     * @param e index of the edge.
+     */
+    private void insert(int e) {
+        int a = lower[e];
+        int b = upper[e];
+
+        // trapezoids crossed by the edge, bottom to top
+        ArrayList<Trapezoid> crossed = new ArrayList<>();
+        Trapezoid t = locateStart(e);
+        crossed.add(t);
+        while (t.top != -1 && above(b, t.top)) {
+            t = locateAcross(e, t.top);
+            crossed.add(t);
+        }
+
+        Trapezoid first = crossed.get(0);
+        Trapezoid last = crossed.get(crossed.size() - 1);
+        Trapezoid below = first.bottom != a ? new Trapezoid(first.left, first.right, first.bottom, a) : null;
+        Trapezoid overhead = last.top != b ? new Trapezoid(last.left, last.right, b, last.top) : null;
+
+        // split each crossed trapezoid along the edge. Pieces on one side merge until a crossed trapezoid's top
+        // vertex lies on that side, since that vertex's horizontal now stops at the edge.
+        Trapezoid[] lefts = new Trapezoid[crossed.size()];
+        Trapezoid[] rights = new Trapezoid[crossed.size()];
+        int leftStart = 0, rightStart = 0;
+        int leftBottom = a, rightBottom = a;
+        for (int j = 0; j < crossed.size(); j++) {
+            boolean end = j == crossed.size() - 1;
+            int top = end ? b : crossed.get(j).top;
+            boolean topLeft = !end && leftOf(e, xs[top], ys[top]);
+            if (end || topLeft) {
+                Trapezoid piece = new Trapezoid(crossed.get(j).left, e, leftBottom, top);
+                for (int i = leftStart; i <= j; i++) lefts[i] = piece;
+                leftStart = j + 1;
+                leftBottom = top;
+            }
+            if (end || !topLeft) {
+                Trapezoid piece = new Trapezoid(e, crossed.get(j).right, rightBottom, top);
+                for (int i = rightStart; i <= j; i++) rights[i] = piece;
+                rightStart = j + 1;
+                rightBottom = top;
+            }
+        }
+
+        // turn the leaves of the crossed trapezoids into the inner nodes locating the new pieces
+        for (int j = 0; j < crossed.size(); j++) {
+            Trapezoid old = crossed.get(j);
+            Node split = edgeNode(e, lefts[j].node, rights[j].node);
+            Node start = null;
+            boolean end = j == crossed.size() - 1 && overhead != null;
+            if (j == 0 && below != null) split = start = vertexNode(a, below.node, split);
+            if (end) split = vertexNode(b, split, overhead.node);
+            Node leaf = old.node;
+            leaf.trapezoid = null;
+            leaf.vertex = split.vertex;
+            leaf.edge = split.edge;
+            leaf.first = split.first;
+            leaf.second = split.second;
+
+            // a new endpoint was inside the replaced trapezoid, so everything near it is found below this leaf
+            if (start != null) located[a] = end ? start : leaf;
+            if (end) located[b] = leaf;
+        }
+        if (below != null) trapezoids.add(below);
+        if (overhead != null) trapezoids.add(overhead);
+        for (int j = 0; j < crossed.size(); j++) {
+            if (j == 0 || lefts[j] != lefts[j - 1]) trapezoids.add(lefts[j]);
+            if (j == 0 || rights[j] != rights[j - 1]) trapezoids.add(rights[j]);
+        }
+    }
+
+    /**
+     * Locate the trapezoid containing the start of an edge, just above its lower endpoint. The search starts at the
+     * endpoint's own split node when the endpoint is already in the map.
+     * @param e index of the edge.
+     * @return the first trapezoid crossed by the edge.
+     */
+    private Trapezoid locateStart(int e) {
+        int a = lower[e];
+        int b = upper[e];
+        Node node = located[a] != null ? located[a] : root;
+        while (node.trapezoid == null) {
+            if (node.vertex != -1) {
+                node = node.vertex == a || above(a, node.vertex) ? node.second : node.first;
+            } else if (incident(node.edge, a)) {
+                // the edges share the endpoint, so compare on the side the new edge heads to
+                node = leftOf(node.edge, xs[b], ys[b]) ? node.first : node.second;
+            } else {
+                node = leftOf(node.edge, xs[a], ys[a]) ? node.first : node.second;
+            }
+        }
+        return node.trapezoid;
+    }
+
+    /**
+     * Locate the trapezoid an edge enters when it crosses the horizontal through a vertex.
+     * @param e index of the edge.
+     * @param v vertex whose horizontal the edge crosses.
+     * @return the trapezoid containing the edge just above the horizontal.
+     */
+    private Trapezoid locateAcross(int e, int v) {
+        Node node = root;
+        while (node.trapezoid == null) {
+            if (node.vertex != -1) {
+                // the edge is past the horizontal through v, so it is past every horizontal v is not below
+                node = node.vertex == v || above(v, node.vertex) ? node.second : node.first;
+            } else {
+                node = leftOf(e, node.edge) ? node.first : node.second;
+            }
+        }
+        return node.trapezoid;
+    }
+
+    /**
+     * Determines whether edge e lies left of edge f over the heights both span. The edges do not cross, so one
+     * endpoint of one edge inside the other's height range decides.
+     * @param e the first edge.
+     * @param f the second edge.
+     * @return true if e is left of f; otherwise, false.
+     */
+    private boolean leftOf(int e, int f) {
+        if (spans(f, lower[e])) return leftOf(f, xs[lower[e]], ys[lower[e]]);
+        if (spans(f, upper[e])) return leftOf(f, xs[upper[e]], ys[upper[e]]);
+        if (spans(e, lower[f])) return !leftOf(e, xs[lower[f]], ys[lower[f]]);
+        return !leftOf(e, xs[upper[f]], ys[upper[f]]);
+    }
+
+    /**
+     * Determines whether a vertex not on an edge lies within the edge's height range.
+     * @param e index of the edge.
+     * @param v index of the vertex.
+     * @return true if v is strictly between the endpoints of e in sweep order; otherwise, false.
+     */
+    private boolean spans(int e, int v) {
+        return above(v, lower[e]) && above(upper[e], v);
+    }
+
+    /**
+     * Determines whether a point lies left of the line through an edge.
+     * @param e index of the edge.
+     * @param x x coordinate of the point.
+     * @param y y coordinate of the point.
+     * @return true if the point is strictly left of the edge followed upward; otherwise, false.
+     */
+    private boolean leftOf(int e, double x, double y) {
+        int a = lower[e];
+        int b = upper[e];
+        return Predicates.orientation(xs[a], ys[a], xs[b], ys[b], x, y) < 0;
+    }
+
+    /**
+     * Determines whether vertex u lies above vertex v (by y coordinate, then by x coordinate).
+     * @param u the first vertex.
+     * @param v the second vertex.
+     * @return true if u is above v; otherwise, false.
+     */
+    private boolean above(int u, int v) {
+        return ys[u] > ys[v] || (ys[u] == ys[v] && xs[u] > xs[v]);
+    }
+
+    private boolean incident(int e, int v) {return lower[e] == v || upper[e] == v;}
+
+
+    private static Node vertexNode(int v, Node below, Node above) {
+        Node node = new Node();
+        node.vertex = v;
+        node.first = below;
+        node.second = above;
+        return node;
+    }
+
+    private static Node edgeNode(int e, Node left, Node right) {
+        Node node = new Node();
+        node.edge = e;
+        node.first = left;
+        node.second = right;
+        return node;
+    }
+
+}
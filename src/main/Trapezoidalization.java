@@ -11,53 +11,15 @@
 
 package main;
 
-import drawing.Drawing;
-import javafx.application.Application;
-import javafx.scene.Group;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
+import shape.HalfEdgeMesh;
 import shape.Point;
 import shape.Polygon;
 import shape.Segment;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import static main.Triangulation.*;
-import static tools.PolygonTools.readPolygon;
 
-public class Trapezoidalization extends Application {
-
-    public static void main(String[] args) {
-        Application.launch(args);
-    }
-
-    @Override
-    public void start(Stage stage) {
-        // read polygon data from file
-        Polygon polygon = readPolygon("src/data/poly6.txt");
-        if (polygon == null) {
-            System.out.println("Could not read polygon file.");
-            return;
-        }
-
-        Group group = new Group();
-
-        // draw polygon
-        Drawing.drawPolygon(group, polygon);
-
-        // calculate the polygon's area
-        System.out.println("The polygon's area is " + (areaPoly2(polygon) / 2));
-
-        // draw trapezoidalization
-        drawTrapezoidalization(group, polygon);
-
-        // window setup
-        Scene scene = new Scene(group);
-        stage.setScene(scene);
-        stage.setWidth(1200);
-        stage.setHeight(700);
-        stage.setTitle("Trapezoidalization");
-        stage.show();
-    }
+public class Trapezoidalization {
 
     /**
      * Sort vertices by y coordinate ascending.
@@ -65,18 +27,44 @@ public class Trapezoidalization extends Application {
      * @return a list of integers where each entry is the index of its associated vertex of the polygon.
      */
     public static ArrayList<Integer> sortVerticesY(Polygon polygon) {
-        // copy polygon points list
-        ArrayList<Point> vertices = new ArrayList<>(polygon.getPoints());
+        // copy coordinates so the comparator does not go through the point list
+        int n = polygon.getSize();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = polygon.getPoints().get(i).getX();
+            ys[i] = polygon.getPoints().get(i).getY();
+        }
+        return sortVerticesY(xs, ys);
+    }
+
+    /**
+     * Sort vertices by y coordinate ascending, breaking ties by x coordinate.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     * @return a list of integers where each entry is the index of its associated vertex.
+     */
+    static ArrayList<Integer> sortVerticesY(double[] xs, double[] ys) {
+        Integer[] vertices = new Integer[xs.length];
+        for (int i = 0; i < vertices.length; i++) vertices[i] = i;
 
         // sort by y coordinate
         // use x coordinate to break ties
-        vertices.sort((o1, o2) -> {
-            if (o1.getY() - o2.getY() != 0) return (int) (o1.getY() - o2.getY());
-            else return (int) (o1.getX() - o2.getX());
+        Arrays.sort(vertices, (v1, v2) -> {
+            if (ys[v1] != ys[v2]) return Double.compare(ys[v1], ys[v2]);
+            else return Double.compare(xs[v1], xs[v2]);
         });
+        return new ArrayList<>(Arrays.asList(vertices));
+    }
 
-        // return mapped list with associated index of each vertex
-        return new ArrayList<>(vertices.stream().map(polygon::getVertexNumber).toList());
+    /**
+     * Determines whether a lies above b in sweep order (by y coordinate, then by x coordinate).
+     * @param a the first point.
+     * @param b the second point.
+     * @return true if a is processed after b by the sweep; otherwise, false.
+     */
+    public static boolean above(Point a, Point b) {
+        return a.getY() > b.getY() || (a.getY() == b.getY() && a.getX() > b.getX());
     }
 
     /**
@@ -89,28 +77,15 @@ public class Trapezoidalization extends Application {
         Point p1 = segment.getP1();
         Point p2 = segment.getP2();
 
-        // if line is vertical return x coord
-        if (p1.getX() == p2.getX()) return p1.getX();
+        // if the horizontal runs through an endpoint or the line is vertical return that x coord exactly
+        if (y == p1.getY() || p1.getX() == p2.getX()) return p1.getX();
+        if (y == p2.getY()) return p2.getX();
 
         // otherwise, calculate slope and intersection point
         double m = (p2.getY() - p1.getY()) / (p2.getX() - p1.getX());
         return (y - p1.getY() + m * p1.getX()) / m;
     }
 
-    /**
-     * Determine where the current vertex lies in the list of pierced edges.
-     * @param pierced list of edges pierced by the horizontal running through p.
-     * @param p current vertex being examined.
-     * @return number of edges preceding p in the pierced edges list.
-     */
-    public static int findVertex(ArrayList<Segment> pierced, Point p) {
-        List<Double> piercedX = pierced.stream().map(s -> findIntersectionX(s, p.getY())).toList();
-        for (int i = 0; i < piercedX.size(); i++) {
-            if (p.getX() <= piercedX.get(i)) return i;
-        }
-        return piercedX.size();
-    }
-
     /**
      * Determines if a vertex is reflex (has an internal angle greater than 180 degrees).
      * @param v the central vertex.
@@ -125,26 +100,25 @@ public class Trapezoidalization extends Application {
     /**
      * Creates a horizontal with one end as the given point and the other being the intersection of the horizontal
      * with the polygon.
-     * @param pierced the list of pierced edges.
+     * @param edge the pierced edge the horizontal ends on.
      * @param p the vertex of interest.
-     * @param index the position of the vertex in the pierced list.
      * @return a horizontal segment.
      */
-    public static Segment horizontal(ArrayList<Segment> pierced, Point p, int index) {
-        return new Segment(p, new Point(findIntersectionX(pierced.get(index), p.getY()), p.getY()));
+    public static Segment horizontal(Segment edge, Point p) {
+        return new Segment(p, new Point(findIntersectionX(edge, p.getY()), p.getY()));
     }
 
     /**
      * Creates a horizontal with an interior vertex. Both ends lie on the polygon's boundary but not on a vertex.
-     * @param pierced the list of pierced edges.
+     * @param left the pierced edge immediately left of the vertex.
+     * @param right the pierced edge immediately right of the vertex.
      * @param p the vertex of interest.
-     * @param index the position of the vertex in the pierced list.
      * @return a horizontal segment.
      */
-    public static Segment horizontalInt(ArrayList<Segment> pierced, Point p, int index) {
+    public static Segment horizontalInt(Segment left, Segment right, Point p) {
         return new Segment(
-                new Point(findIntersectionX(pierced.get(index - 1), p.getY()), p.getY()),
-                new Point(findIntersectionX(pierced.get(index), p.getY()), p.getY())
+                new Point(findIntersectionX(left, p.getY()), p.getY()),
+                new Point(findIntersectionX(right, p.getY()), p.getY())
         );
     }
 
@@ -155,11 +129,15 @@ public class Trapezoidalization extends Application {
      */
     public static ArrayList<Segment> trapezoidalization(Polygon polygon) {
         ArrayList<Segment> segments = new ArrayList<>();
-        ArrayList<Segment> pierced = new ArrayList<>();
+        SweepStatus pierced = new SweepStatus();
         Point p, p0, p1;
         Segment s0, s1;
-        int index, v0, v1;
-        for (int v : sortVerticesY(polygon)) {
+        boolean v0, v1;
+        PhaseEvent phase = Metrics.begin("trapezoidalization", "sort", polygon.getSize());
+        ArrayList<Integer> vertices = sortVerticesY(polygon);
+        Metrics.end(phase);
+        phase = Metrics.begin("trapezoidalization", "sweep", polygon.getSize());
+        for (int v : vertices) {
             // current vertex
             p = polygon.getPoint(v);
 
@@ -171,48 +149,131 @@ public class Trapezoidalization extends Application {
             s0 = new Segment(p0, p);
             s1 = new Segment(p, p1);
 
-            // position of p in the pierced edge list
-            index = findVertex(pierced, p);
+            // move the sweep line up to p
+            pierced.setSweepY(p.getY());
 
-            // indices of incident edges
-            v0 = pierced.indexOf(s0);
-            v1 = pierced.indexOf(s1);
+            // whether the incident edges are already pierced
+            v0 = pierced.contains(s0);
+            v1 = pierced.contains(s1);
 
             // check type of vertex (points down, points right, points left, and points up)
-            if (v0 == -1 && v1 == -1) {
+            if (!v0 && !v1) {
                 if (reflex(p, p1, p0)) {
-                    segments.add(horizontalInt(pierced, p, index));
+                    segments.add(horizontalInt(pierced.leftOf(p), pierced.rightOf(p), p));
                 }
-                pierced.add(index, p0.getX() < p1.getX() ? s1 : s0);
-                pierced.add(index, p0.getX() < p1.getX() ? s0 : s1);
-            } else if (v0 == -1) {
-                segments.add(horizontal(pierced, p, index - 1));
-                pierced.set(v1, s0);
-            } else if (v1 == -1) {
-                segments.add(horizontal(pierced, p, index + 1));
-                pierced.set(v0, s1);
+                pierced.insert(s0);
+                pierced.insert(s1);
+            } else if (!v0) {
+                segments.add(horizontal(pierced.left(s1), p));
+                pierced.replace(s1, s0);
+            } else if (!v1) {
+                segments.add(horizontal(pierced.right(s0), p));
+                pierced.replace(s0, s1);
             } else {
                 pierced.remove(s0);
                 pierced.remove(s1);
                 if (reflex(p, p1, p0)) {
-                    segments.add(horizontalInt(pierced, p, index));
+                    segments.add(horizontalInt(pierced.leftOf(p), pierced.rightOf(p), p));
                 }
             }
         }
+        Metrics.end(phase);
 
         return segments;
     }
 
     /**
-     * Calculate and draw a trapezoidalization for the polygon.
-     * @param group the JavaFX Group that the trapezoidalization will be added to.
+     * Calculate a trapezoidalization for the given polygon with Seidel's randomized incremental algorithm. Gives the
+     * same segments as the sweep, in the same order.
      * @param polygon the shape being trapezoidilated.
+     * @return a list of segments comprising the trapezoidalization.
+     */
+    public static ArrayList<Segment> trapezoidalizationSeidel(Polygon polygon) {
+        return horizontals(new TrapezoidMap(polygon));
+    }
+
+    /**
+     * Trapezoidalize a polygon and return the trapezoids as a half-edge mesh. The far ends of the horizontals become
+     * vertices n and up, inserted into the edges they lie on, and each horizontal becomes one chord per side of the
+     * vertex it runs through.
+     * @param polygon the shape being trapezoidalized.
+     * @return a mesh with one face per trapezoid or triangle.
+     */
+    public static HalfEdgeMesh trapezoidMesh(Polygon polygon) {
+        TrapezoidMap map = new TrapezoidMap(polygon);
+        int[][] edges = map.getHorizontalEdges();
+        int n = polygon.getSize();
+
+        // a vertex shoots at most one horizontal to each side
+        double[] xs = new double[3 * n];
+        double[] ys = new double[3 * n];
+        int[] edgeOf = new int[3 * n];
+        ArrayList<int[]> chords = new ArrayList<>();
+        int count = n;
+        for (int v = 0; v < n; v++) {
+            Point p = polygon.getPoint(v);
+            xs[v] = p.getX();
+            ys[v] = p.getY();
+            boolean above0 = above(polygon.getPoint(v - 1), p);
+            boolean above1 = above(polygon.getPoint(v + 1), p);
+            boolean reflex = above0 == above1 && reflex(p, polygon.getPoint(v + 1), polygon.getPoint(v - 1));
+            for (int side = 0; side < 2; side++) {
+                // same sides as horizontals: both for a reflex turning vertex, else the one facing the interior
+                if (above0 == above1 ? !reflex : above0 != (side == 0)) continue;
+                int e = edges[v][side];
+                xs[count] = findIntersectionX(map.getEdge(e), p.getY());
+                ys[count] = p.getY();
+                edgeOf[count] = e;
+                chords.add(new int[] {v, count});
+                count++;
+            }
+        }
+
+        // walk the boundary, placing the new vertices of each edge in order along it
+        Integer[] ends = new Integer[count - n];
+        for (int i = 0; i < ends.length; i++) ends[i] = n + i;
+        Arrays.sort(ends, (a, b) -> {
+            if (edgeOf[a] != edgeOf[b]) return Integer.compare(edgeOf[a], edgeOf[b]);
+            boolean up = polygon.getPoint(edgeOf[a] + 1).getY() > polygon.getPoint(edgeOf[a]).getY();
+            return up ? Double.compare(ys[a], ys[b]) : Double.compare(ys[b], ys[a]);
+        });
+        int[] boundary = new int[count];
+        int k = 0, j = 0;
+        for (int v = 0; v < n; v++) {
+            boundary[k++] = v;
+            while (j < ends.length && edgeOf[ends[j]] == v) boundary[k++] = ends[j++];
+        }
+        return new HalfEdgeMesh(Arrays.copyOf(xs, count), Arrays.copyOf(ys, count), boundary, chords);
+    }
+
+    /**
+     * Read the horizontal segments of a trapezoidalization off a trapezoid map.
+     * @param map trapezoid map of the polygon.
+     * @return a list of segments comprising the trapezoidalization, ordered by vertex like the sweep.
      */
-    public static void drawTrapezoidalization(Group group, Polygon polygon) {
-        ArrayList<Segment> segments = trapezoidalization(polygon);
-        for (Segment segment : segments) {
-            Drawing.drawLine(group, segment.getP1(), segment.getP2());
+    public static ArrayList<Segment> horizontals(TrapezoidMap map) {
+        Polygon polygon = map.getPolygon();
+        int[][] edges = map.getHorizontalEdges();
+        ArrayList<Segment> segments = new ArrayList<>();
+        for (int v : sortVerticesY(polygon)) {
+            Point p = polygon.getPoint(v);
+            Point p0 = polygon.getPoint(v - 1);
+            Point p1 = polygon.getPoint(v + 1);
+            Segment left = edges[v][0] == -1 ? null : map.getEdge(edges[v][0]);
+            Segment right = edges[v][1] == -1 ? null : map.getEdge(edges[v][1]);
+            boolean above0 = above(p0, p);
+            boolean above1 = above(p1, p);
+
+            // same vertex types as the sweep: both neighbors above or below, or one of each
+            if (above0 == above1) {
+                if (reflex(p, p1, p0)) segments.add(horizontalInt(left, right, p));
+            } else if (above0) {
+                segments.add(horizontal(left, p));
+            } else {
+                segments.add(horizontal(right, p));
+            }
         }
+        return segments;
     }
 
 }
@@ -10,51 +10,17 @@
 
 package main;
 
-import drawing.Drawing;
-import javafx.application.Application;
-import javafx.scene.Group;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
+import shape.ArrayPolygon;
+import shape.Coordinates;
 import shape.Diagonal;
+import shape.HalfEdgeMesh;
 import shape.Point;
 import shape.Polygon;
+import tools.VertexGrid;
 import java.util.ArrayList;
-import static tools.PolygonTools.readPolygon;
+import java.util.BitSet;
 
-public class Triangulation extends Application {
-
-    public static void main(String[] args) {
-        Application.launch(args);
-    }
-
-    @Override
-    public void start(Stage stage) {
-        // read polygon data from file
-        Polygon polygon = readPolygon("src/data/poly7.txt");
-        if (polygon == null) {
-            System.out.println("Could not read polygon file.");
-            return;
-        }
-
-        Group group = new Group();
-
-        // draw polygon
-        Drawing.drawPolygon(group, polygon);
-
-        // calculate and draw triangulation
-        drawTriangulation(group, polygon);
-
-        // calculate the polygon's area
-        System.out.println("The polygon's area is " + (areaPoly2(polygon) / 2));
-
-        // window setup
-        Scene scene = new Scene(group);
-        stage.setScene(scene);
-        stage.setWidth(1200);
-        stage.setHeight(700);
-        stage.setTitle("Triangulation");
-        stage.show();
-    }
+public class Triangulation {
 
     /**
      * Calculates twice the area of a triangle.
@@ -89,17 +55,34 @@ public class Triangulation extends Application {
         return sum;
     }
 
+    /**
+     * Calculates twice the area of a polygon from its coordinates alone, with the same triangles as the Polygon
+     * version, so a mapped polygon is measured without copying it.
+     * @param polygon coordinates of the polygon's vertices.
+     * @return Twice the area of the polygon.
+     */
+    public static double areaPoly2(Coordinates polygon) {
+        double sum = 0;
+        double x0 = polygon.getX(0), y0 = polygon.getY(0);
+        for (int ind = 1; ind + 1 < polygon.getSize(); ind++) {
+            double bx = polygon.getX(ind) - x0, by = polygon.getY(ind) - y0;
+            double cx = polygon.getX(ind + 1) - x0, cy = polygon.getY(ind + 1) - y0;
+            sum -= bx * cy - cx * by;
+        }
+        return sum;
+    }
+
     /**
      * Determines whether a point is to the left of a line segment a->b.
      * If c is to the left of a->b, then the triangle abc will have a counterclockwise ordering and thus have a
-     * positive area.
+     * positive area. The sign is computed exactly, so the answer stays consistent for nearly collinear points.
      * @param a the origin point of the line segment.
      * @param b the terminal point of the line segment.
      * @param c the point that is being measured.
      * @return true if c is left of the segment a->b; otherwise, false.
      */
     public static boolean left(Point a, Point b, Point c) {
-        return area2(a, b, c) > 0;
+        return Predicates.orientation(a, b, c) > 0;
     }
 
     /**
@@ -112,7 +95,7 @@ public class Triangulation extends Application {
      * @return true if c is left of or on the segment a->b; otherwise, false.
      */
     public static boolean leftOn(Point a, Point b, Point c) {
-        return area2(a, b, c) >= 0;
+        return Predicates.orientation(a, b, c) >= 0;
     }
 
     /**
@@ -124,7 +107,7 @@ public class Triangulation extends Application {
      * @return true if the points are collinear; otherwise false.
      */
     public static boolean collinear(Point a, Point b, Point c) {
-        return area2(a, b, c) == 0;
+        return Predicates.orientation(a, b, c) == 0;
     }
 
     /**
@@ -188,17 +171,16 @@ public class Triangulation extends Application {
      * @return true if there is no intersection; otherwise, false.
      */
     public static boolean diagonalie(Polygon polygon, int v1, int v2) {
-        int ind = 0;
         Point a = polygon.getPoint(v1);
         Point b = polygon.getPoint(v2);
-        Point c = polygon.getPoint(ind);
-        do {
-            Point c1 = polygon.getPoint(ind + 1);
-            if (!c.equals(a) && !c1.equals(a) && !c.equals(b) && !c1.equals(b) && intersect(a, b, c, c1)) return false;
-            ind++;
-            c = polygon.getPoint(ind);
-        } while(ind < polygon.getSize());
-        return true;
+        EdgeBlock block = EdgeBlock.local();
+        Point c = polygon.getPoint(0);
+        for (int ind = 1; ind <= polygon.getSize(); ind++) {
+            Point c1 = polygon.getPoint(ind);
+            if (block.add(c, c1) && block.intersected(a, b)) return false;
+            c = c1;
+        }
+        return !block.flush(a, b);
     }
 
     /**
@@ -234,6 +216,7 @@ public class Triangulation extends Application {
      * @return true if v1->v2 is a diagonal; otherwise, false.
      */
     public static boolean diagonal(Polygon polygon, int v1, int v2) {
+        Metrics.count(Metrics.Counter.DIAGONAL);
         return inCone(polygon, v1, v2) && inCone(polygon, v2, v1) && diagonalie(polygon, v1, v2);
     }
 
@@ -261,9 +244,12 @@ public class Triangulation extends Application {
         int v0, v1, v2, v3, v4;
 
         // initialize polygon ear status
+        PhaseEvent phase = Metrics.begin("triangulate", "ear init", polygon.getSize());
         earInit(polygon);
+        Metrics.end(phase);
 
         // loop until the polygon is a triangle
+        phase = Metrics.begin("triangulate", "clipping", polygon.getSize());
         while (polygon.getSize() > 3) {
 
             // select the first vertex of the polygon
@@ -282,6 +268,7 @@ public class Triangulation extends Application {
                     // update the ear status of the adjacent vertices
                     polygon.setEarStatus(diagonal(polygon, v0, v3), v1);
                     polygon.setEarStatus(diagonal(polygon, v1, v4), v3);
+                    Metrics.count(Metrics.Counter.EAR_UPDATE, 2);
 
                     // remove ear vertex from polygon
                     polygon.removeVertex(v2);
@@ -292,20 +279,348 @@ public class Triangulation extends Application {
                 v2++;
             } while (v2 < polygon.getSize());
         }
+        Metrics.end(phase);
+        return diagonals;
+    }
+
+    /**
+     * Determine whether the segment between the given vertices intersects any edge of the remaining polygon.
+     * Same test as the Polygon version, walking the circular vertex list instead of shifting indices.
+     * @param polygon the shape being triangulated.
+     * @param v1 index of the first vertex of the diagonal.
+     * @param v2 index of the second vertex of the diagonal.
+     * @return true if there is no intersection; otherwise, false.
+     */
+    public static boolean diagonalie(ArrayPolygon polygon, int v1, int v2) {
+        double ax = polygon.getX(v1), ay = polygon.getY(v1);
+        double bx = polygon.getX(v2), by = polygon.getY(v2);
+        EdgeBlock block = EdgeBlock.local();
+        int ind = polygon.getHead();
+        for (int i = 0; i < polygon.getSize(); i++) {
+            int ind1 = polygon.getNext(ind);
+            if (block.add(polygon.getX(ind), polygon.getY(ind), polygon.getX(ind1), polygon.getY(ind1))
+                    && block.intersected(ax, ay, bx, by)) {
+                return false;
+            }
+            ind = ind1;
+        }
+        return !block.flush(ax, ay, bx, by);
+    }
+
+    /**
+     * Determines whether the segment between the given vertices lies in the cone formed counterclockwise
+     * from the two vertices adjacent to v1.
+     * @param polygon the shape being triangulated.
+     * @param v1 index of the first vertex of the diagonal.
+     * @param v2 index of the second vertex of the diagonal.
+     * @return true if v1->v2 lies in the cone; otherwise, false.
+     */
+    public static boolean inCone(ArrayPolygon polygon, int v1, int v2) {
+        int v0 = polygon.getPrev(v1), v3 = polygon.getNext(v1);
+        double ax = polygon.getX(v1), ay = polygon.getY(v1);
+        double bx = polygon.getX(v2), by = polygon.getY(v2);
+        double a0x = polygon.getX(v0), a0y = polygon.getY(v0);
+        double a1x = polygon.getX(v3), a1y = polygon.getY(v3);
+
+        // checks if v1 is a convex vertex
+        if (Predicates.orientation(ax, ay, a1x, a1y, a0x, a0y) >= 0) {
+            return Predicates.orientation(ax, ay, bx, by, a0x, a0y) > 0
+                    && Predicates.orientation(bx, by, ax, ay, a1x, a1y) > 0;
+        }
+
+        // else v1 is reflexive
+        return !(Predicates.orientation(ax, ay, bx, by, a1x, a1y) >= 0
+                && Predicates.orientation(bx, by, ax, ay, a0x, a0y) >= 0);
+    }
+
+    /**
+     * Determines whether v1->v2 is a diagonal of the remaining polygon.
+     * @param polygon the shape that is being evaluated.
+     * @param v1 index of the first vertex of the diagonal.
+     * @param v2 index of the second vertex of the diagonal.
+     * @return true if v1->v2 is a diagonal; otherwise, false.
+     */
+    public static boolean diagonal(ArrayPolygon polygon, int v1, int v2) {
+        Metrics.count(Metrics.Counter.DIAGONAL);
+        return inCone(polygon, v1, v2) && inCone(polygon, v2, v1) && diagonalie(polygon, v1, v2);
+    }
+
+    /**
+     * Sets the ear status of each remaining vertex of the polygon.
+     * @param polygon the shape being evaluated.
+     */
+    public static void earInit(ArrayPolygon polygon) {
+        int v = polygon.getHead();
+        for (int i = 0; i < polygon.getSize(); i++) {
+            polygon.setEarStatus(diagonal(polygon, polygon.getPrev(v), polygon.getNext(v)), v);
+            v = polygon.getNext(v);
+        }
+    }
+
+    /**
+     * Calculate a triangulation of the given polygon by clipping ears, like the Polygon version. Removing a vertex
+     * only relinks its neighbors, and the search for the next ear resumes after the clipped vertex instead of
+     * restarting from the first vertex.
+     * @param polygon the shape being triangulated. Its vertices are removed as ears are clipped.
+     * @return a list of diagonals that comprise the triangulation.
+     * @throws IllegalArgumentException if clipping runs out of ears, which happens only for a polygon that is not
+     * simple.
+     */
+    public static ArrayList<Diagonal> triangulate(ArrayPolygon polygon) {
+        // removed vertices keep their coordinates, so the diagonals can be mapped after clipping
+        ArrayList<int[]> pairs = triangulateIndices(polygon);
+        ArrayList<Diagonal> diagonals = new ArrayList<>(pairs.size());
+        for (int[] d : pairs) diagonals.add(new Diagonal(polygon.getPoint(d[0]), polygon.getPoint(d[1])));
+        return diagonals;
+    }
+
+    /**
+     * Calculate a triangulation by clipping ears like triangulate, on a polygon given by its coordinates alone, such
+     * as a MappedPolygon. No Polygon is built.
+     * @param polygon coordinates of the polygon's vertices. They are not modified.
+     * @return a list of diagonals that comprise the triangulation.
+     * @throws IllegalArgumentException if clipping runs out of ears, which happens only for a polygon that is not
+     * simple.
+     */
+    public static ArrayList<Diagonal> triangulate(Coordinates polygon) {
+        return triangulate(polygon.toArrayPolygon());
+    }
+
+    /**
+     * Calculate a triangulation by clipping ears like triangulate, giving the diagonals by vertex index. Unlike
+     * diagonals between points, these stay unambiguous when two vertices have the same coordinates.
+     * @param polygon the shape being triangulated. Its vertices are removed as ears are clipped.
+     * @return the diagonals, each given as the pair of indices of its vertices.
+     * @throws IllegalArgumentException if clipping runs out of ears, which happens only for a polygon that is not
+     * simple.
+     */
+    public static ArrayList<int[]> triangulateIndices(ArrayPolygon polygon) {
+        ArrayList<int[]> diagonals = new ArrayList<>();
+        int v0, v1, v2, v3, v4;
+
+        // initialize polygon ear status
+        PhaseEvent phase = Metrics.begin("triangulate", "ear init", polygon.getSize());
+        earInit(polygon);
+        Metrics.end(phase);
+
+        // loop until the polygon is a triangle; a full lap without an ear means the polygon is not simple
+        phase = Metrics.begin("triangulate", "clipping", polygon.getSize());
+        v2 = polygon.getHead();
+        int miss = 0;
+        while (polygon.getSize() > 3 && miss < polygon.getSize()) {
+            if (!polygon.getEarStatus(v2)) {
+                v2 = polygon.getNext(v2);
+                miss++;
+                continue;
+            }
+            v1 = polygon.getPrev(v2);
+            v0 = polygon.getPrev(v1);
+            v3 = polygon.getNext(v2);
+            v4 = polygon.getNext(v3);
+
+            // add the diagonal between the ear vertex's preceding and succeeding vertices
+            diagonals.add(new int[] {v1, v3});
+
+            // remove ear vertex, then update the ear status of the adjacent vertices
+            polygon.removeVertex(v2);
+            polygon.setEarStatus(diagonal(polygon, v0, v3), v1);
+            polygon.setEarStatus(diagonal(polygon, v1, v4), v3);
+            Metrics.count(Metrics.Counter.EAR_UPDATE, 2);
+
+            v2 = v3;
+            miss = 0;
+        }
+        Metrics.end(phase);
+        if (polygon.getSize() > 3) {
+            throw new IllegalArgumentException("no ear left among " + polygon.getSize() + " vertices");
+        }
         return diagonals;
     }
 
     /**
-     * Calculate and draw triangulation for the polygon.
-     * @param group JavaFX Group that the triangulation will be added to.
+     * Triangulate a polygon by ear clipping and return the triangles as a half-edge mesh.
+     * @param polygon the shape being triangulated. It is not modified.
+     * @return a mesh with one face per triangle.
+     */
+    public static HalfEdgeMesh triangulateMesh(Polygon polygon) {
+        return new HalfEdgeMesh(polygon, triangulateIndices(new ArrayPolygon(polygon)));
+    }
+
+    /**
+     * Determines whether a vertex of the remaining polygon is strictly convex.
      * @param polygon the shape being triangulated.
+     * @param v index of the vertex.
+     * @return true if the polygon turns left at v; otherwise, false.
      */
-    public static void drawTriangulation(Group group, Polygon polygon) {
-        Polygon copyPolygon = new Polygon(polygon);
-        ArrayList<Diagonal> diagonals = triangulate(copyPolygon);
-        for (Diagonal diagonal : diagonals) {
-            Drawing.drawDiagonal(group, diagonal);
+    public static boolean convex(ArrayPolygon polygon, int v) {
+        int v0 = polygon.getPrev(v), v2 = polygon.getNext(v);
+        return Predicates.orientation(polygon.getX(v0), polygon.getY(v0), polygon.getX(v), polygon.getY(v),
+                polygon.getX(v2), polygon.getY(v2)) > 0;
+    }
+
+    /**
+     * Determines whether a vertex is an ear using only the reflex vertices. A convex vertex v1 is an ear exactly when
+     * no reflex vertex lies in the triangle formed with its neighbors, since any edge crossing v0->v2 would have to
+     * bring a reflex vertex into the triangle. Only the grid cells under the triangle's bounding box are visited.
+     * @param polygon the shape being triangulated.
+     * @param reflex grid holding the reflex vertices of the remaining polygon.
+     * @param v1 index of the vertex.
+     * @return true if v1 is an ear; otherwise, false.
+     */
+    public static boolean ear(ArrayPolygon polygon, VertexGrid reflex, int v1) {
+        if (reflex.contains(v1) || !convex(polygon, v1)) return false;
+        int v0 = polygon.getPrev(v1);
+        int v2 = polygon.getNext(v1);
+        double ax = polygon.getX(v0), ay = polygon.getY(v0);
+        double bx = polygon.getX(v1), by = polygon.getY(v1);
+        double cx = polygon.getX(v2), cy = polygon.getY(v2);
+
+        int col0 = reflex.column(Math.min(ax, Math.min(bx, cx)));
+        int col1 = reflex.column(Math.max(ax, Math.max(bx, cx)));
+        int row0 = reflex.row(Math.min(ay, Math.min(by, cy)));
+        int row1 = reflex.row(Math.max(ay, Math.max(by, cy)));
+        for (int row = row0; row <= row1; row++) {
+            for (int col = col0; col <= col1; col++) {
+                for (int v = reflex.getFirst(col, row); v != -1; v = reflex.getNext(v)) {
+                    if (v == v0 || v == v2) continue;
+                    double px = polygon.getX(v), py = polygon.getY(v);
+                    // a copy of a corner, as left by hole bridging, does not block the ear
+                    if ((px == ax && py == ay) || (px == bx && py == by) || (px == cx && py == cy)) continue;
+                    if (Predicates.orientation(ax, ay, bx, by, px, py) >= 0
+                            && Predicates.orientation(bx, by, cx, cy, px, py) >= 0
+                            && Predicates.orientation(cx, cy, ax, ay, px, py) >= 0) {
+                        return false;
+                    }
+                }
+            }
         }
+        return true;
+    }
+
+    /**
+     * Calculate a triangulation of the given polygon by clipping ears, testing each candidate ear against the nearby
+     * reflex vertices instead of every polygon edge. Reflex vertices are kept in a uniform grid and leave it as soon
+     * as clipping makes them convex.
+     * @param polygon the shape being triangulated. Its vertices are removed as ears are clipped.
+     * @return a list of diagonals that comprise the triangulation.
+     * @throws IllegalArgumentException if clipping runs out of ears, which happens only for a polygon that is not
+     * simple.
+     */
+    public static ArrayList<Diagonal> triangulateReflex(ArrayPolygon polygon) {
+        ArrayList<Diagonal> diagonals = new ArrayList<>();
+        int v1, v2, v3;
+
+        // index the reflex vertices
+        PhaseEvent phase = Metrics.begin("triangulateReflex", "ear init", polygon.getSize());
+        BitSet reflexVertices = new BitSet(polygon.getCapacity());
+        v2 = polygon.getHead();
+        for (int i = 0; i < polygon.getSize(); i++) {
+            if (!convex(polygon, v2)) reflexVertices.set(v2);
+            v2 = polygon.getNext(v2);
+        }
+        VertexGrid reflex = new VertexGrid(polygon, reflexVertices);
+
+        // initialize polygon ear status
+        for (int i = 0; i < polygon.getSize(); i++) {
+            polygon.setEarStatus(ear(polygon, reflex, v2), v2);
+            v2 = polygon.getNext(v2);
+        }
+        Metrics.end(phase);
+
+        // loop until the polygon is a triangle; a full lap without an ear means the polygon is not simple
+        phase = Metrics.begin("triangulateReflex", "clipping", polygon.getSize());
+        int miss = 0;
+        while (polygon.getSize() > 3 && miss < polygon.getSize()) {
+            if (!polygon.getEarStatus(v2)) {
+                v2 = polygon.getNext(v2);
+                miss++;
+                continue;
+            }
+            v1 = polygon.getPrev(v2);
+            v3 = polygon.getNext(v2);
+
+            // add the diagonal between the ear vertex's preceding and succeeding vertices
+            diagonals.add(new Diagonal(polygon.getPoint(v1), polygon.getPoint(v3)));
+
+            // remove ear vertex, then update the reflex and ear status of the adjacent vertices
+            polygon.removeVertex(v2);
+            if (reflex.contains(v1) && convex(polygon, v1)) reflex.remove(v1);
+            if (reflex.contains(v3) && convex(polygon, v3)) reflex.remove(v3);
+            polygon.setEarStatus(ear(polygon, reflex, v1), v1);
+            polygon.setEarStatus(ear(polygon, reflex, v3), v3);
+            Metrics.count(Metrics.Counter.EAR_UPDATE, 2);
+
+            v2 = v3;
+            miss = 0;
+        }
+        Metrics.end(phase);
+        if (polygon.getSize() > 3) {
+            throw new IllegalArgumentException("no ear left among " + polygon.getSize() + " vertices");
+        }
+        return diagonals;
+    }
+
+    /**
+     * Calculate a triangulation by clipping ears like triangulateReflex, on a polygon given by its coordinates alone,
+     * such as a MappedPolygon. No Polygon is built.
+     * @param polygon coordinates of the polygon's vertices. They are not modified.
+     * @return a list of diagonals that comprise the triangulation.
+     * @throws IllegalArgumentException if clipping runs out of ears, which happens only for a polygon that is not
+     * simple.
+     */
+    public static ArrayList<Diagonal> triangulateReflex(Coordinates polygon) {
+        return triangulateReflex(polygon.toArrayPolygon());
+    }
+
+    /**
+     * Edges collected in primitive arrays so that SegmentKernel can test a candidate diagonal against many at once.
+     */
+    static class EdgeBlock {
+        /** Largest number of edges tested at once. */
+        private static final int CAPACITY = 256;
+        /** Block of each thread, shared by the diagonal tests of every triangulation the thread runs. */
+        private static final ThreadLocal<EdgeBlock> LOCAL = ThreadLocal.withInitial(EdgeBlock::new);
+
+        private final double[] cx = new double[CAPACITY];
+        private final double[] cy = new double[CAPACITY];
+        private final double[] dx = new double[CAPACITY];
+        private final double[] dy = new double[CAPACITY];
+        private int count;
+
+        /**
+         * @return the calling thread's block. It is empty: every test ends with intersected or flush, which empty it.
+         */
+        static EdgeBlock local() {return LOCAL.get();}
+
+        boolean add(Point c, Point d) {return add(c.getX(), c.getY(), d.getX(), d.getY());}
+
+        /**
+         * Add the edge c->d.
+         * @return true if the block is now full and must be tested.
+         */
+        boolean add(double x1, double y1, double x2, double y2) {
+            cx[count] = x1;
+            cy[count] = y1;
+            dx[count] = x2;
+            dy[count] = y2;
+            return ++count == cx.length;
+        }
+
+        /**
+         * Test a->b against the collected edges and empty the block.
+         * @return true if a->b intersects an edge not incident to a or b; otherwise, false.
+         */
+        boolean intersected(Point a, Point b) {return intersected(a.getX(), a.getY(), b.getX(), b.getY());}
+
+        boolean intersected(double ax, double ay, double bx, double by) {
+            int found = SegmentKernel.firstIntersection(ax, ay, bx, by, cx, cy, dx, dy, count);
+            count = 0;
+            return found >= 0;
+        }
+
+        boolean flush(Point a, Point b) {return count > 0 && intersected(a, b);}
+
+        boolean flush(double ax, double ay, double bx, double by) {return count > 0 && intersected(ax, ay, bx, by);}
     }
 
 }
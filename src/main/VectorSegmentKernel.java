@@ -0,0 +1,86 @@
+/**
+ * FILE: VectorSegmentKernel.java
+ * LOC: main
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Vectorized body of SegmentKernel. Each lane evaluates the four orientation determinants of one edge
+ * together with their error bounds. An edge is rejected when both of its endpoints are certainly on the same side of
+ * the candidate segment, or both endpoints of the candidate are certainly on the same side of the edge; every other
+ * edge, including every zero-length edge, is decided by the scalar exact test, so the answers match it exactly.
+ * NOTE: Only loaded when the jdk.incubator.vector module is present.
+ */
+
+package main;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+class VectorSegmentKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Find the first edge c[i]->d[i] that the segment a->b intersects, skipping edges sharing an endpoint with a->b.
+     * @return index of the first intersected edge, or -1 if there is none.
+     */
+    static int firstIntersection(double ax, double ay, double bx, double by,
+                                 double[] cx, double[] cy, double[] dx, double[] dy, int count) {
+        double abx = bx - ax;
+        double aby = by - ay;
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector vcx = DoubleVector.fromArray(SPECIES, cx, i);
+            DoubleVector vcy = DoubleVector.fromArray(SPECIES, cy, i);
+            DoubleVector vdx = DoubleVector.fromArray(SPECIES, dx, i);
+            DoubleVector vdy = DoubleVector.fromArray(SPECIES, dy, i);
+
+            // sides of c and d relative to a->b
+            DoubleVector cLeft = vcy.sub(ay).mul(abx);
+            DoubleVector cRight = vcx.sub(ax).mul(aby);
+            DoubleVector dLeft = vdy.sub(ay).mul(abx);
+            DoubleVector dRight = vdx.sub(ax).mul(aby);
+            VectorMask<Double> disjoint = sameSide(cLeft, cRight, dLeft, dRight);
+
+            // sides of a and b relative to c->d
+            DoubleVector cdx = vdx.sub(vcx);
+            DoubleVector cdy = vdy.sub(vcy);
+            DoubleVector aLeft = cdx.mul(vcy.neg().add(ay));
+            DoubleVector aRight = vcx.neg().add(ax).mul(cdy);
+            DoubleVector bLeft = cdx.mul(vcy.neg().add(by));
+            DoubleVector bRight = vcx.neg().add(bx).mul(cdy);
+            disjoint = disjoint.or(sameSide(aLeft, aRight, bLeft, bRight));
+
+            // the exact test treats a zero-length edge specially, so leave it undecided
+            disjoint = disjoint.andNot(vcx.eq(vdx).and(vcy.eq(vdy)));
+
+            // recheck the undecided edges in order
+            long undecided = disjoint.not().toLong();
+            while (undecided != 0) {
+                int j = i + Long.numberOfTrailingZeros(undecided);
+                if (SegmentKernel.intersect(ax, ay, bx, by, cx[j], cy[j], dx[j], dy[j])) return j;
+                undecided &= undecided - 1;
+            }
+        }
+        return SegmentKernel.firstIntersection(ax, ay, bx, by, cx, cy, dx, dy, bound, count);
+    }
+
+    /**
+     * Find the lanes where the two determinants left - right are certainly nonzero and of the same sign.
+     */
+    private static VectorMask<Double> sameSide(DoubleVector pLeft, DoubleVector pRight,
+                                               DoubleVector qLeft, DoubleVector qRight) {
+        DoubleVector p = pLeft.sub(pRight);
+        DoubleVector q = qLeft.sub(qRight);
+        DoubleVector pError = pLeft.abs().add(pRight.abs()).mul(Predicates.ORIENTATION_BOUND);
+        DoubleVector qError = qLeft.abs().add(qRight.abs()).mul(Predicates.ORIENTATION_BOUND);
+        VectorMask<Double> positive = p.compare(VectorOperators.GT, pError)
+                .and(q.compare(VectorOperators.GT, qError));
+        VectorMask<Double> negative = p.compare(VectorOperators.LT, pError.neg())
+                .and(q.compare(VectorOperators.LT, qError.neg()));
+        return positive.or(negative);
+    }
+
+}
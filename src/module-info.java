@@ -1,5 +1,9 @@
 module Computational.Geometry {
-    requires transitive javafx.controls;
+    requires static transitive javafx.controls;
+    requires static jdk.incubator.vector;
+    requires jdk.jfr;
+    exports drawing;
     exports main;
     exports shape;
-}
\ No newline at end of file
+    exports tools;
+}
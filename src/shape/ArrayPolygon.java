@@ -0,0 +1,136 @@
+/**
+ * FILE: ArrayPolygon.java
+ * LOC: src.shape
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Primitive-backed polygon. Coordinates are kept in double arrays, ear status in a bitset, and the
+ * remaining vertices in a circular doubly linked list of indices so that a vertex can be removed in constant time.
+ */
+
+package shape;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class ArrayPolygon {
+    /** X coordinate of each vertex. Vertices follow a counterclockwise traversal of the polygon. */
+    private final double[] xs;
+    /** Y coordinate of each vertex. */
+    private final double[] ys;
+    /** Ear status for each vertex of the polygon. Initialized to all false. */
+    private final BitSet ears;
+    /** Index of the vertex following each vertex among the remaining vertices. */
+    private final int[] next;
+    /** Index of the vertex preceding each vertex among the remaining vertices. */
+    private final int[] prev;
+    /** Vertex used to enter the circular list. Always a remaining vertex. */
+    private int head;
+    /** Number of remaining vertices. */
+    private int size;
+
+    /**
+     * Build a polygon directly on top of the given coordinate arrays. The arrays are not copied.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     */
+    public ArrayPolygon(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+        this.size = xs.length;
+        this.ears = new BitSet(size);
+        this.next = new int[size];
+        this.prev = new int[size];
+        for (int i = 0; i < size; i++) {
+            next[i] = i + 1 < size ? i + 1 : 0;
+            prev[i] = i > 0 ? i - 1 : size - 1;
+        }
+        this.head = 0;
+    }
+
+    public ArrayPolygon(List<Point> points) {
+        this(xCoordinates(points), yCoordinates(points));
+    }
+
+    public ArrayPolygon(Polygon polygon) {
+        this(polygon.getPoints());
+    }
+
+    public ArrayPolygon(ArrayPolygon otherPolygon) {
+        this.xs = otherPolygon.xs;
+        this.ys = otherPolygon.ys;
+        this.ears = (BitSet) otherPolygon.ears.clone();
+        this.next = otherPolygon.next.clone();
+        this.prev = otherPolygon.prev.clone();
+        this.head = otherPolygon.head;
+        this.size = otherPolygon.size;
+    }
+
+    public double getX(int v) {return xs[v];}
+
+    public double getY(int v) {return ys[v];}
+
+    public Point getPoint(int v) {return new Point(xs[v], ys[v]);}
+
+    /**
+     * View the coordinate arrays, which hold every vertex in its original order, removed or not.
+     * @return the view, sharing the arrays.
+     */
+    public Coordinates getCoordinates() {return Coordinates.of(xs, ys);}
+
+    public boolean getEarStatus(int v) {return ears.get(v);}
+
+    public void setEarStatus(boolean ear, int v) {ears.set(v, ear);}
+
+    public int getNext(int v) {return next[v];}
+
+    public int getPrev(int v) {return prev[v];}
+
+    public int getHead() {return head;}
+
+    public int getSize() {return size;}
+
+    /** @return number of vertices the polygon was built with, including removed ones. */
+    public int getCapacity() {return xs.length;}
+
+    /**
+     * Unlink a vertex from the polygon. Its coordinates stay addressable by index.
+     * @param v index of the vertex to remove.
+     */
+    public void removeVertex(int v) {
+        next[prev[v]] = next[v];
+        prev[next[v]] = prev[v];
+        if (head == v) head = next[v];
+        ears.clear(v);
+        size--;
+    }
+
+    /**
+     * Collect the remaining vertices, starting at the head, into a Polygon.
+     * @return a new Polygon with the remaining vertices in order.
+     */
+    public Polygon toPolygon() {
+        ArrayList<Point> points = new ArrayList<>(size);
+        int v = head;
+        for (int i = 0; i < size; i++) {
+            points.add(getPoint(v));
+            v = next[v];
+        }
+        return new Polygon(points);
+    }
+
+    private static double[] xCoordinates(List<Point> points) {
+        double[] xs = new double[points.size()];
+        for (int i = 0; i < xs.length; i++) xs[i] = points.get(i).getX();
+        return xs;
+    }
+
+    private static double[] yCoordinates(List<Point> points) {
+        double[] ys = new double[points.size()];
+        for (int i = 0; i < ys.length; i++) ys[i] = points.get(i).getY();
+        return ys;
+    }
+
+}
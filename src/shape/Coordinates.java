@@ -0,0 +1,75 @@
+/**
+ * FILE: Coordinates.java
+ * LOC: src.shape
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Read access to the vertex coordinates of a polygon, whatever holds them: a pair of double arrays or a
+ * memory-mapped buffer. Algorithms that only read coordinates take this instead of a Polygon, so they run on a
+ * mapped polygon without copying it.
+ */
+
+package shape;
+
+import java.util.ArrayList;
+
+public interface Coordinates {
+
+    /** @return number of vertices. */
+    int getSize();
+
+    /** @return x coordinate of vertex v, for v from 0 to getSize() - 1 in counterclockwise order. */
+    double getX(int v);
+
+    /** @return y coordinate of vertex v, for v from 0 to getSize() - 1 in counterclockwise order. */
+    double getY(int v);
+
+    /**
+     * Copy the coordinates into a Polygon.
+     * @return a new Polygon with the same vertices.
+     */
+    default Polygon toPolygon() {
+        ArrayList<Point> points = new ArrayList<>(getSize());
+        for (int v = 0; v < getSize(); v++) points.add(new Point(getX(v), getY(v)));
+        return new Polygon(points);
+    }
+
+    /**
+     * Copy the coordinates into an ArrayPolygon, which the ear clippers work on.
+     * @return a new ArrayPolygon with the same vertices.
+     */
+    default ArrayPolygon toArrayPolygon() {
+        double[] xs = new double[getSize()];
+        double[] ys = new double[getSize()];
+        for (int v = 0; v < xs.length; v++) {
+            xs[v] = getX(v);
+            ys[v] = getY(v);
+        }
+        return new ArrayPolygon(xs, ys);
+    }
+
+    /**
+     * View a pair of coordinate arrays. The arrays are not copied.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     * @return the view.
+     */
+    static Coordinates of(double[] xs, double[] ys) {
+        return new Coordinates() {
+            @Override
+            public int getSize() {return xs.length;}
+
+            @Override
+            public double getX(int v) {return xs[v];}
+
+            @Override
+            public double getY(int v) {return ys[v];}
+
+            // an ArrayPolygon never writes its coordinates, so it can share the arrays
+            @Override
+            public ArrayPolygon toArrayPolygon() {return new ArrayPolygon(xs, ys);}
+        };
+    }
+
+}
@@ -36,4 +36,9 @@ public class Diagonal {
         if (!(o instanceof Diagonal d)) return false;
         return p1.equals(d.getP1()) && p2.equals(d.getP2());
     }
+
+    @Override
+    public int hashCode() {
+        return 31 * p1.hashCode() + p2.hashCode();
+    }
 }
@@ -0,0 +1,251 @@
+/**
+ * FILE: HalfEdgeMesh.java
+ * LOC: src.shape
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Half-edge (doubly connected edge list) representation of a polygon cut into faces by non-crossing
+ * chords. Every edge is stored as two half-edges, e and its twin e ^ 1, each knowing its origin, the next and
+ * previous half-edges around its face, and the face itself, so walking a face or crossing to a neighbor takes
+ * constant time per step. The half-edges outside the polygon form the outer face, numbered -1.
+ * NOTE: Half-edge 2i runs along the boundary from boundary[i] to boundary[i + 1] inside the polygon; the chords
+ * follow, two half-edges each, in the order they were given.
+ */
+
+package shape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class HalfEdgeMesh {
+    /** X coordinate of each vertex. */
+    private final double[] xs;
+    /** Y coordinate of each vertex. */
+    private final double[] ys;
+    /** Origin vertex of each half-edge. */
+    private final int[] origin;
+    /** Half-edge following each half-edge around its face. */
+    private final int[] next;
+    /** Half-edge preceding each half-edge around its face. */
+    private final int[] prev;
+    /** Face to the left of each half-edge, or -1 outside the polygon. */
+    private final int[] face;
+    /** One half-edge leaving each vertex inside the polygon. */
+    private final int[] vertexEdge;
+    /** One half-edge of each face. */
+    private final int[] faceEdge;
+
+    /**
+     * Build the mesh of a polygon cut along diagonals between its vertices.
+     * @param polygon the polygon, counterclockwise.
+     * @param diagonals non-crossing diagonals, each given as the pair of indices of its vertices.
+     */
+    public HalfEdgeMesh(Polygon polygon, List<int[]> diagonals) {
+        this(coordinates(polygon, true), coordinates(polygon, false), identity(polygon.getSize()), diagonals);
+    }
+
+    /**
+     * Build the mesh of a polygon cut along chords between its boundary vertices. Vertices may lie in the middle
+     * of an edge of the original polygon, as the ends of the horizontals of a trapezoidalization do.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     * @param boundary every vertex once, in counterclockwise order around the polygon.
+     * @param chords non-crossing chords, each given as the pair of its vertices.
+     */
+    public HalfEdgeMesh(double[] xs, double[] ys, int[] boundary, List<int[]> chords) {
+        int n = boundary.length;
+        int edges = 2 * (n + chords.size());
+        this.xs = xs;
+        this.ys = ys;
+        origin = new int[edges];
+        next = new int[edges];
+        prev = new int[edges];
+        face = new int[edges];
+        vertexEdge = new int[xs.length];
+        int[] position = new int[xs.length];
+        for (int i = 0; i < n; i++) {
+            position[boundary[i]] = i;
+            origin[2 * i] = boundary[i];
+            origin[2 * i + 1] = boundary[(i + 1) % n];
+            vertexEdge[boundary[i]] = 2 * i;
+        }
+
+        // bucket the half-edges leaving each vertex along chords, ordered by how far around the boundary they reach
+        int[] start = new int[n + 1];
+        for (int c = 0; c < chords.size(); c++) {
+            int[] chord = chords.get(c);
+            origin[2 * (n + c)] = chord[0];
+            origin[2 * (n + c) + 1] = chord[1];
+            start[position[chord[0]] + 1]++;
+            start[position[chord[1]] + 1]++;
+        }
+        for (int i = 0; i < n; i++) start[i + 1] += start[i];
+        long[] keys = new long[2 * chords.size()];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int e = 2 * n; e < edges; e++) {
+            int from = position[origin[e]];
+            int reach = (position[origin[e ^ 1]] - from + n) % n;
+            keys[fill[from]++] = (long) reach << 32 | e;
+        }
+
+        // around each vertex the half-edges leave in the order: boundary forward, chords, boundary backward, and
+        // each face turns from the twin of one half-edge to the half-edge before it in that order
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(keys, start[i], start[i + 1]);
+            int last = 2 * ((i + n - 1) % n) + 1;
+            int previous = 2 * i;
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                int e = (int) keys[k];
+                link(e ^ 1, previous);
+                previous = e;
+            }
+            link(last ^ 1, previous);
+            link(2 * i ^ 1, last);
+        }
+
+        // number the faces, marking the outer face first
+        Arrays.fill(face, -2);
+        int e = 1;
+        do {
+            face[e] = -1;
+            e = next[e];
+        } while (e != 1);
+        int[] faces = new int[chords.size() + 1];
+        int count = 0;
+        for (int h = 0; h < edges; h++) {
+            if (face[h] != -2) continue;
+            if (count == faces.length) faces = Arrays.copyOf(faces, 2 * count);
+            faces[count] = h;
+            e = h;
+            do {
+                face[e] = count;
+                e = next[e];
+            } while (e != h);
+            count++;
+        }
+        faceEdge = Arrays.copyOf(faces, count);
+    }
+
+    private void link(int e, int f) {
+        next[e] = f;
+        prev[f] = e;
+    }
+
+    public int getVertexCount() {return xs.length;}
+
+    public double getX(int v) {return xs[v];}
+
+    public double getY(int v) {return ys[v];}
+
+    public Point getPoint(int v) {return new Point(xs[v], ys[v]);}
+
+    /** @return a half-edge leaving v inside the polygon. */
+    public int getVertexEdge(int v) {return vertexEdge[v];}
+
+    /** @return the number of half-edges, twice the number of edges. */
+    public int getEdgeCount() {return origin.length;}
+
+    public int getOrigin(int e) {return origin[e];}
+
+    public int getDestination(int e) {return origin[e ^ 1];}
+
+    public int getTwin(int e) {return e ^ 1;}
+
+    public int getNext(int e) {return next[e];}
+
+    public int getPrev(int e) {return prev[e];}
+
+    /** @return the face to the left of e, or -1 if e lies outside the polygon. */
+    public int getFace(int e) {return face[e];}
+
+    /** @return true if e lies on the polygon's boundary, on either side. */
+    public boolean isBoundary(int e) {return face[e] == -1 || face[e ^ 1] == -1;}
+
+    /** @return the number of faces inside the polygon. */
+    public int getFaceCount() {return faceEdge.length;}
+
+    public int getFaceEdge(int f) {return faceEdge[f];}
+
+    /** @return the number of vertices around face f. */
+    public int getFaceSize(int f) {
+        int size = 0;
+        int e = faceEdge[f];
+        do {
+            size++;
+            e = next[e];
+        } while (e != faceEdge[f]);
+        return size;
+    }
+
+    /** @return the vertices of face f in counterclockwise order. */
+    public int[] getFaceVertices(int f) {
+        int[] vertices = new int[getFaceSize(f)];
+        int e = faceEdge[f];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = origin[e];
+            e = next[e];
+        }
+        return vertices;
+    }
+
+    /** @return the face across each side of face f, in the order of getFaceVertices, -1 on the boundary. */
+    public int[] getNeighbors(int f) {
+        int[] neighbors = new int[getFaceSize(f)];
+        int e = faceEdge[f];
+        for (int i = 0; i < neighbors.length; i++) {
+            neighbors[i] = face[e ^ 1];
+            e = next[e];
+        }
+        return neighbors;
+    }
+
+    /** @return face f as a polygon. */
+    public Polygon getFacePolygon(int f) {
+        ArrayList<Point> points = new ArrayList<>();
+        for (int v : getFaceVertices(f)) points.add(getPoint(v));
+        return new Polygon(points);
+    }
+
+    /**
+     * Export a triangulation as vertex indices, three per face.
+     * @return the vertices of each face in counterclockwise order.
+     * @throws IllegalStateException if a face is not a triangle.
+     */
+    public int[] toTriangles() {
+        int[] triangles = new int[3 * faceEdge.length];
+        for (int f = 0; f < faceEdge.length; f++) {
+            int e = faceEdge[f];
+            if (next[next[next[e]]] != e) throw new IllegalStateException("face " + f + " is not a triangle");
+            triangles[3 * f] = origin[e];
+            triangles[3 * f + 1] = origin[next[e]];
+            triangles[3 * f + 2] = origin[prev[e]];
+        }
+        return triangles;
+    }
+
+    /** @return the chords as diagonals, in the order they were given. */
+    public ArrayList<Diagonal> getDiagonals() {
+        ArrayList<Diagonal> diagonals = new ArrayList<>(origin.length / 2 - xs.length);
+        for (int e = 2 * xs.length; e < origin.length; e += 2) {
+            diagonals.add(new Diagonal(getPoint(origin[e]), getPoint(origin[e + 1])));
+        }
+        return diagonals;
+    }
+
+    private static double[] coordinates(Polygon polygon, boolean x) {
+        double[] coordinates = new double[polygon.getSize()];
+        for (int v = 0; v < coordinates.length; v++) {
+            coordinates[v] = x ? polygon.getPoint(v).getX() : polygon.getPoint(v).getY();
+        }
+        return coordinates;
+    }
+
+    private static int[] identity(int n) {
+        int[] identity = new int[n];
+        for (int i = 0; i < n; i++) identity[i] = i;
+        return identity;
+    }
+
+}
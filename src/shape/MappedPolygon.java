@@ -0,0 +1,75 @@
+/**
+ * FILE: MappedPolygon.java
+ * LOC: src.shape
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Read-only polygon viewed directly over a buffer of interleaved x,y coordinates, typically a region of
+ * a memory-mapped binary polygon file. Nothing is copied until the polygon is converted.
+ */
+
+package shape;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+
+public class MappedPolygon implements Coordinates {
+    /** Interleaved coordinates x0, y0, x1, y1, ... Vertices follow a counterclockwise traversal of the polygon. */
+    private final DoubleBuffer coordinates;
+    /** Number of vertices. */
+    private final int size;
+
+    /**
+     * @param coordinates buffer holding the interleaved coordinates of the vertices, from its position onward.
+     * @param size number of vertices.
+     */
+    public MappedPolygon(DoubleBuffer coordinates, int size) {
+        this.coordinates = coordinates.slice();
+        this.size = size;
+    }
+
+    @Override
+    public double getX(int v) {return coordinates.get(2 * v);}
+
+    @Override
+    public double getY(int v) {return coordinates.get(2 * v + 1);}
+
+    public Point getPoint(int v) {return new Point(getX(v), getY(v));}
+
+    @Override
+    public int getSize() {return size;}
+
+    /**
+     * Copy the coordinates out of the buffer into an ArrayPolygon.
+     * @return a new ArrayPolygon with the same vertices.
+     */
+    @Override
+    public ArrayPolygon toArrayPolygon() {
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        // bulk copy a block at a time, then split the pairs
+        double[] block = new double[2 * Math.min(size, 4096)];
+        for (int from = 0; from < size; from += block.length / 2) {
+            int count = Math.min(block.length / 2, size - from);
+            coordinates.get(2 * from, block, 0, 2 * count);
+            for (int i = 0; i < count; i++) {
+                xs[from + i] = block[2 * i];
+                ys[from + i] = block[2 * i + 1];
+            }
+        }
+        return new ArrayPolygon(xs, ys);
+    }
+
+    /**
+     * Copy the coordinates out of the buffer into a Polygon.
+     * @return a new Polygon with the same vertices.
+     */
+    @Override
+    public Polygon toPolygon() {
+        ArrayList<Point> points = new ArrayList<>(size);
+        for (int v = 0; v < size; v++) points.add(getPoint(v));
+        return new Polygon(points);
+    }
+
+}
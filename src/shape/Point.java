@@ -36,4 +36,10 @@ public class Point {
         if (!(o instanceof Point p)) return false;
         return X_COORDINATE == p.getX() && Y_COORDINATE == p.getY();
     }
+
+    @Override
+    public int hashCode() {
+        // adding 0.0 folds -0.0 into 0.0, which equals() treats as the same coordinate
+        return 31 * Double.hashCode(X_COORDINATE + 0.0) + Double.hashCode(Y_COORDINATE + 0.0);
+    }
 }
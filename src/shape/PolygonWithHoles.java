@@ -0,0 +1,47 @@
+/**
+ * FILE: PolygonWithHoles.java
+ * LOC: src.shape
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Container class for a polygon with holes. Formed by an outer ring and any number of inner rings, each
+ * a simple polygon. The holes must lie inside the outer ring and must not touch it or each other.
+ */
+
+package shape;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PolygonWithHoles {
+    /** Outer boundary, counterclockwise. */
+    private final Polygon outer;
+    /** Inner boundaries, clockwise. */
+    private final ArrayList<Polygon> holes;
+
+    public PolygonWithHoles(Polygon outer, List<Polygon> holes) {
+        this.outer = outer;
+        this.holes = new ArrayList<>(holes);
+    }
+
+    public PolygonWithHoles(Polygon outer) {this(outer, new ArrayList<>());}
+
+    public Polygon getOuter() {return outer;}
+
+    public ArrayList<Polygon> getHoles() {return holes;}
+
+    public Polygon getHole(int h) {return holes.get(h);}
+
+    public int getHoleCount() {return holes.size();}
+
+    public void addHole(Polygon hole) {holes.add(hole);}
+
+    /** @return the number of vertices over all rings. */
+    public int getSize() {
+        int size = outer.getSize();
+        for (Polygon hole : holes) size += hole.getSize();
+        return size;
+    }
+
+}
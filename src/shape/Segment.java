@@ -26,4 +26,9 @@ public class Segment {
         if (!(o instanceof Segment s)) return false;
         return p1.equals(s.getP1()) && p2.equals(s.getP2());
     }
+
+    @Override
+    public int hashCode() {
+        return 31 * p1.hashCode() + p2.hashCode();
+    }
 }
@@ -0,0 +1,497 @@
+/**
+ * FILE: BatchProcessor.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Headless batch runner. Reads the polygon files of a directory or a manifest, runs one algorithm on
+ * every polygon in parallel, and streams the results to a single output file.
+ * NOTE: Does not touch JavaFX, so it runs without the JavaFX runtime on the module path.
+ */
+
+package tools;
+
+import main.ConvexPartition;
+import main.Delaunay;
+import main.Metrics;
+import main.Monotone;
+import main.PolygonProperties;
+import main.PolygonValidator;
+import main.Trapezoidalization;
+import main.Triangulation;
+import shape.ArrayPolygon;
+import shape.Coordinates;
+import shape.Diagonal;
+import shape.Point;
+import shape.Polygon;
+import shape.Segment;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class BatchProcessor {
+
+    /** Algorithms the batch runner can apply. Each one returns the pieces of its output, one per output line. */
+    public enum Algorithm {
+        TRIANGULATE(false, polygon -> Triangulation.triangulate(new ArrayPolygon(polygon)),
+                polygon -> Triangulation.triangulate(polygon)),
+        TRIANGULATE_REFLEX(false, polygon -> Triangulation.triangulateReflex(new ArrayPolygon(polygon)),
+                polygon -> Triangulation.triangulateReflex(polygon)),
+        TRIANGULATE_MONOTONE(true, Monotone::triangulateMonotone),
+        TRIANGULATE_DELAUNAY(true, polygon -> Delaunay.delaunay(polygon, Monotone.triangulateMonotone(polygon))),
+        TRAPEZOIDALIZE(true, Trapezoidalization::trapezoidalization),
+        TRAPEZOIDALIZE_SEIDEL(true, Trapezoidalization::trapezoidalizationSeidel),
+        MONOTONE(true, polygon -> {
+            ArrayList<Object> pieces = new ArrayList<>();
+            for (Polygon piece : Monotone.monotone(polygon)) pieces.add(piece.getPoints());
+            return pieces;
+        }),
+        CONVEX(false, polygon -> {
+            ArrayList<Object> pieces = new ArrayList<>();
+            for (Polygon piece : ConvexPartition.convexPieces(Triangulation.triangulateMesh(polygon))) {
+                pieces.add(piece.getPoints());
+            }
+            return pieces;
+        }),
+        AREA(false, polygon -> List.of(Triangulation.areaPoly2(polygon) / 2),
+                polygon -> List.of(Triangulation.areaPoly2(polygon) / 2)),
+        PROPERTIES(false, polygon -> List.of(PolygonProperties.compute(polygon)),
+                polygon -> List.of(PolygonProperties.compute(polygon)));
+
+        /** If true, the algorithm sweeps the vertices by y coordinate and needs them distinct. */
+        private final boolean sweep;
+        private final Function<Polygon, List<?>> function;
+        /** The algorithm run on coordinates alone, without building a Polygon, or null if it needs one. */
+        private final Function<Coordinates, List<?>> direct;
+
+        Algorithm(boolean sweep, Function<Polygon, List<?>> function) {
+            this(sweep, function, null);
+        }
+
+        Algorithm(boolean sweep, Function<Polygon, List<?>> function, Function<Coordinates, List<?>> direct) {
+            this.sweep = sweep;
+            this.function = function;
+            this.direct = direct;
+        }
+
+        public List<?> run(Polygon polygon) {return function.apply(polygon);}
+
+        /**
+         * Run the algorithm on a polygon's coordinates, directly if it only reads them and on a copy as a Polygon
+         * otherwise.
+         * @param polygon the polygon's coordinates, such as a MappedPolygon.
+         * @return the output pieces.
+         */
+        public List<?> run(Coordinates polygon) {
+            return direct != null ? direct.apply(polygon) : function.apply(polygon.toPolygon());
+        }
+
+        /** @return true if the algorithm runs on coordinates alone, so its input need not be copied to a Polygon. */
+        public boolean readsCoordinates() {return direct != null;}
+
+        /**
+         * Check that a polygon meets the algorithm's assumptions. AREA and PROPERTIES accept any polygon.
+         * @param polygon the polygon.
+         * @return null if the algorithm can run on the polygon; otherwise, the problems found.
+         */
+        public String validate(Coordinates polygon) {
+            if (this == AREA || this == PROPERTIES) return null;
+            PolygonValidator.Report report = PolygonValidator.validate(polygon, REPORT_LIMIT);
+            return (sweep ? report.isSweepable() : report.isValid()) ? null : report.toString();
+        }
+    }
+
+    /** Largest number of problems of each kind reported for an invalid polygon. */
+    private static final int REPORT_LIMIT = 8;
+
+    /** Color of the output pieces in thumbnails, drawn under the polygon. */
+    private static final int PIECE_COLOR = 0x4682b4;
+
+    /** Marks the end of the result stream for the writer thread. */
+    private static final String END = new String("");
+
+    private final Algorithm algorithm;
+    private final int threads;
+    /** If true, only the summary line of each polygon is written, not the output pieces. */
+    private final boolean summary;
+    /** Cache answering the algorithms it covers, or null to always compute. */
+    private final ResultCache cache;
+    /** Results waiting for the writer. Bounded so that workers stall instead of buffering the whole batch. */
+    private final BlockingQueue<String> results;
+    /** Directory receiving a thumbnail of every polygon, or null for none. */
+    private Path thumbnails;
+    private int thumbnailSize;
+    private boolean svg;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong thumbnailsFailed = new AtomicLong();
+
+    /**
+     * @param algorithm the algorithm applied to every polygon.
+     * @param threads number of worker threads.
+     * @param summary if true, write one summary line per polygon and leave out the output pieces.
+     */
+    public BatchProcessor(Algorithm algorithm, int threads, boolean summary) {
+        this(algorithm, threads, summary, null);
+    }
+
+    /**
+     * @param algorithm the algorithm applied to every polygon.
+     * @param threads number of worker threads.
+     * @param summary if true, write one summary line per polygon and leave out the output pieces.
+     * @param cache cache of results for TRIANGULATE, TRAPEZOIDALIZE and MONOTONE, or null.
+     */
+    public BatchProcessor(Algorithm algorithm, int threads, boolean summary, ResultCache cache) {
+        this.algorithm = algorithm;
+        this.threads = threads;
+        this.summary = summary;
+        this.cache = cache;
+        this.results = new ArrayBlockingQueue<>(64 * threads);
+    }
+
+    public long getProcessed() {return processed.get();}
+
+    public long getFailed() {return failed.get();}
+
+    /** @return number of thumbnails that could not be written. Their polygons are not counted as failed. */
+    public long getThumbnailsFailed() {return thumbnailsFailed.get();}
+
+    /**
+     * Draw every polygon with the algorithm's output to an image of its own. The image of a polygon is named after
+     * its file's path relative to the input directory or manifest, or path#k for the polygons after the first in a
+     * file, with .png or .svg appended. Characters that cannot stand in a file name are escaped as %XX, so files of
+     * the same name in different directories get different images. A polygon the algorithm rejects gets an image of
+     * the polygon alone, and an image that cannot be written is reported on a line of its own.
+     * @param directory the directory receiving the images, which must exist.
+     * @param size width and height of the images in pixels.
+     * @param svg if true, write SVG images instead of PNG images.
+     */
+    public void writeThumbnails(Path directory, int size, boolean svg) {
+        this.thumbnails = directory;
+        this.thumbnailSize = size;
+        this.svg = svg;
+    }
+
+    /**
+     * Usage: BatchProcessor [-threads n] [-summary] [-cache megabytes] [-store file] [-thumbnails directory]
+     * [-size pixels] [-svg] algorithm input output
+     * The input is either a directory of polygon files or a manifest file listing one polygon file per line. Relative
+     * paths in a manifest are resolved against the manifest's directory; blank lines and lines starting with # are
+     * skipped. With -cache, results of the algorithms the cache covers are reused for repeated polygons, and with
+     * -store they are also kept in the given file across runs. With -thumbnails, a PNG image of each polygon and its
+     * output, 256 pixels square unless -size says otherwise, is written to the directory, or an SVG image with -svg.
+     * Run with -Dgeometry.metrics=true to print the hot-path counters at the end. A Flight Recorder recording, such as
+     * one started with -XX:StartFlightRecording, gets an event per algorithm phase.
+     * @param args command line arguments.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean summary = false;
+        long cacheBytes = -1;
+        Path store = null;
+        Path thumbnails = null;
+        int size = 256;
+        boolean svg = false;
+        int i = 0;
+        for (; i < args.length && args[i].startsWith("-"); i++) {
+            if (args[i].equals("-threads") && i + 1 < args.length) threads = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-summary")) summary = true;
+            else if (args[i].equals("-cache") && i + 1 < args.length) cacheBytes = Long.parseLong(args[++i]) << 20;
+            else if (args[i].equals("-store") && i + 1 < args.length) store = Path.of(args[++i]);
+            else if (args[i].equals("-thumbnails") && i + 1 < args.length) thumbnails = Path.of(args[++i]);
+            else if (args[i].equals("-size") && i + 1 < args.length) size = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-svg")) svg = true;
+            else break;
+        }
+        if (args.length - i != 3) {
+            System.err.println("usage: BatchProcessor [-threads n] [-summary] [-cache megabytes] [-store file] "
+                    + "[-thumbnails directory] [-size pixels] [-svg] algorithm input output");
+            System.err.println("algorithms: " + Arrays.toString(Algorithm.values()));
+            System.exit(2);
+        }
+        Algorithm algorithm = Algorithm.valueOf(args[i].toUpperCase(Locale.ROOT));
+        Path input = Path.of(args[i + 1]);
+        Path output = Path.of(args[i + 2]);
+
+        // a store without a memory limit keeps 256MB in memory
+        if (store != null && cacheBytes < 0) cacheBytes = 256L << 20;
+        ResultCache cache = null;
+        if (cacheBytes >= 0) cache = store == null ? new ResultCache(cacheBytes) : new ResultCache(cacheBytes, store);
+
+        BatchProcessor processor = new BatchProcessor(algorithm, threads, summary, cache);
+        if (thumbnails != null) {
+            Files.createDirectories(thumbnails);
+            processor.writeThumbnails(thumbnails, size, svg);
+        }
+        long start = System.nanoTime();
+        try {
+            processor.run(input, output);
+        } finally {
+            if (cache != null) cache.close();
+        }
+        System.err.printf("%d polygons, %d failed, %.1f s%n", processor.getProcessed(), processor.getFailed(),
+                (System.nanoTime() - start) / 1e9);
+        if (processor.getThumbnailsFailed() > 0) {
+            System.err.println(processor.getThumbnailsFailed() + " thumbnails failed");
+        }
+        if (cache != null) System.err.println("cache: " + cache);
+        if (Metrics.ENABLED) System.err.println("metrics: " + Metrics.snapshot());
+    }
+
+    /**
+     * Process every polygon file of the input and write the results. Files are fed to the workers as they are
+     * listed, and results are written in completion order.
+     * @param input a directory of polygon files, or a manifest listing them.
+     * @param output the file receiving the results. It is overwritten.
+     */
+    public void run(Path input, Path output) throws IOException, InterruptedException {
+        // the bounded work queue and caller-runs policy throttle the listing thread to the workers' pace
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(4 * threads), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        BufferedWriter out = Files.newBufferedWriter(output);
+        IOException[] writeError = new IOException[1];
+        Thread writer = new Thread(() -> {
+            try {
+                // keep draining after a failed write so that no worker blocks on a full queue
+                for (String result = results.take(); result != END; result = results.take()) {
+                    if (writeError[0] != null) continue;
+                    try {
+                        out.write(result);
+                    } catch (IOException e) {
+                        writeError[0] = e;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "batch-writer");
+        writer.start();
+
+        try {
+            if (Files.isDirectory(input)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(input, Files::isRegularFile)) {
+                    for (Path file : files) pool.execute(() -> process(input, file));
+                }
+            } else {
+                Path base = input.toAbsolutePath().getParent();
+                try (BufferedReader manifest = Files.newBufferedReader(input)) {
+                    String line;
+                    while ((line = manifest.readLine()) != null) {
+                        line = line.trim();
+                        if (line.isEmpty() || line.startsWith("#")) continue;
+                        Path file = base.resolve(line);
+                        pool.execute(() -> process(base, file));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            results.put(END);
+            writer.join();
+            out.close();
+        }
+        if (writeError[0] != null) throw writeError[0];
+    }
+
+    /**
+     * Read the polygons of a file, binary if its name ends with .bin and text otherwise. Binary polygons stay views
+     * of the mapped file, and text polygons the arrays they were parsed into, until an algorithm needs a Polygon.
+     * @param file the polygon file.
+     * @return the coordinates of the polygons in file order.
+     */
+    private static ArrayList<Coordinates> load(Path file) throws IOException {
+        ArrayList<Coordinates> polygons = new ArrayList<>();
+        if (file.toString().endsWith(".bin")) {
+            polygons.addAll(PolygonBinary.read(file));
+        } else {
+            for (ArrayPolygon polygon : PolygonReader.readPolygons(file)) polygons.add(polygon.getCoordinates());
+        }
+        return polygons;
+    }
+
+    /** @return true if the cache answers the algorithm. */
+    private static boolean cached(Algorithm algorithm) {
+        return algorithm == Algorithm.TRIANGULATE || algorithm == Algorithm.TRAPEZOIDALIZE
+                || algorithm == Algorithm.MONOTONE;
+    }
+
+    /**
+     * Run the algorithm on a polygon, through the cache when it covers the algorithm.
+     * @param polygon the polygon.
+     * @return the output pieces.
+     */
+    private List<?> apply(Polygon polygon) {
+        if (cache == null) return algorithm.run(polygon);
+        switch (algorithm) {
+            case TRIANGULATE:
+                return cache.triangulate(polygon);
+            case TRAPEZOIDALIZE:
+                return cache.trapezoidalization(polygon);
+            case MONOTONE:
+                ArrayList<Object> pieces = new ArrayList<>();
+                for (Polygon piece : cache.monotone(polygon)) pieces.add(piece.getPoints());
+                return pieces;
+            default:
+                return algorithm.run(polygon);
+        }
+    }
+
+    /**
+     * Run the algorithm on every polygon of one file and queue the results. Each polygon's block starts with a line
+     * holding the file, the algorithm, the vertex count, the number of output pieces and the time taken in
+     * microseconds, followed by one line per output piece. Polygons after the first in a file are labelled file#k.
+     * Failures, and polygons breaking the algorithm's assumptions, are reported in place of the counts. A thumbnail
+     * that cannot be written gets a line of its own after the polygon's block.
+     * @param root the input directory, or the directory of the manifest, which thumbnail names are relative to.
+     * @param file the polygon file.
+     */
+    private void process(Path root, Path file) {
+        StringBuilder block = new StringBuilder();
+        try {
+            ArrayList<Coordinates> polygons = load(file);
+            for (int k = 0; k < polygons.size(); k++) {
+                block.append(file);
+                if (k > 0) block.append('#').append(k);
+                block.append(' ').append(algorithm);
+                try {
+                    Coordinates coordinates = polygons.get(k);
+                    // an algorithm reading coordinates alone runs on them, so a mapped polygon is never copied to
+                    // Points; the cache hashes Polygons, so the algorithms it covers still get one
+                    boolean direct = algorithm.readsCoordinates() && (cache == null || !cached(algorithm));
+                    Polygon polygon = direct ? null : coordinates.toPolygon();
+                    // reject malformed input up front; the sweeps can loop forever on it
+                    String invalid = algorithm.validate(coordinates);
+                    List<?> pieces = List.of();
+                    if (invalid != null) {
+                        failed.incrementAndGet();
+                        block.append(" invalid ").append(invalid).append('\n');
+                    } else {
+                        long start = System.nanoTime();
+                        pieces = polygon == null ? algorithm.run(coordinates) : apply(polygon);
+                        long micros = (System.nanoTime() - start) / 1000;
+                        block.append(' ').append(coordinates.getSize()).append(' ').append(pieces.size());
+                        block.append(' ').append(micros).append('\n');
+                        if (!summary) for (Object piece : pieces) block.append(piece).append('\n');
+                    }
+                    String imageError = thumbnails == null ? null
+                            : thumbnail(root, file, k, polygon != null ? polygon : coordinates.toPolygon(), pieces);
+                    if (imageError != null) {
+                        thumbnailsFailed.incrementAndGet();
+                        block.append(file);
+                        if (k > 0) block.append('#').append(k);
+                        block.append(" thumbnail error ").append(imageError).append('\n');
+                    }
+                } catch (RuntimeException | StackOverflowError e) {
+                    failed.incrementAndGet();
+                    block.append(" error ").append(e).append('\n');
+                }
+                processed.incrementAndGet();
+            }
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            processed.incrementAndGet();
+            block.append(file).append(' ').append(algorithm).append(" error ").append(e.getMessage()).append('\n');
+        }
+        try {
+            results.put(block.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Draw a polygon and the output pieces of the algorithm to an image in the thumbnail directory.
+     * Diagonals and segments are drawn as lines and point lists as polygons; other pieces are left out.
+     * @param root the directory the image name is relative to.
+     * @param file the polygon file.
+     * @param k index of the polygon in the file.
+     * @param polygon the polygon.
+     * @param pieces the algorithm's output on it.
+     * @return a description of the error if the image could not be drawn or written; otherwise, null.
+     */
+    private String thumbnail(Path root, Path file, int k, Polygon polygon, List<?> pieces) {
+        ArrayList<Diagonal> diagonals = new ArrayList<>();
+        ArrayList<Segment> segments = new ArrayList<>();
+        ArrayList<Polygon> polygons = new ArrayList<>();
+        for (Object piece : pieces) {
+            if (piece instanceof Diagonal) {
+                diagonals.add((Diagonal) piece);
+            } else if (piece instanceof Segment) {
+                segments.add((Segment) piece);
+            } else if (piece instanceof List) {
+                ArrayList<Point> points = new ArrayList<>();
+                for (Object point : (List<?>) piece) points.add((Point) point);
+                polygons.add(new Polygon(points));
+            }
+        }
+        Path image = thumbnails.resolve(imageName(root, file) + (k > 0 ? "#" + k : "") + (svg ? ".svg" : ".png"));
+        try {
+            if (svg) {
+                try (SvgWriter writer = SvgWriter.open(image, thumbnailSize, thumbnailSize, polygon)) {
+                    draw(writer, polygon, diagonals, segments, polygons);
+                }
+            } else {
+                PngWriter writer = new PngWriter(thumbnailSize, thumbnailSize, polygon);
+                draw(writer, polygon, diagonals, segments, polygons);
+                writer.write(image);
+            }
+        } catch (IOException | RuntimeException e) {
+            return image + ": " + e;
+        }
+        return null;
+    }
+
+    /**
+     * Name an image after a polygon file's path relative to a directory, or its absolute path if it is outside the
+     * directory. Separators, and the characters that would make two names collide, are escaped as %XX.
+     * @param root the directory.
+     * @param file the polygon file.
+     * @return the image name without the polygon index and extension.
+     */
+    private static String imageName(Path root, Path file) {
+        Path relative = null;
+        try {
+            relative = root.relativize(file);
+        } catch (IllegalArgumentException e) {
+            // on another root
+        }
+        String path = relative == null || relative.startsWith("..") ? file.toAbsolutePath().normalize().toString()
+                : relative.toString();
+        StringBuilder name = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '%' || c == '#' || c == '/' || c == '\\' || c == ':') {
+                name.append('%').append(String.format("%02X", (int) c));
+            } else {
+                name.append(c);
+            }
+        }
+        return name.toString();
+    }
+
+    private static void draw(ImageWriter writer, Polygon polygon, List<Diagonal> diagonals, List<Segment> segments,
+            List<Polygon> polygons) throws IOException {
+        if (!polygons.isEmpty()) writer.polygons(polygons, PIECE_COLOR, ImageWriter.LINE_WIDTH);
+        if (!diagonals.isEmpty()) writer.diagonals(diagonals, PIECE_COLOR, ImageWriter.LINE_WIDTH);
+        if (!segments.isEmpty()) writer.segments(segments, PIECE_COLOR, ImageWriter.LINE_WIDTH);
+        writer.polygon(polygon);
+    }
+
+}
@@ -0,0 +1,183 @@
+/**
+ * FILE: ImageWriter.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Base of the headless image writers. Maps a region of the plane onto an image of a given size and
+ * turns polygons, diagonals and segments into paths in pixel coordinates, which SvgWriter streams out as it gets
+ * them and PngWriter rasterizes. Neither builds a scene graph or needs a display.
+ * NOTE: Points are drawn in screen coordinates, y down, like Drawing draws them. Consecutive boundary vertices less
+ * than a quarter of a pixel apart are merged, so a large polygon costs no more than the pixels it covers.
+ */
+
+package tools;
+
+import shape.Diagonal;
+import shape.Point;
+import shape.Polygon;
+import shape.Segment;
+import java.io.IOException;
+import java.util.List;
+
+public abstract class ImageWriter {
+    /** Fraction of the image left blank on each side of the framed region. */
+    public static final double MARGIN = 0.05;
+    /** Default color and stroke width of polygons, the same as Drawing.drawPolygon. */
+    public static final int POLYGON_COLOR = 0x000000;
+    public static final double POLYGON_WIDTH = 2;
+    /** Default color and stroke width of diagonals and segments, the same as Drawing.drawLine. */
+    public static final int LINE_COLOR = 0x000000;
+    public static final double LINE_WIDTH = 1;
+
+    /** Distance in pixels under which a boundary vertex is merged into the one drawn before it. */
+    private static final double TOLERANCE = 0.25;
+
+    protected final int width;
+    protected final int height;
+    // a point (x, y) is drawn at ((x - offsetX) * scale, (y - offsetY) * scale)
+    private final double scale;
+    private final double offsetX;
+    private final double offsetY;
+
+    /**
+     * @param width width of the image in pixels.
+     * @param height height of the image in pixels.
+     * @param minX smallest x of the region of the plane shown.
+     * @param minY smallest y of the region of the plane shown.
+     * @param maxX largest x of the region of the plane shown.
+     * @param maxY largest y of the region of the plane shown.
+     */
+    protected ImageWriter(int width, int height, double minX, double minY, double maxX, double maxY) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("image size " + width + "x" + height);
+        this.width = width;
+        this.height = height;
+        double extent = Math.max((maxX - minX) / width, (maxY - minY) / height);
+        scale = extent > 0 ? (1 - 2 * MARGIN) / extent : 1;
+        offsetX = (minX + maxX) / 2 - width / 2.0 / scale;
+        offsetY = (minY + maxY) / 2 - height / 2.0 / scale;
+    }
+
+    /**
+     * Computes the bounding box of a polygon, to frame an image on it.
+     * @param polygon the polygon.
+     * @return smallest x, smallest y, largest x and largest y of its vertices.
+     */
+    public static double[] bounds(Polygon polygon) {
+        double[] box = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (Point p : polygon.getPoints()) {
+            box[0] = Math.min(box[0], p.getX());
+            box[1] = Math.min(box[1], p.getY());
+            box[2] = Math.max(box[2], p.getX());
+            box[3] = Math.max(box[3], p.getY());
+        }
+        return box;
+    }
+
+    public int getWidth() {return width;}
+
+    public int getHeight() {return height;}
+
+    /**
+     * Draws a polygon's boundary in the default color and width.
+     * @param polygon the polygon to be drawn.
+     */
+    public void polygon(Polygon polygon) throws IOException {
+        polygons(List.of(polygon), POLYGON_COLOR, POLYGON_WIDTH);
+    }
+
+    /**
+     * Draws the boundaries of polygons, such as the pieces of a partition, as a single path.
+     * @param polygons the polygons to be drawn.
+     * @param rgb color of the edges, as 0xRRGGBB.
+     * @param strokeWidth width of the edges in pixels.
+     */
+    public void polygons(List<Polygon> polygons, int rgb, double strokeWidth) throws IOException {
+        beginPath(rgb, strokeWidth);
+        for (Polygon polygon : polygons) {
+            List<Point> points = polygon.getPoints();
+            if (points.isEmpty()) continue;
+            double lastX = x(points.get(0)), lastY = y(points.get(0));
+            moveTo(lastX, lastY);
+            for (int v = 1; v < points.size(); v++) {
+                double x = x(points.get(v)), y = y(points.get(v));
+                if (Math.abs(x - lastX) < TOLERANCE && Math.abs(y - lastY) < TOLERANCE) continue;
+                lineTo(x, y);
+                lastX = x;
+                lastY = y;
+            }
+            closePath();
+        }
+        endPath();
+    }
+
+    /**
+     * Draws diagonals in the default color and width.
+     * @param diagonals the diagonals to be drawn.
+     */
+    public void diagonals(List<Diagonal> diagonals) throws IOException {
+        diagonals(diagonals, LINE_COLOR, LINE_WIDTH);
+    }
+
+    /**
+     * Draws diagonals as a single path.
+     * @param diagonals the diagonals to be drawn.
+     * @param rgb color of the diagonals, as 0xRRGGBB.
+     * @param strokeWidth width of the diagonals in pixels.
+     */
+    public void diagonals(List<Diagonal> diagonals, int rgb, double strokeWidth) throws IOException {
+        beginPath(rgb, strokeWidth);
+        for (Diagonal diagonal : diagonals) line(diagonal.getP1(), diagonal.getP2());
+        endPath();
+    }
+
+    /**
+     * Draws segments, such as the ones of a trapezoidalization, in the default color and width.
+     * @param segments the segments to be drawn.
+     */
+    public void segments(List<Segment> segments) throws IOException {
+        segments(segments, LINE_COLOR, LINE_WIDTH);
+    }
+
+    /**
+     * Draws segments as a single path.
+     * @param segments the segments to be drawn.
+     * @param rgb color of the segments, as 0xRRGGBB.
+     * @param strokeWidth width of the segments in pixels.
+     */
+    public void segments(List<Segment> segments, int rgb, double strokeWidth) throws IOException {
+        beginPath(rgb, strokeWidth);
+        for (Segment segment : segments) line(segment.getP1(), segment.getP2());
+        endPath();
+    }
+
+    private void line(Point p1, Point p2) throws IOException {
+        moveTo(x(p1), y(p1));
+        lineTo(x(p2), y(p2));
+    }
+
+    private double x(Point p) {return (p.getX() - offsetX) * scale;}
+
+    private double y(Point p) {return (p.getY() - offsetY) * scale;}
+
+    /**
+     * Starts a path. The coordinates given until endPath are in pixels, from the top left corner of the image.
+     * @param rgb color of the path, as 0xRRGGBB.
+     * @param strokeWidth width of the path in pixels.
+     */
+    protected abstract void beginPath(int rgb, double strokeWidth) throws IOException;
+
+    /** Starts a new subpath at a point. */
+    protected abstract void moveTo(double x, double y) throws IOException;
+
+    /** Extends the current subpath to a point. */
+    protected abstract void lineTo(double x, double y) throws IOException;
+
+    /** Closes the current subpath with an edge back to its first point. */
+    protected abstract void closePath() throws IOException;
+
+    protected abstract void endPath() throws IOException;
+
+}
@@ -0,0 +1,374 @@
+/**
+ * FILE: PngWriter.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Rasterizes polygons, diagonals and segments to a PNG file without JavaFX or AWT. The drawing is kept
+ * as segments in pixel coordinates, and the image is produced in strips of STRIP_ROWS rows: each strip is filled
+ * white, the segments crossing it are drawn with antialiasing, and its rows are deflated straight into the file's
+ * IDAT chunks. Only one strip of pixels is ever in memory, whatever the size of the image.
+ * NOTE: Strokes are antialiased by their distance to each pixel center and have round caps and joins. The image is
+ * 8-bit RGB without filtering; rows of line art on white deflate well as they are.
+ */
+
+package tools;
+
+import shape.Polygon;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+public class PngWriter extends ImageWriter {
+    /** Number of rows rasterized at once. */
+    public static final int STRIP_ROWS = 64;
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+    /** Largest IDAT chunk written. */
+    private static final int CHUNK_BYTES = 1 << 16;
+    /** Thumbnails are written often and read rarely, so they are deflated for speed rather than size. */
+    private static final int LEVEL = Deflater.BEST_SPEED;
+
+    private final ArrayList<Layer> layers = new ArrayList<>();
+    /** Layer of the path being drawn. */
+    private Layer current;
+    private double startX;
+    private double startY;
+    private double lastX;
+    private double lastY;
+    /** First and last parameter of the part of a segment that crosses the strip, set by clip. */
+    private double t0;
+    private double t1;
+
+    /**
+     * @param width width of the image in pixels.
+     * @param height height of the image in pixels.
+     * @param minX smallest x of the region of the plane shown.
+     * @param minY smallest y of the region of the plane shown.
+     * @param maxX largest x of the region of the plane shown.
+     * @param maxY largest y of the region of the plane shown.
+     */
+    public PngWriter(int width, int height, double minX, double minY, double maxX, double maxY) {
+        super(width, height, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * @param width width of the image in pixels.
+     * @param height height of the image in pixels.
+     * @param frame the polygon whose bounding box the image shows.
+     */
+    public PngWriter(int width, int height, Polygon frame) {
+        this(width, height, bounds(frame));
+    }
+
+    private PngWriter(int width, int height, double[] box) {
+        this(width, height, box[0], box[1], box[2], box[3]);
+    }
+
+    /**
+     * Rasterizes the drawing to a file.
+     * @param path the file to write. It is overwritten.
+     */
+    public void write(Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), CHUNK_BYTES)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Rasterizes the drawing, strip by strip, to a stream.
+     * @param out the stream receiving the PNG file. Not closed.
+     */
+    public void write(OutputStream out) throws IOException {
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        // 8 bits per sample, RGB, deflate, adaptive filter method, no interlacing
+        header[8] = 8;
+        header[9] = 2;
+        chunk(out, IHDR, header, header.length);
+
+        int strips = (height + STRIP_ROWS - 1) / STRIP_ROWS;
+        for (Layer layer : layers) layer.index(strips);
+        int stride = 1 + 3 * width;
+        byte[] strip = new byte[stride * Math.min(STRIP_ROWS, height)];
+        byte[] idat = new byte[CHUNK_BYTES];
+        int used = 0;
+        Deflater deflater = new Deflater(LEVEL);
+        try {
+            for (int s = 0; s < strips; s++) {
+                int top = s * STRIP_ROWS;
+                int rows = Math.min(STRIP_ROWS, height - top);
+                // white, with filter type 0 at the start of each row
+                Arrays.fill(strip, 0, rows * stride, (byte) 0xff);
+                for (int r = 0; r < rows; r++) strip[r * stride] = 0;
+                for (Layer layer : layers) layer.draw(strip, s, top, rows);
+
+                deflater.setInput(strip, 0, rows * stride);
+                while (!deflater.needsInput()) {
+                    used += deflater.deflate(idat, used, idat.length - used);
+                    if (used == idat.length) {
+                        chunk(out, IDAT, idat, used);
+                        used = 0;
+                    }
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                used += deflater.deflate(idat, used, idat.length - used);
+                if (used == idat.length) {
+                    chunk(out, IDAT, idat, used);
+                    used = 0;
+                }
+            }
+            if (used > 0) chunk(out, IDAT, idat, used);
+        } finally {
+            deflater.end();
+        }
+        chunk(out, IEND, idat, 0);
+        out.flush();
+    }
+
+    @Override
+    protected void beginPath(int rgb, double strokeWidth) {
+        current = new Layer(rgb, strokeWidth);
+        layers.add(current);
+    }
+
+    @Override
+    protected void moveTo(double x, double y) {
+        startX = lastX = x;
+        startY = lastY = y;
+    }
+
+    @Override
+    protected void lineTo(double x, double y) {
+        current.add(lastX, lastY, x, y);
+        lastX = x;
+        lastY = y;
+    }
+
+    @Override
+    protected void closePath() {
+        if (lastX != startX || lastY != startY) lineTo(startX, startY);
+    }
+
+    @Override
+    protected void endPath() {
+        current = null;
+    }
+
+    /**
+     * Writes a chunk: its length, its type, its data and the CRC-32 of the type and data.
+     * @param out the stream.
+     * @param type the four bytes of the chunk type.
+     * @param data buffer holding the chunk data.
+     * @param length number of bytes of data.
+     */
+    private static void chunk(OutputStream out, byte[] type, byte[] data, int length) throws IOException {
+        byte[] word = new byte[4];
+        putInt(word, 0, length);
+        out.write(word);
+        out.write(type);
+        out.write(data, 0, length);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(data, 0, length);
+        putInt(word, 0, (int) crc.getValue());
+        out.write(word);
+    }
+
+    /** Stores an int big-endian, the byte order of PNG. */
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Narrows the parameter range [t0, t1] of a segment to the side of one edge of a clipping rectangle, in the
+     * manner of Liang and Barsky.
+     * @param p the rate at which the segment moves away from the edge's inside.
+     * @param q the distance from the segment's start to the edge, positive inside.
+     * @return false if no part of the segment is left.
+     */
+    private boolean clip(double p, double q) {
+        if (p == 0) return q >= 0;
+        double t = q / p;
+        if (p < 0) t0 = Math.max(t0, t);
+        else t1 = Math.min(t1, t);
+        return t0 <= t1;
+    }
+
+    /** Segments of one path, in pixel coordinates, with the stroke they are drawn with. */
+    private class Layer {
+        private final int red;
+        private final int green;
+        private final int blue;
+        /** Distance from the stroke's center line at which a pixel center gets no coverage, and its square. */
+        private final double reach;
+        private final double reach2;
+        /** Square of the distance within which a pixel center is covered completely, negative if none is. */
+        private final double solid2;
+        /** x1, y1, x2 and y2 of each segment. */
+        private float[] coords = new float[64];
+        private int count;
+
+        /** Segments in order of the first strip they cross, and the index in order of each strip's first one. */
+        private int[] order;
+        private int[] stripStarts;
+        /** Segments crossing the strip being drawn. */
+        private int[] active;
+        private int activeCount;
+
+        Layer(int rgb, double strokeWidth) {
+            red = rgb >>> 16 & 0xff;
+            green = rgb >>> 8 & 0xff;
+            blue = rgb & 0xff;
+            reach = strokeWidth / 2 + 0.5;
+            reach2 = reach * reach;
+            solid2 = strokeWidth > 1 ? (reach - 1) * (reach - 1) : -1;
+        }
+
+        void add(double x1, double y1, double x2, double y2) {
+            if (4 * count == coords.length) coords = Arrays.copyOf(coords, 2 * coords.length);
+            coords[4 * count] = (float) x1;
+            coords[4 * count + 1] = (float) y1;
+            coords[4 * count + 2] = (float) x2;
+            coords[4 * count + 3] = (float) y2;
+            count++;
+        }
+
+        /**
+         * Sorts the segments by the first strip they reach, with a counting sort, leaving out the ones entirely
+         * outside the image.
+         * @param strips number of strips of the image.
+         */
+        void index(int strips) {
+            stripStarts = new int[strips + 1];
+            for (int i = 0; i < count; i++) {
+                int first = firstStrip(i);
+                if (first >= 0) stripStarts[first + 1]++;
+            }
+            for (int s = 0; s < strips; s++) stripStarts[s + 1] += stripStarts[s];
+            order = new int[stripStarts[strips]];
+            int[] fill = Arrays.copyOf(stripStarts, strips);
+            for (int i = 0; i < count; i++) {
+                int first = firstStrip(i);
+                if (first >= 0) order[fill[first]++] = i;
+            }
+            active = new int[order.length];
+            activeCount = 0;
+        }
+
+        /** @return the first strip segment i reaches, or -1 if it is outside the image. */
+        private int firstStrip(int i) {
+            double minX = Math.min(coords[4 * i], coords[4 * i + 2]) - reach;
+            double maxX = Math.max(coords[4 * i], coords[4 * i + 2]) + reach;
+            double minY = Math.min(coords[4 * i + 1], coords[4 * i + 3]) - reach;
+            double maxY = Math.max(coords[4 * i + 1], coords[4 * i + 3]) + reach;
+            if (maxX < 0 || minX >= width || maxY < 0 || minY >= height) return -1;
+            return Math.max(0, (int) minY) / STRIP_ROWS;
+        }
+
+        /**
+         * Draws the segments crossing a strip, then drops the ones that end in it.
+         * @param strip the strip's pixels.
+         * @param s index of the strip.
+         * @param top first row of the strip.
+         * @param rows number of rows of the strip.
+         */
+        void draw(byte[] strip, int s, int top, int rows) {
+            for (int k = stripStarts[s]; k < stripStarts[s + 1]; k++) active[activeCount++] = order[k];
+            int kept = 0;
+            for (int k = 0; k < activeCount; k++) {
+                int i = active[k];
+                segment(strip, top, rows, i);
+                if (Math.max(coords[4 * i + 1], coords[4 * i + 3]) + reach >= top + rows) active[kept++] = i;
+            }
+            activeCount = kept;
+        }
+
+        /**
+         * Draws the part of segment i within reach of a strip. Pixels are visited column by column along a mostly
+         * horizontal segment and row by row along a mostly vertical one, over the band the stroke can cover.
+         */
+        private void segment(byte[] strip, int top, int rows, int i) {
+            double ax = coords[4 * i], ay = coords[4 * i + 1];
+            double dx = coords[4 * i + 2] - ax, dy = coords[4 * i + 3] - ay;
+            double length2 = dx * dx + dy * dy;
+            double inverse = length2 > 0 ? 1 / length2 : 0;
+            t0 = 0;
+            t1 = 1;
+            if (!clip(-dx, ax + reach) || !clip(dx, width + reach - ax)
+                    || !clip(-dy, ay - top + reach) || !clip(dy, top + rows + reach - ay)) {
+                return;
+            }
+            int bottom = top + rows - 1;
+            if (Math.abs(dx) >= Math.abs(dy)) {
+                double slope = dx == 0 ? 0 : dy / dx;
+                double span = reach * Math.sqrt(1 + slope * slope);
+                double x0 = ax + t0 * dx, x1 = ax + t1 * dx;
+                int from = Math.max(0, (int) Math.floor(Math.min(x0, x1) - reach));
+                int to = Math.min(width - 1, (int) Math.floor(Math.max(x0, x1) + reach));
+                for (int x = from; x <= to; x++) {
+                    double center = ay + (x + 0.5 - ax) * slope;
+                    int yFrom = Math.max(top, (int) Math.floor(center - span));
+                    int yTo = Math.min(bottom, (int) Math.floor(center + span));
+                    for (int y = yFrom; y <= yTo; y++) plot(strip, top, x, y, ax, ay, dx, dy, inverse);
+                }
+            } else {
+                double slope = dx / dy;
+                double span = reach * Math.sqrt(1 + slope * slope);
+                double y0 = ay + t0 * dy, y1 = ay + t1 * dy;
+                int from = Math.max(top, (int) Math.floor(Math.min(y0, y1) - reach));
+                int to = Math.min(bottom, (int) Math.floor(Math.max(y0, y1) + reach));
+                for (int y = from; y <= to; y++) {
+                    double center = ax + (y + 0.5 - ay) * slope;
+                    int xFrom = Math.max(0, (int) Math.floor(center - span));
+                    int xTo = Math.min(width - 1, (int) Math.floor(center + span));
+                    for (int x = xFrom; x <= xTo; x++) plot(strip, top, x, y, ax, ay, dx, dy, inverse);
+                }
+            }
+        }
+
+        /**
+         * Blends the stroke into pixel (x, y), covering it by how far inside the stroke the pixel's center is.
+         * @param inverse the inverse of the segment's squared length, or 0 for a segment of zero length.
+         */
+        private void plot(byte[] strip, int top, int x, int y, double ax, double ay, double dx, double dy,
+                double inverse) {
+            int k = (y - top) * (1 + 3 * width) + 1 + 3 * x;
+            // dense drawings cover most pixels many times over, and a pixel of the stroke's color stays so
+            if (strip[k] == (byte) red && strip[k + 1] == (byte) green && strip[k + 2] == (byte) blue) return;
+            double px = x + 0.5 - ax, py = y + 0.5 - ay;
+            double t = Math.max(0, Math.min(1, (px * dx + py * dy) * inverse));
+            double ex = px - t * dx, ey = py - t * dy;
+            double distance2 = ex * ex + ey * ey;
+            if (distance2 >= reach2) return;
+            double coverage = distance2 <= solid2 ? 1 : Math.min(1, reach - Math.sqrt(distance2));
+            strip[k] = blend(strip[k], red, coverage);
+            strip[k + 1] = blend(strip[k + 1], green, coverage);
+            strip[k + 2] = blend(strip[k + 2], blue, coverage);
+        }
+    }
+
+    private static byte blend(byte pixel, int color, double coverage) {
+        int value = pixel & 0xff;
+        return (byte) (value + (int) ((color - value) * coverage + (color > value ? 0.5 : -0.5)));
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * FILE: PolygonBinary.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Binary polygon files. Reading maps the file and hands out views over the mapped coordinates, so no
+ * decimal parsing or copying happens at load time. Also converts text polygon files to the binary format.
+ * NOTE: All values are little-endian. The layout is
+ *   bytes 0-3     magic "CGPB"
+ *   bytes 4-7     int version, currently 1
+ *   bytes 8-11    int flags, bit 0 set if an offset table follows the header
+ *   bytes 12-15   reserved, zero
+ *   bytes 16-23   long count: the number of polygons with an offset table, otherwise the number of vertices of the
+ *                 file's single polygon
+ *   offset table  count + 1 longs, the index of each polygon's first vertex followed by the total vertex count
+ *   coordinates   one x,y pair of doubles per vertex, polygons one after another
+ */
+
+package tools;
+
+import shape.ArrayPolygon;
+import shape.MappedPolygon;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PolygonBinary {
+    /** First four bytes of every binary polygon file. */
+    public static final int MAGIC = 'C' | 'G' << 8 | 'P' << 16 | 'B' << 24;
+    public static final int VERSION = 1;
+    /** Flag set when the header is followed by an offset table. */
+    public static final int OFFSET_TABLE = 1;
+    /** Size of the fixed header in bytes. */
+    public static final int HEADER_BYTES = 24;
+
+    /** Largest region of the file mapped at once. A single polygon may exceed it up to the 2GB mapping limit. */
+    private static final long WINDOW = 1L << 30;
+
+    /**
+     * Map a binary polygon file.
+     * @param path the binary polygon file.
+     * @return a view of each polygon of the file, backed by the mapping.
+     * @throws PolygonFormatException if the header or offset table is invalid.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ArrayList<MappedPolygon> read(Path path) throws IOException {
+        String file = path.toString();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) throw new PolygonFormatException(file, "truncated header");
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) throw new PolygonFormatException(file, "not a binary polygon file");
+            if (header.getInt(4) != VERSION) {
+                throw new PolygonFormatException(file, "unsupported version " + header.getInt(4));
+            }
+            boolean table = (header.getInt(8) & OFFSET_TABLE) != 0;
+            long count = header.getLong(16);
+
+            // vertex offsets of the polygons, ending with the total vertex count
+            long[] offsets;
+            if (table) {
+                if (count < 0 || count >= Integer.MAX_VALUE || HEADER_BYTES + 8 * (count + 1) > fileSize) {
+                    throw new PolygonFormatException(file, "truncated offset table");
+                }
+                offsets = new long[(int) count + 1];
+                ByteBuffer entries = map(channel, HEADER_BYTES, 8 * (count + 1));
+                for (int p = 0; p <= count; p++) offsets[p] = entries.getLong(8 * p);
+            } else {
+                offsets = new long[] {0, count};
+            }
+            long data = HEADER_BYTES + (table ? 8 * (count + 1) : 0);
+            if (offsets[0] != 0) throw new PolygonFormatException(file, "offset table does not start at 0");
+            for (int p = 1; p < offsets.length; p++) {
+                if (offsets[p] < offsets[p - 1]) throw new PolygonFormatException(file, "offset table not ascending");
+            }
+            long vertices = offsets[offsets.length - 1];
+            if (vertices < 0 || vertices > (fileSize - data) / 16) {
+                throw new PolygonFormatException(file, "truncated coordinates");
+            }
+
+            // share one mapping between consecutive polygons until it is used up
+            ArrayList<MappedPolygon> polygons = new ArrayList<>(offsets.length - 1);
+            DoubleBuffer window = null;
+            long windowStart = 0, windowEnd = 0;
+            for (int p = 0; p + 1 < offsets.length; p++) {
+                long from = data + 16 * offsets[p];
+                long to = data + 16 * offsets[p + 1];
+                if (to - from > Integer.MAX_VALUE - 7) throw new PolygonFormatException(file, "polygon over 2GB");
+                if (window == null || to > windowEnd) {
+                    windowStart = from;
+                    windowEnd = Math.min(fileSize, Math.max(to, from + WINDOW));
+                    window = map(channel, windowStart, windowEnd - windowStart).asDoubleBuffer();
+                }
+                int size = (int) (offsets[p + 1] - offsets[p]);
+                window.position((int) ((from - windowStart) / 8));
+                polygons.add(new MappedPolygon(window, size));
+            }
+            return polygons;
+        }
+    }
+
+    /**
+     * Write polygons to a binary polygon file. A single polygon is written without an offset table.
+     * @param path the file to write. It is overwritten.
+     * @param polygons the polygons, each written from its head vertex onward.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, List<ArrayPolygon> polygons) throws IOException {
+        boolean table = polygons.size() != 1;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(table ? OFFSET_TABLE : 0).putInt(0);
+            buffer.putLong(table ? polygons.size() : polygons.get(0).getSize());
+            if (table) {
+                long offset = 0;
+                buffer.putLong(offset);
+                for (ArrayPolygon polygon : polygons) {
+                    offset += polygon.getSize();
+                    flushIfFull(channel, buffer, 8).putLong(offset);
+                }
+            }
+            for (ArrayPolygon polygon : polygons) {
+                int v = polygon.getHead();
+                for (int i = 0; i < polygon.getSize(); i++) {
+                    flushIfFull(channel, buffer, 16).putDouble(polygon.getX(v)).putDouble(polygon.getY(v));
+                    v = polygon.getNext(v);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    /**
+     * Convert a text polygon file, as read by PolygonReader, to a binary polygon file.
+     * @param text the text polygon file.
+     * @param binary the binary file to write.
+     * @throws IOException if either file cannot be read or written, or the text file is malformed.
+     */
+    public static void convert(Path text, Path binary) throws IOException {
+        write(binary, PolygonReader.readPolygons(text));
+    }
+
+    /**
+     * Usage: PolygonBinary file.txt ...
+     * Converts each text polygon file to a binary file next to it, with the .txt extension replaced by .bin.
+     * @param args text polygon files to convert.
+     */
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            Path text = Path.of(arg);
+            String name = text.getFileName().toString();
+            String stem = name.endsWith(".txt") ? name.substring(0, name.length() - 4) : name;
+            Path binary = text.resolveSibling(stem + ".bin");
+            convert(text, binary);
+            System.out.println(text + " -> " + binary);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Write out the buffer if it cannot take the next value.
+     * @param channel the channel being written.
+     * @param buffer the buffer being filled.
+     * @param bytes size of the next value.
+     * @return the buffer, ready for the next value.
+     */
+    private static ByteBuffer flushIfFull(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return buffer;
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        return buffer.clear();
+    }
+
+}
@@ -0,0 +1,43 @@
+/**
+ * FILE: PolygonFormatException.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Thrown when a polygon file is malformed. Carries the line where reading failed.
+ */
+
+package tools;
+
+import java.io.IOException;
+
+public class PolygonFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /** Line of the file where the error was found, counting from 1. */
+    private final long line;
+
+    /**
+     * @param file name of the file being read.
+     * @param line line where the error was found, counting from 1.
+     * @param message description of the error.
+     */
+    public PolygonFormatException(String file, long line, String message) {
+        super(file + ":" + line + ": " + message);
+        this.line = line;
+    }
+
+    /**
+     * @param file name of the file being read.
+     * @param message description of the error, for files that are not line based.
+     */
+    public PolygonFormatException(String file, String message) {
+        super(file + ": " + message);
+        this.line = 0;
+    }
+
+    /** @return line where the error was found, or 0 if the file is not line based. */
+    public long getLine() {return line;}
+
+}
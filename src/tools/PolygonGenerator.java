@@ -0,0 +1,470 @@
+/**
+ * FILE: PolygonGenerator.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Seeded generators of random simple polygons, from a handful up to millions of vertices. Every polygon
+ * is oriented so that areaPoly2 is positive and rotated by a random angle so that no two vertices share a y
+ * coordinate, as the sweep algorithms require.
+ */
+
+package tools;
+
+import shape.ArrayPolygon;
+import java.util.Arrays;
+import java.util.Random;
+
+public class PolygonGenerator {
+
+    public enum Family {
+        /** Vertices at random angles on a circle. Every vertex is convex. */
+        CONVEX,
+        /** Vertices at random angles and random radii around a center it is star-shaped from. */
+        STAR,
+        /** Uniform random points joined in Hilbert curve order, with crossing edges removed by 2-opt moves. */
+        TWO_OPT,
+        /** A thin tube around a Hilbert curve. Nearly every vertex is a corner, half of them reflex. */
+        SPACE_FILLING,
+        /** A band wound around itself as a spiral. Long reflex chains and many vertices on each sweep line. */
+        SPIRAL,
+        /** Narrow teeth on a common base. Many reflex vertices, and few ears at any time. */
+        COMB
+    }
+
+    /**
+     * Generate a random simple polygon.
+     * @param family the shape family.
+     * @param n number of vertices, at least 4.
+     * @param seed seed of the random choices. The same arguments always give the same polygon.
+     * @return a new polygon with exactly n vertices.
+     */
+    public static ArrayPolygon generate(Family family, int n, long seed) {
+        if (n < 4) throw new IllegalArgumentException("polygon needs at least 4 vertices, got " + n);
+        Random random = new Random(seed);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        switch (family) {
+            case CONVEX -> radial(xs, ys, random, false);
+            case STAR -> radial(xs, ys, random, true);
+            case TWO_OPT -> twoOpt(xs, ys, random);
+            case SPACE_FILLING -> {
+                spaceFilling(xs, ys);
+                jitter(xs, ys, random, 0.02);
+            }
+            case SPIRAL -> spiral(xs, ys, random);
+            case COMB -> {
+                comb(xs, ys, random);
+                jitter(xs, ys, random, 0.02);
+            }
+        }
+        rotate(xs, ys, 0.1 + 0.4 * random.nextDouble());
+        orient(xs, ys);
+        return new ArrayPolygon(xs, ys);
+    }
+
+    /**
+     * Place vertices at jittered, increasing angles around the origin. Each angle stays within its own slot, so
+     * consecutive angles are less than half a turn apart and the polygon is simple.
+     */
+    private static void radial(double[] xs, double[] ys, Random random, boolean star) {
+        int n = xs.length;
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * (i + 0.9 * random.nextDouble()) / n;
+            double radius = star ? 500 + 500 * random.nextDouble() : 1000;
+            xs[i] = radius * Math.cos(angle);
+            ys[i] = radius * Math.sin(angle);
+        }
+    }
+
+    /**
+     * Join uniform random points in Hilbert curve order, then repeatedly replace two crossing edges ab, cd by ac, bd
+     * and reverse the tour between them. Each move shortens the tour, so the process ends, and it ends with no
+     * crossings. Edges are found through a uniform grid; stale grid entries are skipped rather than removed.
+     */
+    private static void twoOpt(double[] xs, double[] ys, Random random) {
+        int n = xs.length;
+        double size = 1000;
+        for (int i = 0; i < n; i++) {
+            xs[i] = size * random.nextDouble();
+            ys[i] = size * random.nextDouble();
+        }
+
+        // tour in Hilbert order; keys pack the curve index above the point index
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int hx = (int) (xs[i] / size * 65535);
+            int hy = (int) (ys[i] / size * 65535);
+            keys[i] = hilbertIndex(hx, hy) << 31 | i;
+        }
+        Arrays.sort(keys);
+        int[] tour = new int[n];
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            tour[i] = (int) (keys[i] & Integer.MAX_VALUE);
+            position[tour[i]] = i;
+        }
+        keys = null;
+
+        EdgeGrid grid = new EdgeGrid(xs, ys, position, size, Math.max(1, (int) Math.sqrt(n)));
+        for (int i = 0; i < n; i++) grid.add(tour[i], tour[(i + 1) % n]);
+
+        while (!grid.queueEmpty()) {
+            long edge = grid.poll();
+            int a = (int) (edge >>> 32);
+            int b = (int) edge;
+            if (!grid.isEdge(a, b)) continue;
+            long crossing = grid.findCrossing(a, b);
+            if (crossing == -1) continue;
+            int c = (int) (crossing >>> 32);
+            int d = (int) crossing;
+
+            // orient both edges along the tour
+            int u = tour[(position[a] + 1) % n] == b ? a : b;
+            int v = tour[(position[c] + 1) % n] == d ? c : d;
+            int uNext = tour[(position[u] + 1) % n];
+            int vNext = tour[(position[v] + 1) % n];
+
+            // reverse the shorter of the two tour sections between the edges
+            int from = (position[u] + 1) % n;
+            int to = position[v];
+            int length = (to - from + n) % n + 1;
+            if (2 * length > n) {
+                from = (position[v] + 1) % n;
+                to = position[u];
+                length = n - length;
+            }
+            for (int k = 0; k < length / 2; k++) {
+                int i = (from + k) % n;
+                int j = (to - k + n) % n;
+                int swap = tour[i];
+                tour[i] = tour[j];
+                tour[j] = swap;
+                position[tour[i]] = i;
+                position[tour[j]] = j;
+            }
+            grid.add(u, v);
+            grid.add(uNext, vNext);
+        }
+
+        double[] tourXs = new double[n];
+        double[] tourYs = new double[n];
+        for (int i = 0; i < n; i++) {
+            tourXs[i] = xs[tour[i]];
+            tourYs[i] = ys[tour[i]];
+        }
+        System.arraycopy(tourXs, 0, xs, 0, n);
+        System.arraycopy(tourYs, 0, ys, 0, n);
+    }
+
+    /**
+     * Outline a tube of half width 1/4 around a prefix of a Hilbert curve on the unit lattice. Going out along the
+     * left side and back along the right, each corner of the curve gives one vertex on each side. The curve does not
+     * touch itself, so neither does the tube. An odd vertex count gets a pointed cap at the far end.
+     */
+    private static void spaceFilling(double[] xs, double[] ys) {
+        int n = xs.length;
+        int pairs = n / 2;
+        double w = 0.25;
+        int order = 1;
+        while (1L << (2 * order) < 2L * n) order++;
+        int side = 1 << order;
+
+        int[] point = new int[2];
+        int[] previous = new int[2];
+        hilbertPoint(side, 0, previous);
+        hilbertPoint(side, 1, point);
+        int dx = point[0] - previous[0];
+        int dy = point[1] - previous[1];
+        // start of the tube, flat across the first point
+        xs[0] = previous[0] - w * dy;
+        ys[0] = previous[1] + w * dx;
+        xs[n - 1] = previous[0] + w * dy;
+        ys[n - 1] = previous[1] - w * dx;
+
+        int kept = 1;
+        int[] next = previous;
+        for (long d = 2; kept < pairs - 1; d++) {
+            hilbertPoint(side, d, next);
+            int nx = next[0] - point[0];
+            int ny = next[1] - point[1];
+            if (nx != dx || ny != dy) {
+                // miter point of the two offset lines, left normal of (dx, dy) is (-dy, dx)
+                double ox = w * (-dy - ny);
+                double oy = w * (dx + nx);
+                xs[kept] = point[0] + ox;
+                ys[kept] = point[1] + oy;
+                xs[n - 1 - kept] = point[0] - ox;
+                ys[n - 1 - kept] = point[1] - oy;
+                kept++;
+            }
+            int[] swap = point;
+            point = next;
+            next = swap;
+            dx = nx;
+            dy = ny;
+        }
+
+        // far end, flat across the point after the last corner, or pointed
+        xs[kept] = point[0] - w * dy;
+        ys[kept] = point[1] + w * dx;
+        xs[n - 1 - kept] = point[0] + w * dy;
+        ys[n - 1 - kept] = point[1] - w * dx;
+        if (n % 2 == 1) {
+            xs[kept + 1] = point[0] + w * dx;
+            ys[kept + 1] = point[1] + w * dy;
+        }
+    }
+
+    /**
+     * Wind a band of width half its pitch around an Archimedean spiral r = theta, out along the outer edge and back
+     * along the inner one. The number of turns grows with n slowly enough that chords between consecutive samples
+     * stay far inside the gap between turns.
+     */
+    private static void spiral(double[] xs, double[] ys, Random random) {
+        int n = xs.length;
+        int outer = (n + 1) / 2;
+        int inner = n - outer;
+        double turns = Math.max(0.25, Math.pow(n / 60.0, 2.0 / 3.0));
+        double start = 2 * Math.PI;
+        double span = 2 * Math.PI * turns;
+        double width = Math.PI;
+        for (int i = 0; i < outer; i++) {
+            double theta = start + span * (i + 0.8 * random.nextDouble()) / outer;
+            xs[i] = (theta + width) * Math.cos(theta);
+            ys[i] = (theta + width) * Math.sin(theta);
+        }
+        for (int i = 0; i < inner; i++) {
+            double theta = start + span * (inner - 1 - i + 0.8 * random.nextDouble()) / inner;
+            xs[outer + i] = theta * Math.cos(theta);
+            ys[outer + i] = theta * Math.sin(theta);
+        }
+    }
+
+    /**
+     * Teeth of random height over valleys at height 1 and a base at height 0. Teeth and valleys are either flat, with
+     * two vertices, or pointed, with one, which lets the vertex count be anything from 2m + 1 to 4m for m teeth.
+     */
+    private static void comb(double[] xs, double[] ys, Random random) {
+        int n = xs.length;
+        int teeth = (n + 3) / 4;
+        int extra = n - (2 * teeth + 1);
+        int k = 0;
+        for (int i = 0; i < teeth; i++) {
+            double height = 10 + random.nextDouble();
+            if (extra-- > 0) {
+                xs[k] = 2 * i;
+                ys[k++] = height;
+                xs[k] = 2 * i + 1;
+                ys[k++] = height;
+            } else {
+                xs[k] = 2 * i + 0.5;
+                ys[k++] = height;
+            }
+            if (i + 1 == teeth) break;
+            if (extra-- > 0) {
+                xs[k] = 2 * i + 1;
+                ys[k++] = 1;
+                xs[k] = 2 * i + 2;
+                ys[k++] = 1;
+            } else {
+                xs[k] = 2 * i + 1.5;
+                ys[k++] = 1;
+            }
+        }
+        xs[k] = 2 * teeth - 1;
+        ys[k++] = 0;
+        xs[k] = 0;
+        ys[k] = 0;
+    }
+
+    /**
+     * Move every vertex by up to the given amount along each axis, so that lattice-based shapes have no three
+     * collinear vertices. The amount must be well below the clearance between the shape's edges.
+     */
+    private static void jitter(double[] xs, double[] ys, Random random, double amount) {
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] += amount * (2 * random.nextDouble() - 1);
+            ys[i] += amount * (2 * random.nextDouble() - 1);
+        }
+    }
+
+    private static void rotate(double[] xs, double[] ys, double angle) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            xs[i] = x * cos - ys[i] * sin;
+            ys[i] = x * sin + ys[i] * cos;
+        }
+    }
+
+    /**
+     * Reverse the vertex order if needed so that areaPoly2 is positive. areaPoly2 sums the negated cross products,
+     * so it is positive when the shoelace sum below is negative.
+     */
+    private static void orient(double[] xs, double[] ys) {
+        int n = xs.length;
+        double cross = 0;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            cross += xs[i] * ys[j] - xs[j] * ys[i];
+        }
+        if (cross < 0) return;
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            double x = xs[i];
+            xs[i] = xs[j];
+            xs[j] = x;
+            double y = ys[i];
+            ys[i] = ys[j];
+            ys[j] = y;
+        }
+    }
+
+    /**
+     * @param x column on a 2^16 by 2^16 lattice.
+     * @param y row on the lattice.
+     * @return the position of (x, y) along the Hilbert curve through the lattice.
+     */
+    private static long hilbertIndex(int x, int y) {
+        int side = 1 << 16;
+        long d = 0;
+        for (int s = side / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = side - 1 - x;
+                    y = side - 1 - y;
+                }
+                int swap = x;
+                x = y;
+                y = swap;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * @param side side of the lattice, a power of two.
+     * @param d position along the Hilbert curve through the lattice.
+     * @param point receives the column and row of the lattice point at position d.
+     */
+    private static void hilbertPoint(int side, long d, int[] point) {
+        int x = 0;
+        int y = 0;
+        for (int s = 1; s < side; s *= 2) {
+            int rx = (int) (1 & (d / 2));
+            int ry = (int) (1 & (d ^ rx));
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int swap = x;
+                x = y;
+                y = swap;
+            }
+            x += s * rx;
+            y += s * ry;
+            d /= 4;
+        }
+        point[0] = x;
+        point[1] = y;
+    }
+
+    /**
+     * Uniform grid of tour edges for the 2-opt search, with a queue of edges still to be checked for crossings. An
+     * edge is stored in every cell its bounding box overlaps. Entries are never removed; an entry is stale once its
+     * endpoints are no longer adjacent in the tour.
+     */
+    private static class EdgeGrid {
+        private final double[] xs, ys;
+        private final int[] position;
+        private final int side;
+        private final double cell;
+        private final int[] first;
+        private int[] entryA = new int[1024], entryB = new int[1024], entryNext = new int[1024];
+        private int entries = 0;
+        private long[] queue = new long[1024];
+        private int head = 0, tail = 0;
+
+        EdgeGrid(double[] xs, double[] ys, int[] position, double size, int side) {
+            this.xs = xs;
+            this.ys = ys;
+            this.position = position;
+            this.side = side;
+            this.cell = size / side;
+            this.first = new int[side * side];
+            Arrays.fill(first, -1);
+        }
+
+        boolean queueEmpty() {return head == tail;}
+
+        long poll() {
+            long edge = queue[head++];
+            if (head == tail) head = tail = 0;
+            return edge;
+        }
+
+        /** Store an edge in the grid and queue it for checking. */
+        void add(int a, int b) {
+            if (tail == queue.length) {
+                if (head > queue.length / 2) {
+                    System.arraycopy(queue, head, queue, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                } else {
+                    queue = Arrays.copyOf(queue, 2 * queue.length);
+                }
+            }
+            queue[tail++] = (long) a << 32 | b & 0xffffffffL;
+            for (int r = cell(Math.min(ys[a], ys[b])); r <= cell(Math.max(ys[a], ys[b])); r++) {
+                for (int c = cell(Math.min(xs[a], xs[b])); c <= cell(Math.max(xs[a], xs[b])); c++) {
+                    if (entries == entryA.length) {
+                        entryA = Arrays.copyOf(entryA, 2 * entries);
+                        entryB = Arrays.copyOf(entryB, 2 * entries);
+                        entryNext = Arrays.copyOf(entryNext, 2 * entries);
+                    }
+                    entryA[entries] = a;
+                    entryB[entries] = b;
+                    entryNext[entries] = first[r * side + c];
+                    first[r * side + c] = entries++;
+                }
+            }
+        }
+
+        boolean isEdge(int a, int b) {
+            int d = Math.abs(position[a] - position[b]);
+            return d == 1 || d == position.length - 1;
+        }
+
+        /**
+         * @return an edge properly crossing ab, packed as two vertex indices, or -1 if there is none.
+         */
+        long findCrossing(int a, int b) {
+            for (int r = cell(Math.min(ys[a], ys[b])); r <= cell(Math.max(ys[a], ys[b])); r++) {
+                for (int c = cell(Math.min(xs[a], xs[b])); c <= cell(Math.max(xs[a], xs[b])); c++) {
+                    for (int e = first[r * side + c]; e != -1; e = entryNext[e]) {
+                        int p = entryA[e];
+                        int q = entryB[e];
+                        if (p == a || p == b || q == a || q == b || !isEdge(p, q)) continue;
+                        if (cross(a, b, p) * cross(a, b, q) < 0 && cross(p, q, a) * cross(p, q, b) < 0) {
+                            return (long) p << 32 | q & 0xffffffffL;
+                        }
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private double cross(int a, int b, int c) {
+            return (xs[b] - xs[a]) * (ys[c] - ys[a]) - (xs[c] - xs[a]) * (ys[b] - ys[a]);
+        }
+
+        private int cell(double v) {return Math.min(side - 1, Math.max(0, (int) (v / cell)));}
+    }
+
+}
@@ -0,0 +1,245 @@
+/**
+ * FILE: PolygonReader.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Reads polygon text files through a memory mapping, parsing coordinates straight from the mapped bytes
+ * into primitive arrays. Same format as PolygonTools.readPolygon, one x,y vertex per line, except that a file may
+ * hold several polygons separated by blank lines.
+ * NOTE: Files larger than 2GB are mapped one window at a time. A single line must fit in a window.
+ */
+
+package tools;
+
+import shape.ArrayPolygon;
+import shape.PolygonWithHoles;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class PolygonReader {
+    /** Largest window of the file mapped at once. */
+    private static final long WINDOW = 1L << 30;
+    /** Powers of ten that are exact doubles. */
+    private static final double[] POWERS_OF_TEN = new double[23];
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+
+    /** Name of the file, for error messages. */
+    private final String file;
+    /** Window being parsed. */
+    private MappedByteBuffer buffer;
+    /** Position of the parser in the window. */
+    private int cursor;
+    /** Line being parsed, counting from 1. */
+    private long line = 0;
+
+    /** Coordinates read so far, for all polygons. */
+    private double[] xs = new double[1024], ys = new double[1024];
+    /** Number of vertices read so far. */
+    private int count = 0;
+    /** Index of the first vertex of each polygon, followed by the end of the last one. */
+    private int[] starts = new int[16];
+    /** Number of finished polygons. */
+    private int polygons = 0;
+    /** Line of the last vertex read. */
+    private long lastVertexLine = 0;
+
+    private PolygonReader(String file) {this.file = file;}
+
+    /**
+     * Read every polygon of a file.
+     * @param path the polygon file.
+     * @return the polygons in file order.
+     * @throws PolygonFormatException if a line is not a vertex or a blank line, or a polygon has fewer than three
+     * vertices.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ArrayList<ArrayPolygon> readPolygons(Path path) throws IOException {
+        PolygonReader reader = new PolygonReader(path.toString());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW, size - position);
+                reader.buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                // stop the window after its last complete line, unless it reaches the end of the file
+                if (position + length < size) {
+                    while (end > 0 && reader.buffer.get(end - 1) != '\n') end--;
+                    if (end == 0) throw new PolygonFormatException(reader.file, reader.line + 1, "line longer than " + WINDOW + " bytes");
+                }
+                reader.parse(end);
+                position += end;
+            }
+        }
+        reader.endPolygon();
+
+        ArrayList<ArrayPolygon> result = new ArrayList<>(reader.polygons);
+        for (int p = 0; p < reader.polygons; p++) {
+            int from = reader.starts[p];
+            int to = reader.starts[p + 1];
+            double[] xs = Arrays.copyOfRange(reader.xs, from, to);
+            double[] ys = Arrays.copyOfRange(reader.ys, from, to);
+            result.add(new ArrayPolygon(xs, ys));
+        }
+        return result;
+    }
+
+    /**
+     * Read a file holding a single polygon.
+     * @param path the polygon file.
+     * @return the first polygon of the file.
+     * @throws PolygonFormatException if the file is malformed or holds no polygon.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ArrayPolygon readPolygon(Path path) throws IOException {
+        ArrayList<ArrayPolygon> polygons = readPolygons(path);
+        if (polygons.isEmpty()) throw new PolygonFormatException(path.toString(), 1, "no polygon in file");
+        return polygons.get(0);
+    }
+
+    /**
+     * Read a file holding a polygon with holes: the outer ring first, then one polygon per hole.
+     * @param path the polygon file.
+     * @return the polygon with holes.
+     * @throws PolygonFormatException if the file is malformed or holds no polygon.
+     * @throws IOException if the file cannot be read.
+     */
+    public static PolygonWithHoles readPolygonWithHoles(Path path) throws IOException {
+        ArrayList<ArrayPolygon> polygons = readPolygons(path);
+        if (polygons.isEmpty()) throw new PolygonFormatException(path.toString(), 1, "no polygon in file");
+        PolygonWithHoles result = new PolygonWithHoles(polygons.get(0).toPolygon());
+        for (int p = 1; p < polygons.size(); p++) result.addHole(polygons.get(p).toPolygon());
+        return result;
+    }
+
+    /**
+     * Parse the lines of the current window.
+     * @param end position just past the last line to parse.
+     */
+    private void parse(int end) throws PolygonFormatException {
+        cursor = 0;
+        while (cursor < end) {
+            line++;
+            int lineEnd = cursor;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') lineEnd++;
+            int next = lineEnd + 1;
+            if (lineEnd > cursor && buffer.get(lineEnd - 1) == '\r') lineEnd--;
+
+            skipBlanks(lineEnd);
+            if (cursor == lineEnd) {
+                endPolygon();
+            } else {
+                double x = parseDouble(lineEnd, "x");
+                skipBlanks(lineEnd);
+                if (cursor == lineEnd || buffer.get(cursor) != ',') throw error("expected ',' after x coordinate");
+                cursor++;
+                skipBlanks(lineEnd);
+                double y = parseDouble(lineEnd, "y");
+                skipBlanks(lineEnd);
+                if (cursor != lineEnd) throw error("unexpected text after y coordinate");
+                addVertex(x, y);
+            }
+            cursor = next;
+        }
+    }
+
+    /**
+     * Parse a decimal number at the cursor and move past it. Plain decimals with up to 15 significant digits are
+     * converted exactly from their digits; anything else goes through Double.parseDouble.
+     * @param end end of the line.
+     * @param name name of the coordinate, for error messages.
+     * @return the parsed value.
+     */
+    private double parseDouble(int end, String name) throws PolygonFormatException {
+        int start = cursor;
+        int i = cursor;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) negative = buffer.get(i++) == '-';
+
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = 0;
+        boolean point = false;
+        boolean any = false;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                any = true;
+                if (mantissa != 0 || b != '0') digits++;
+                mantissa = mantissa * 10 + (b - '0');
+                if (point) fraction++;
+                if (digits > 15) break;
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (any && fraction < POWERS_OF_TEN.length && (i == end || delimiter(buffer.get(i)))) {
+            cursor = i;
+            double value = mantissa / POWERS_OF_TEN[fraction];
+            return negative ? -value : value;
+        }
+
+        // exponents, long mantissas, NaN and Infinity
+        int tokenEnd = start;
+        while (tokenEnd < end && !delimiter(buffer.get(tokenEnd))) tokenEnd++;
+        if (tokenEnd == start) throw error("missing " + name + " coordinate");
+        byte[] token = new byte[tokenEnd - start];
+        buffer.get(start, token);
+        try {
+            double value = Double.parseDouble(new String(token, StandardCharsets.ISO_8859_1));
+            cursor = tokenEnd;
+            return value;
+        } catch (NumberFormatException e) {
+            throw error("invalid " + name + " coordinate");
+        }
+    }
+
+    private void skipBlanks(int end) {
+        while (cursor < end && (buffer.get(cursor) == ' ' || buffer.get(cursor) == '\t')) cursor++;
+    }
+
+    private static boolean delimiter(byte b) {return b == ',' || b == ' ' || b == '\t';}
+
+    private void addVertex(double x, double y) {
+        if (count == xs.length) {
+            xs = Arrays.copyOf(xs, 2 * count);
+            ys = Arrays.copyOf(ys, 2 * count);
+        }
+        xs[count] = x;
+        ys[count] = y;
+        count++;
+        lastVertexLine = line;
+    }
+
+    /**
+     * Close the polygon being read, if it has any vertices.
+     */
+    private void endPolygon() throws PolygonFormatException {
+        int start = starts[polygons];
+        if (count == start) return;
+        if (count - start < 3) {
+            throw new PolygonFormatException(file, lastVertexLine, "polygon needs at least three vertices");
+        }
+        if (polygons + 2 > starts.length) starts = Arrays.copyOf(starts, 2 * starts.length);
+        polygons++;
+        starts[polygons] = count;
+    }
+
+    private PolygonFormatException error(String message) {
+        return new PolygonFormatException(file, line, message);
+    }
+
+}
@@ -10,11 +10,16 @@
 
 package tools;
 
+import shape.Diagonal;
 import shape.Point;
 import shape.Polygon;
 import java.io.BufferedReader;
 import java.io.FileReader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static main.Triangulation.inCone;
 
 public class PolygonTools {
 
@@ -38,4 +43,120 @@ public class PolygonTools {
         return null;
     }
 
+    /**
+     * Splits a polygon along non-crossing diagonals. Diagonals are nested like parentheses over the vertex order, so
+     * one pass over the vertices with a stack of open pieces assigns every vertex to its pieces.
+     * @param size number of vertices of the polygon.
+     * @param diagonals non-crossing diagonals, each given as the pair of indices of its vertices.
+     * @return a list of pieces, each given as its vertex indices in polygon order.
+     */
+    public static ArrayList<int[]> splitPieces(int size, List<int[]> diagonals) {
+        // orient each diagonal from its lower to its higher index, nesting longer diagonals first
+        ArrayList<int[]> chords = new ArrayList<>(diagonals.size());
+        for (int[] d : diagonals) chords.add(new int[] {Math.min(d[0], d[1]), Math.max(d[0], d[1])});
+        chords.sort((c1, c2) -> c1[0] != c2[0] ? Integer.compare(c1[0], c2[0]) : Integer.compare(c2[1], c1[1]));
+
+        ArrayList<int[]> pieces = new ArrayList<>();
+        ArrayDeque<ArrayList<Integer>> open = new ArrayDeque<>();
+        ArrayDeque<Integer> ends = new ArrayDeque<>();
+        open.push(new ArrayList<>());
+        ends.push(size);
+        int c = 0;
+        for (int v = 0; v < size; v++) {
+            // close the pieces whose diagonal ends here
+            while (ends.peek() == v) {
+                ArrayList<Integer> piece = open.pop();
+                ends.pop();
+                piece.add(v);
+                pieces.add(piece.stream().mapToInt(Integer::intValue).toArray());
+            }
+            open.peek().add(v);
+
+            // open a piece for each diagonal starting here
+            for (; c < chords.size() && chords.get(c)[0] == v; c++) {
+                ArrayList<Integer> piece = new ArrayList<>();
+                piece.add(v);
+                open.push(piece);
+                ends.push(chords.get(c)[1]);
+            }
+        }
+        pieces.add(open.pop().stream().mapToInt(Integer::intValue).toArray());
+        return pieces;
+    }
+
+    /**
+     * Map diagonals given by their end points back to the polygon's vertex indices. The vertices are sorted by
+     * position and each end point found by binary search. A weakly simple polygon, such as a bridged polygon with
+     * holes, has vertices appearing more than once; a diagonal then takes the copies whose interior angles it
+     * passes through, since the copies of a vertex face disjoint parts of the polygon.
+     * @param polygon the polygon the diagonals belong to.
+     * @param diagonals diagonals between vertices of the polygon.
+     * @return the diagonals, each given as the pair of indices of its vertices.
+     */
+    public static ArrayList<int[]> vertexIndices(Polygon polygon, List<Diagonal> diagonals) {
+        int n = polygon.getSize();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        Integer[] boxed = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = polygon.getPoint(v).getX();
+            ys[v] = polygon.getPoint(v).getY();
+            boxed[v] = v;
+        }
+        Arrays.sort(boxed, (u, v) -> compare(xs[u], ys[u], xs[v], ys[v]));
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = boxed[i];
+
+        ArrayList<int[]> pairs = new ArrayList<>(diagonals.size());
+        for (Diagonal d : diagonals) {
+            int from1 = find(order, xs, ys, d.getP1().getX(), d.getP1().getY());
+            int from2 = find(order, xs, ys, d.getP2().getX(), d.getP2().getY());
+            int to1 = from1 + 1;
+            int to2 = from2 + 1;
+            while (to1 < n && compare(xs[order[to1]], ys[order[to1]], xs[order[from1]], ys[order[from1]]) == 0) to1++;
+            while (to2 < n && compare(xs[order[to2]], ys[order[to2]], xs[order[from2]], ys[order[from2]]) == 0) to2++;
+
+            if (to1 - from1 == 1 && to2 - from2 == 1) {
+                pairs.add(new int[] {order[from1], order[from2]});
+                continue;
+            }
+
+            // among the copies of each end, prefer the pair whose cones both contain the diagonal
+            int[] best = null;
+            int bestScore = -1;
+            for (int i = from1; i < to1; i++) {
+                for (int j = from2; j < to2; j++) {
+                    int u = order[i];
+                    int v = order[j];
+                    int gap = Math.abs(u - v);
+                    if (gap <= 1 || gap == n - 1) continue;
+                    int score = (inCone(polygon, u, v) ? 1 : 0) + (inCone(polygon, v, u) ? 1 : 0);
+                    if (score > bestScore) {
+                        best = new int[] {u, v};
+                        bestScore = score;
+                    }
+                }
+            }
+            pairs.add(best != null ? best : new int[] {order[from1], order[from2]});
+        }
+        return pairs;
+    }
+
+    /** @return the order of two points, by x coordinate and then by y coordinate. */
+    private static int compare(double x1, double y1, double x2, double y2) {
+        return x1 != x2 ? Double.compare(x1, x2) : Double.compare(y1, y2);
+    }
+
+    /** @return the first position in the sorted order holding a vertex at (x, y). */
+    private static int find(int[] order, double[] xs, double[] ys, double x, double y) {
+        int lo = 0;
+        int hi = order.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(xs[order[mid]], ys[order[mid]], x, y) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
 }
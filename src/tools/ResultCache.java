@@ -0,0 +1,421 @@
+/**
+ * FILE: ResultCache.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Content-addressed cache in front of the triangulation, trapezoidalization and monotone partition.
+ * Results are keyed by a 128-bit hash of the polygon's coordinates and kept in memory, least recently used first out
+ * once the size limit is reached. With a store file, evicted results are spilled to disk and read back through a
+ * memory mapping, so they survive between runs.
+ * NOTE: All values in the store are little-endian. The file is a sequence of segments of SEGMENT bytes, the first
+ * starting with the header
+ *   bytes 0-3     magic "CGRC"
+ *   bytes 4-7     int version, currently 1
+ *   bytes 8-15    reserved, zero
+ * followed by records. Each record is
+ *   16 bytes      the two longs of the key's hash
+ *   4 bytes       int kind of result, 0 ending the records of a segment
+ *   4 bytes       int length of the payload in doubles
+ *   payload       the encoded result
+ */
+
+package tools;
+
+import main.Monotone;
+import main.Trapezoidalization;
+import main.Triangulation;
+import shape.ArrayPolygon;
+import shape.Diagonal;
+import shape.Point;
+import shape.Polygon;
+import shape.Segment;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class ResultCache implements Closeable {
+    /** First four bytes of every store file. */
+    public static final int MAGIC = 'C' | 'G' << 8 | 'R' << 16 | 'C' << 24;
+    public static final int VERSION = 1;
+    /** Size of the store header in bytes. */
+    public static final int HEADER_BYTES = 16;
+    /** Size of a store segment in bytes. Records never straddle segments, so larger results stay in memory only. */
+    public static final int SEGMENT = 1 << 26;
+
+    /** Kinds of results, as stored in the record headers. */
+    private static final int TRIANGULATE = 1, TRAPEZOIDALIZATION = 2, MONOTONE = 3;
+    /** Size of a record header in bytes. */
+    private static final int RECORD_BYTES = 24;
+    /** Estimated memory used by an entry besides its payload. */
+    private static final long ENTRY_BYTES = 96;
+
+    /** Largest number of bytes of results kept in memory. */
+    private final long maxBytes;
+    /** Results in memory, least recently used first. */
+    private final LinkedHashMap<Key, double[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    /** Store file, or null without one. */
+    private final FileChannel channel;
+    /** Mapping of each segment of the store. */
+    private final ArrayList<MappedByteBuffer> segments = new ArrayList<>();
+    /** Position of each result in the store. */
+    private final HashMap<Key, Long> stored = new HashMap<>();
+    /** Position of the next record in the store. */
+    private long end;
+
+    private long hits, diskHits, misses, evictions;
+
+    /**
+     * Create a cache held in memory only.
+     * @param maxBytes largest number of bytes of results kept in memory.
+     */
+    public ResultCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.channel = null;
+    }
+
+    /**
+     * Create a cache spilling to a store file. The results already in the file are available at once.
+     * @param maxBytes largest number of bytes of results kept in memory.
+     * @param store the store file. It is created if it does not exist.
+     * @throws PolygonFormatException if the file exists but is not a store.
+     * @throws IOException if the file cannot be opened.
+     */
+    public ResultCache(long maxBytes, Path store) throws IOException {
+        this.maxBytes = maxBytes;
+        this.channel = FileChannel.open(store, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size % SEGMENT != 0) throw new PolygonFormatException(store.toString(), "truncated segment");
+            for (long start = 0; start < size; start += SEGMENT) segments.add(map(start));
+            if (segments.isEmpty()) {
+                segments.add(map(0));
+                segments.get(0).putInt(0, MAGIC).putInt(4, VERSION);
+            }
+            String file = store.toString();
+            MappedByteBuffer header = segments.get(0);
+            if (header.getInt(0) != MAGIC) throw new PolygonFormatException(file, "not a result store");
+            if (header.getInt(4) != VERSION) {
+                throw new PolygonFormatException(file, "unsupported version " + header.getInt(4));
+            }
+            index(file);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Triangulate a polygon by ear clipping, or return the cached triangulation.
+     * @param polygon the shape being triangulated. It is not modified.
+     * @return a list of diagonals that comprise the triangulation.
+     */
+    public ArrayList<Diagonal> triangulate(Polygon polygon) {
+        Key key = new Key(polygon, TRIANGULATE);
+        double[] payload = lookup(key);
+        if (payload == null) {
+            payload = encode(Triangulation.triangulate(new ArrayPolygon(polygon)), Diagonal::getP1, Diagonal::getP2);
+            insert(key, payload);
+        }
+        ArrayList<Diagonal> diagonals = new ArrayList<>(payload.length / 4);
+        for (int i = 0; i < payload.length; i += 4) {
+            Point p1 = new Point(payload[i], payload[i + 1]);
+            diagonals.add(new Diagonal(p1, new Point(payload[i + 2], payload[i + 3])));
+        }
+        return diagonals;
+    }
+
+    /**
+     * Trapezoidalize a polygon, or return the cached trapezoidalization.
+     * @param polygon the shape being trapezoidalized.
+     * @return a list of segments comprising the trapezoidalization.
+     */
+    public ArrayList<Segment> trapezoidalization(Polygon polygon) {
+        Key key = new Key(polygon, TRAPEZOIDALIZATION);
+        double[] payload = lookup(key);
+        if (payload == null) {
+            payload = encode(Trapezoidalization.trapezoidalization(polygon), Segment::getP1, Segment::getP2);
+            insert(key, payload);
+        }
+        ArrayList<Segment> segments = new ArrayList<>(payload.length / 4);
+        for (int i = 0; i < payload.length; i += 4) {
+            Point p1 = new Point(payload[i], payload[i + 1]);
+            segments.add(new Segment(p1, new Point(payload[i + 2], payload[i + 3])));
+        }
+        return segments;
+    }
+
+    /**
+     * Partition a polygon into monotone pieces, or return the cached pieces.
+     * @param polygon the shape being partitioned.
+     * @return a list of monotone polygons.
+     */
+    public ArrayList<Polygon> monotone(Polygon polygon) {
+        Key key = new Key(polygon, MONOTONE);
+        double[] payload = lookup(key);
+        if (payload == null) {
+            // each piece is its vertex count followed by its coordinates
+            ArrayList<Polygon> pieces = Monotone.monotone(polygon);
+            int length = 0;
+            for (Polygon piece : pieces) length += 1 + 2 * piece.getSize();
+            payload = new double[length];
+            int i = 0;
+            for (Polygon piece : pieces) {
+                payload[i++] = piece.getSize();
+                for (Point p : piece.getPoints()) {
+                    payload[i++] = p.getX();
+                    payload[i++] = p.getY();
+                }
+            }
+            insert(key, payload);
+        }
+        ArrayList<Polygon> pieces = new ArrayList<>();
+        for (int i = 0; i < payload.length; ) {
+            int size = (int) payload[i++];
+            ArrayList<Point> points = new ArrayList<>(size);
+            for (int v = 0; v < size; v++, i += 2) points.add(new Point(payload[i], payload[i + 1]));
+            pieces.add(new Polygon(points));
+        }
+        return pieces;
+    }
+
+    /** @return the number of lookups answered from memory. */
+    public synchronized long getHits() {return hits;}
+
+    /** @return the number of lookups answered from the store. */
+    public synchronized long getDiskHits() {return diskHits;}
+
+    /** @return the number of lookups that had to compute the result. */
+    public synchronized long getMisses() {return misses;}
+
+    /** @return the number of results evicted from memory. */
+    public synchronized long getEvictions() {return evictions;}
+
+    /** @return the estimated number of bytes of results in memory. */
+    public synchronized long getBytes() {return bytes;}
+
+    /** @return the number of results in the store. */
+    public synchronized int getStored() {return stored.size();}
+
+    @Override
+    public synchronized String toString() {
+        long lookups = hits + diskHits + misses;
+        return String.format("%d lookups, %d hits, %d disk hits, %d misses (%.1f%% hit rate), %d evictions, "
+                        + "%d results in %d bytes, %d stored", lookups, hits, diskHits, misses,
+                lookups == 0 ? 0 : 100.0 * (hits + diskHits) / lookups, evictions, memory.size(), bytes, stored.size());
+    }
+
+    /**
+     * Write the results still only in memory to the store, flush it to disk and close it. The cache keeps answering
+     * from memory afterwards.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null || !channel.isOpen()) return;
+        for (Map.Entry<Key, double[]> entry : memory.entrySet()) {
+            if (!stored.containsKey(entry.getKey())) spill(entry.getKey(), entry.getValue());
+        }
+        for (MappedByteBuffer segment : segments) segment.force();
+        channel.close();
+    }
+
+    /**
+     * Find a result in memory, then in the store.
+     * @param key the key of the result.
+     * @return the encoded result, or null on a miss.
+     */
+    private synchronized double[] lookup(Key key) {
+        double[] payload = memory.get(key);
+        if (payload != null) {
+            hits++;
+            return payload;
+        }
+        Long position = stored.get(key);
+        if (position == null || !channel.isOpen()) {
+            misses++;
+            return null;
+        }
+        diskHits++;
+        MappedByteBuffer segment = segments.get((int) (position / SEGMENT));
+        int offset = (int) (position % SEGMENT);
+        payload = new double[segment.getInt(offset + 20)];
+        for (int i = 0; i < payload.length; i++) payload[i] = segment.getDouble(offset + RECORD_BYTES + 8 * i);
+        put(key, payload);
+        return payload;
+    }
+
+    /** Add a computed result. Another thread may have added the same one meanwhile, which is harmless. */
+    private synchronized void insert(Key key, double[] payload) {
+        if (!memory.containsKey(key)) put(key, payload);
+    }
+
+    /**
+     * Add a result to memory, evicting the least recently used results past the size limit. Evicted results are
+     * written to the store unless they are already there.
+     */
+    private void put(Key key, double[] payload) {
+        memory.put(key, payload);
+        bytes += size(payload);
+        Iterator<Map.Entry<Key, double[]>> eldest = memory.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, double[]> entry = eldest.next();
+            eldest.remove();
+            bytes -= size(entry.getValue());
+            evictions++;
+            if (channel != null && channel.isOpen() && !stored.containsKey(entry.getKey())) {
+                spill(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Append a record to the store, starting a new segment if it does not fit in the last one.
+     */
+    private void spill(Key key, double[] payload) {
+        long length = RECORD_BYTES + 8L * payload.length;
+        if (length > SEGMENT - HEADER_BYTES) return;
+        try {
+            if (end % SEGMENT + length > SEGMENT) {
+                end = (long) segments.size() * SEGMENT;
+                segments.add(map(end));
+            }
+        } catch (IOException e) {
+            // a full disk only stops the spilling
+            return;
+        }
+        MappedByteBuffer segment = segments.get((int) (end / SEGMENT));
+        int offset = (int) (end % SEGMENT);
+        segment.putLong(offset, key.hash1).putLong(offset + 8, key.hash2);
+        segment.putInt(offset + 20, payload.length);
+        for (int i = 0; i < payload.length; i++) segment.putDouble(offset + RECORD_BYTES + 8 * i, payload[i]);
+        // the kind is written last, so an interrupted write leaves the end of the records
+        segment.putInt(offset + 16, key.kind);
+        stored.put(key, end);
+        end += length;
+    }
+
+    /**
+     * Read the record headers of every segment of the store into the index.
+     * @param file name of the store, for error messages.
+     */
+    private void index(String file) throws PolygonFormatException {
+        for (int s = 0; s < segments.size(); s++) {
+            MappedByteBuffer segment = segments.get(s);
+            int offset = s == 0 ? HEADER_BYTES : 0;
+            while (offset + RECORD_BYTES <= SEGMENT && segment.getInt(offset + 16) != 0) {
+                int length = segment.getInt(offset + 20);
+                if (length < 0 || offset + RECORD_BYTES + 8L * length > SEGMENT) {
+                    throw new PolygonFormatException(file, "corrupt record at " + ((long) s * SEGMENT + offset));
+                }
+                Key key = new Key(segment.getLong(offset), segment.getLong(offset + 8), segment.getInt(offset + 16));
+                stored.put(key, (long) s * SEGMENT + offset);
+                offset += RECORD_BYTES + 8 * length;
+            }
+            end = (long) s * SEGMENT + offset;
+        }
+    }
+
+    private MappedByteBuffer map(long start) throws IOException {
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        return segment;
+    }
+
+    private static long size(double[] payload) {return ENTRY_BYTES + 8L * payload.length;}
+
+    /** Encode segments between two points as their four coordinates each. */
+    private static <T> double[] encode(List<T> segments, Function<T, Point> first, Function<T, Point> second) {
+        double[] payload = new double[4 * segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            Point p1 = first.apply(segments.get(i));
+            Point p2 = second.apply(segments.get(i));
+            payload[4 * i] = p1.getX();
+            payload[4 * i + 1] = p1.getY();
+            payload[4 * i + 2] = p2.getX();
+            payload[4 * i + 3] = p2.getY();
+        }
+        return payload;
+    }
+
+    /**
+     * Compute the 128-bit MurmurHash3 (x64 variant) of a polygon's coordinates, one x,y pair per block. Negative
+     * zeros are folded into zeros, as Point.equals treats them.
+     * @param polygon the polygon.
+     * @return the two halves of the hash.
+     */
+    public static long[] hash(Polygon polygon) {
+        final long c1 = 0x87c37b91114253d5L, c2 = 0x4cf5ad432745937fL;
+        long h1 = 0, h2 = 0;
+        for (Point p : polygon.getPoints()) {
+            long k1 = Double.doubleToLongBits(p.getX() + 0.0);
+            long k2 = Double.doubleToLongBits(p.getY() + 0.0);
+            h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+            h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52dce729;
+            h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+            h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495ab5;
+        }
+        long length = 16L * polygon.getSize();
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = mix(h1);
+        h2 = mix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[] {h1, h2};
+    }
+
+    /** Final avalanche step of MurmurHash3. */
+    private static long mix(long k) {
+        k = (k ^ (k >>> 33)) * 0xff51afd7ed558ccdL;
+        k = (k ^ (k >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return k ^ (k >>> 33);
+    }
+
+    /** A polygon's hash together with the kind of result. */
+    private static final class Key {
+        private final long hash1;
+        private final long hash2;
+        private final int kind;
+
+        private Key(long hash1, long hash2, int kind) {
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+            this.kind = kind;
+        }
+
+        private Key(Polygon polygon, int kind) {
+            long[] hash = hash(polygon);
+            this.hash1 = hash[0];
+            this.hash2 = hash[1];
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (!(o instanceof Key k)) return false;
+            return hash1 == k.hash1 && hash2 == k.hash2 && kind == k.kind;
+        }
+
+        @Override
+        public int hashCode() {return (int) hash1 ^ kind;}
+    }
+
+}
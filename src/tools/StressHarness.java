@@ -0,0 +1,405 @@
+/**
+ * FILE: StressHarness.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Differential stress test. Generates random simple polygons of every family over a range of sizes and
+ * seeds, runs the triangulation, trapezoidalization and monotone partition algorithms on them in parallel, and
+ * checks the invariants every correct answer satisfies. The dynamic triangulation is also put through random edits.
+ */
+
+package tools;
+
+import main.ConvexPartition;
+import main.Delaunay;
+import main.DynamicTriangulation;
+import main.HoleBridging;
+import main.Monotone;
+import main.PolygonValidator;
+import main.Predicates;
+import main.Trapezoidalization;
+import main.Triangulation;
+import shape.ArrayPolygon;
+import shape.Diagonal;
+import shape.HalfEdgeMesh;
+import shape.Point;
+import shape.Polygon;
+import shape.PolygonWithHoles;
+import shape.Segment;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import static main.Trapezoidalization.above;
+import static main.Triangulation.area2;
+import static main.Triangulation.areaPoly2;
+import static tools.PolygonTools.splitPieces;
+import static tools.PolygonTools.vertexIndices;
+
+public class StressHarness {
+    /** Largest polygon given to ear clipping, which takes quadratic time. */
+    private static final int EAR_LIMIT = 20000;
+    /** Relative tolerance when comparing summed piece areas to the polygon's area. */
+    private static final double AREA_TOLERANCE = 1e-8;
+    /** Number of random moves, insertions and removals made on each polygon's dynamic triangulation. */
+    private static final int EDITS = 200;
+    /** Number of edits then putting a vertex on top of another, each of which must be rejected. */
+    private static final int COINCIDENT_EDITS = 4;
+
+    /**
+     * Usage: StressHarness [-threads n] [-seeds k] [-sizes n1,n2,...] [-families F1,F2,...]
+     * Prints one line per polygon and exits with status 1 if any check failed.
+     * @param args command line arguments.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int seeds = 4;
+        int[] sizes = {10, 100, 1000, 10000, 100000, 1000000};
+        PolygonGenerator.Family[] families = PolygonGenerator.Family.values();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "-seeds" -> seeds = Integer.parseInt(args[i + 1]);
+                case "-sizes" -> sizes = Arrays.stream(args[i + 1].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "-families" -> families = Arrays.stream(args[i + 1].split(","))
+                        .map(f -> PolygonGenerator.Family.valueOf(f.toUpperCase(Locale.ROOT)))
+                        .toArray(PolygonGenerator.Family[]::new);
+                default -> {
+                    System.err.println("usage: StressHarness [-threads n] [-seeds k] [-sizes n1,n2,...] "
+                            + "[-families F1,F2,...]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        // largest polygons first, so the long cases do not start last
+        ArrayList<Callable<String>> cases = new ArrayList<>();
+        int[] descending = Arrays.stream(sizes).boxed().sorted(Comparator.reverseOrder()).mapToInt(n -> n).toArray();
+        for (int n : descending) {
+            for (PolygonGenerator.Family family : families) {
+                for (long seed = 0; seed < seeds; seed++) {
+                    long s = seed;
+                    cases.add(() -> run(family, n, s));
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        int failures = 0;
+        for (Future<String> result : pool.invokeAll(cases)) {
+            String line = result.get();
+            if (line.contains(" FAIL ")) failures++;
+            System.out.println(line);
+        }
+        pool.shutdown();
+        System.out.println(cases.size() + " polygons, " + failures + " failed");
+        System.exit(failures > 0 ? 1 : 0);
+    }
+
+    /**
+     * Generate one polygon and check every algorithm on it.
+     * @param family the shape family.
+     * @param n number of vertices.
+     * @param seed seed of the generator.
+     * @return a report line, containing FAIL and the first failed check if there was one.
+     */
+    public static String run(PolygonGenerator.Family family, int n, long seed) {
+        String name = family + " n=" + n + " seed=" + seed;
+        long start = System.nanoTime();
+        String failure;
+        try {
+            failure = check(PolygonGenerator.generate(family, n, seed));
+        } catch (RuntimeException | StackOverflowError e) {
+            failure = e.toString();
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+        return name + (failure == null ? " ok " : " FAIL " + failure + " ") + millis + " ms";
+    }
+
+    /**
+     * Run the algorithms on a polygon and check their results.
+     * @param arrayPolygon the polygon.
+     * @return a description of the first failed check, or null if all passed.
+     */
+    public static String check(ArrayPolygon arrayPolygon) {
+        Polygon polygon = arrayPolygon.toPolygon();
+        double area = areaPoly2(polygon);
+        if (!(area > 0)) return "areaPoly2 is " + area;
+        PolygonValidator.Report report = PolygonValidator.validate(polygon, 1);
+        if (!report.isSweepable()) return "validator: " + report;
+
+        String failure = null;
+        if (polygon.getSize() <= EAR_LIMIT) {
+            failure = checkTriangulation("triangulate", polygon, area,
+                    Triangulation.triangulate(new ArrayPolygon(arrayPolygon)));
+            if (failure == null) failure = checkBridged(polygon, area);
+        }
+        if (failure == null) {
+            ArrayList<Diagonal> monotone = Monotone.triangulateMonotone(polygon);
+            failure = checkTriangulation("triangulateMonotone", polygon, area, monotone);
+            if (failure == null) {
+                failure = checkTriangulation("delaunay", polygon, area, Delaunay.delaunay(polygon, monotone));
+            }
+            if (failure == null) failure = checkConvex(polygon, area, monotone);
+        }
+        if (failure == null) failure = checkMonotone(polygon, area);
+        if (failure == null) failure = checkTrapezoidalization(polygon);
+        if (failure == null) failure = checkTrapezoidMesh(polygon, area);
+        if (failure == null) failure = checkDynamic(polygon);
+        return failure;
+    }
+
+    /**
+     * Bridging the polygon as a hole of a box around it gives a weakly simple polygon whose bridge ends appear twice.
+     * Its triangulation, constrained Delaunay triangulation and convex partition must still cover the box less the
+     * hole.
+     */
+    private static String checkBridged(Polygon polygon, double area) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Point p : polygon.getPoints()) {
+            minX = Math.min(minX, p.getX());
+            minY = Math.min(minY, p.getY());
+            maxX = Math.max(maxX, p.getX());
+            maxY = Math.max(maxY, p.getY());
+        }
+        double margin = Math.max(maxX - minX, maxY - minY);
+        ArrayList<Point> corners = new ArrayList<>(List.of(new Point(minX - margin, minY - margin),
+                new Point(maxX + margin, minY - margin), new Point(maxX + margin, maxY + margin),
+                new Point(minX - margin, maxY + margin)));
+        Polygon box = new Polygon(corners);
+        Polygon bridged = HoleBridging.bridge(new PolygonWithHoles(box, List.of(polygon)));
+        double bridgedArea = areaPoly2(bridged);
+        double expected = Math.abs(areaPoly2(box)) - area;
+        if (Math.abs(bridgedArea - expected) > AREA_TOLERANCE * expected) {
+            return "bridged: area " + bridgedArea + ", expected " + expected;
+        }
+
+        ArrayList<Diagonal> diagonals = Triangulation.triangulate(new ArrayPolygon(bridged));
+        String failure = checkTriangulation("bridged", bridged, bridgedArea, diagonals);
+        if (failure == null) {
+            failure = checkTriangulation("bridged delaunay", bridged, bridgedArea,
+                    Delaunay.delaunay(bridged, diagonals));
+        }
+        if (failure == null) failure = checkConvex(bridged, bridgedArea, diagonals);
+        return failure;
+    }
+
+    /**
+     * Random edits keep the dynamic triangulation a triangulation of the edited polygon, which stays simple. An edit
+     * that is rejected, as every move or insertion onto another vertex must be, leaves the polygon unchanged.
+     */
+    private static String checkDynamic(Polygon polygon) {
+        DynamicTriangulation triangulation = new DynamicTriangulation(polygon);
+        Random random = new Random(polygon.getSize());
+        int ids = polygon.getSize();
+        for (int e = 0; e < EDITS; e++) {
+            int v = randomVertex(triangulation, random, ids);
+            int size = triangulation.getSize();
+            double x = triangulation.getX(v), y = triangulation.getY(v);
+            int n = triangulation.getNext(v);
+            // step about a quarter of the edge leaving v
+            double step = Math.hypot(triangulation.getX(n) - x, triangulation.getY(n) - y) / 4;
+            try {
+                switch (random.nextInt(3)) {
+                    case 0 -> triangulation.moveVertex(v, x + step * random.nextGaussian(),
+                            y + step * random.nextGaussian());
+                    case 1 -> ids = 1 + triangulation.insertVertex(v,
+                            (x + triangulation.getX(n)) / 2 + step * random.nextGaussian(),
+                            (y + triangulation.getY(n)) / 2 + step * random.nextGaussian()).getVertex();
+                    default -> {
+                        if (size > 3) triangulation.removeVertex(v);
+                    }
+                }
+            } catch (IllegalArgumentException rejected) {
+                if (triangulation.getSize() != size || triangulation.getX(v) != x || triangulation.getY(v) != y) {
+                    return "dynamic: rejected edit of vertex " + v + " changed the polygon";
+                }
+            }
+        }
+        for (int e = 0; e < COINCIDENT_EDITS && triangulation.getSize() > 3; e++) {
+            int v = randomVertex(triangulation, random, ids);
+            // a vertex at least two steps from v either way
+            int u = triangulation.getNext(triangulation.getNext(v));
+            for (int k = random.nextInt(triangulation.getSize() - 3); k > 0; k--) u = triangulation.getNext(u);
+            List<Point> before = triangulation.toPolygon().getPoints();
+            int diagonals = triangulation.getDiagonals().size();
+            boolean insert = random.nextBoolean();
+            try {
+                if (insert) triangulation.insertVertex(v, triangulation.getX(u), triangulation.getY(u));
+                else triangulation.moveVertex(v, triangulation.getX(u), triangulation.getY(u));
+                return "dynamic: " + (insert ? "inserting after " : "moving ") + v + " onto " + u + " was accepted";
+            } catch (IllegalArgumentException expected) {
+                if (!triangulation.toPolygon().getPoints().equals(before)
+                        || triangulation.getDiagonals().size() != diagonals) {
+                    return "dynamic: rejected edit of vertex " + v + " onto " + u + " changed the polygon";
+                }
+            }
+        }
+        Polygon edited = triangulation.toPolygon();
+        PolygonValidator.Report report = PolygonValidator.validate(edited, 1);
+        if (!report.isSweepable()) return "dynamic: edited polygon " + report;
+        return checkTriangulation("dynamic", edited, areaPoly2(edited), triangulation.getDiagonals());
+    }
+
+    /** Pick a vertex of a dynamic triangulation whose ids are below the given bound at random. */
+    private static int randomVertex(DynamicTriangulation triangulation, Random random, int ids) {
+        int v;
+        do {
+            v = random.nextInt(ids);
+        } while (!triangulation.contains(v));
+        return v;
+    }
+
+    /**
+     * A triangulation has n - 3 diagonals cutting the polygon into n - 2 positive triangles whose areas add up to
+     * the polygon's area.
+     */
+    private static String checkTriangulation(String name, Polygon polygon, double area, List<Diagonal> diagonals) {
+        int n = polygon.getSize();
+        if (diagonals.size() != n - 3) return name + ": " + diagonals.size() + " diagonals, expected " + (n - 3);
+        ArrayList<int[]> triangles = splitPieces(n, vertexIndices(polygon, diagonals));
+        if (triangles.size() != n - 2) return name + ": " + triangles.size() + " pieces, expected " + (n - 2);
+        double sum = 0;
+        for (int[] triangle : triangles) {
+            if (triangle.length != 3) return name + ": piece with " + triangle.length + " vertices";
+            double a = area2(polygon.getPoint(triangle[0]), polygon.getPoint(triangle[1]),
+                    polygon.getPoint(triangle[2]));
+            if (!(a > 0)) return name + ": triangle " + Arrays.toString(triangle) + " has area " + a;
+            sum += a;
+        }
+        if (Math.abs(sum - area) > AREA_TOLERANCE * area) return name + ": triangle areas sum to " + sum;
+        return null;
+    }
+
+    /**
+     * The trapezoid mesh is consistently linked, and its convex faces have positive areas adding up to the polygon's
+     * area.
+     */
+    private static String checkTrapezoidMesh(Polygon polygon, double area) {
+        HalfEdgeMesh mesh = Trapezoidalization.trapezoidMesh(polygon);
+        for (int e = 0; e < mesh.getEdgeCount(); e++) {
+            int next = mesh.getNext(e);
+            if (mesh.getPrev(next) != e || mesh.getOrigin(next) != mesh.getDestination(e)
+                    || mesh.getFace(next) != mesh.getFace(e)) {
+                return "trapezoidMesh: half-edge " + e + " badly linked";
+            }
+        }
+        double sum = 0;
+        for (int f = 0; f < mesh.getFaceCount(); f++) {
+            int[] face = mesh.getFaceVertices(f);
+            double a = 0;
+            for (int i = 1; i + 1 < face.length; i++) {
+                a += area2(mesh.getPoint(face[0]), mesh.getPoint(face[i]), mesh.getPoint(face[i + 1]));
+            }
+            if (!(a > 0)) return "trapezoidMesh: face with area " + a;
+            sum += a;
+        }
+        if (Math.abs(sum - area) > AREA_TOLERANCE * area) return "trapezoidMesh: face areas sum to " + sum;
+        return null;
+    }
+
+    /**
+     * The convex partition of a triangulation has convex pieces whose areas add up to the polygon's area, and every
+     * chord it keeps is needed: removing it would leave a reflex vertex at one of its ends.
+     */
+    private static String checkConvex(Polygon polygon, double area, List<Diagonal> triangulation) {
+        HalfEdgeMesh triangles = new HalfEdgeMesh(polygon, vertexIndices(polygon, triangulation));
+        HalfEdgeMesh mesh = ConvexPartition.convexMesh(triangles);
+        double sum = 0;
+        for (int f = 0; f < mesh.getFaceCount(); f++) {
+            int[] piece = mesh.getFaceVertices(f);
+            double a = 0;
+            for (int i = 0; i < piece.length; i++) {
+                Point p = mesh.getPoint(piece[i]);
+                Point next = mesh.getPoint(piece[(i + 1) % piece.length]);
+                if (Predicates.orientation(mesh.getPoint(piece[(i + piece.length - 1) % piece.length]), p, next) < 0) {
+                    return "convexMesh: piece reflex at " + p;
+                }
+                a += area2(mesh.getPoint(piece[0]), p, next);
+            }
+            if (!(a > 0)) return "convexMesh: piece with area " + a;
+            sum += a;
+        }
+        if (Math.abs(sum - area) > AREA_TOLERANCE * area) return "convexMesh: piece areas sum to " + sum;
+        for (int e = 2 * mesh.getVertexCount(); e < mesh.getEdgeCount(); e += 2) {
+            int t = e ^ 1;
+            Point a = mesh.getPoint(mesh.getOrigin(e)), b = mesh.getPoint(mesh.getOrigin(t));
+            Point beforeA = mesh.getPoint(mesh.getOrigin(mesh.getPrev(e)));
+            Point afterA = mesh.getPoint(mesh.getDestination(mesh.getNext(t)));
+            Point beforeB = mesh.getPoint(mesh.getOrigin(mesh.getPrev(t)));
+            Point afterB = mesh.getPoint(mesh.getDestination(mesh.getNext(e)));
+            if (Predicates.orientation(beforeA, a, afterA) >= 0 && Predicates.orientation(beforeB, b, afterB) >= 0) {
+                return "convexMesh: inessential chord " + a + "-" + b;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Every piece of a monotone partition has a single topmost local maximum, and the pieces' areas add up to the
+     * polygon's area. The mesh has one more face than monotonePartition has segments, as it is cut by them.
+     */
+    private static String checkMonotone(Polygon polygon, double area) {
+        int n = polygon.getSize();
+        double sum = 0;
+        HalfEdgeMesh mesh = Monotone.monotoneMesh(polygon);
+        int segments = Monotone.monotonePartition(polygon).size();
+        if (mesh.getFaceCount() != segments + 1) {
+            return "monotoneMesh: " + mesh.getFaceCount() + " pieces for " + segments + " partition segments";
+        }
+        for (int f = 0; f < mesh.getFaceCount(); f++) {
+            int[] piece = mesh.getFaceVertices(f);
+            int peaks = 0;
+            double a = 0;
+            for (int i = 0; i < piece.length; i++) {
+                Point previous = polygon.getPoint(piece[(i + piece.length - 1) % piece.length]);
+                Point p = polygon.getPoint(piece[i]);
+                Point next = polygon.getPoint(piece[(i + 1) % piece.length]);
+                if (above(p, previous) && above(p, next)) peaks++;
+                a += area2(polygon.getPoint(piece[0]), p, next);
+            }
+            if (peaks != 1) return "monotoneMesh: piece with " + peaks + " local maxima";
+            if (!(a > 0)) return "monotoneMesh: piece with area " + a;
+            sum += a;
+        }
+        if (Math.abs(sum - area) > AREA_TOLERANCE * area) return "monotoneMesh: piece areas sum to " + sum;
+        return null;
+    }
+
+    /**
+     * The sweep and the randomized decomposition must produce the same horizontal segments.
+     */
+    private static String checkTrapezoidalization(Polygon polygon) {
+        ArrayList<Segment> sweep = Trapezoidalization.trapezoidalization(polygon);
+        ArrayList<Segment> seidel = Trapezoidalization.trapezoidalizationSeidel(polygon);
+        for (Segment segment : sweep) {
+            if (segment.getP1().getY() != segment.getP2().getY()) return "trapezoidalization: " + segment;
+        }
+        Comparator<Segment> order = Comparator.comparingDouble((Segment s) -> s.getP1().getY())
+                .thenComparingDouble(s -> Math.min(s.getP1().getX(), s.getP2().getX()))
+                .thenComparingDouble(s -> Math.max(s.getP1().getX(), s.getP2().getX()));
+        sweep.sort(order);
+        seidel.sort(order);
+        if (sweep.size() != seidel.size()) {
+            return "trapezoidalization: " + sweep.size() + " segments, randomized " + seidel.size();
+        }
+        for (int i = 0; i < sweep.size(); i++) {
+            if (order.compare(sweep.get(i), seidel.get(i)) != 0) {
+                return "trapezoidalization: " + sweep.get(i) + ", randomized " + seidel.get(i);
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,148 @@
+/**
+ * FILE: SvgWriter.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Streams polygons, diagonals and segments to an SVG file as they are given. Each call writes one path
+ * element, so nothing but the writer's buffer is held in memory whatever the size of the drawing.
+ * NOTE: Coordinates are written in pixels rounded to a hundredth, which keeps the files small and the numbers
+ * quick to format.
+ */
+
+package tools;
+
+import shape.Polygon;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SvgWriter extends ImageWriter implements AutoCloseable {
+    private final Writer out;
+    /** Whether the next command of the current path is the first, which needs no separating space. */
+    private boolean first;
+
+    /**
+     * Writes the header of an SVG image framing a region of the plane.
+     * @param out the writer receiving the image. Closed by close.
+     * @param width width of the image in pixels.
+     * @param height height of the image in pixels.
+     * @param minX smallest x of the region shown.
+     * @param minY smallest y of the region shown.
+     * @param maxX largest x of the region shown.
+     * @param maxY largest y of the region shown.
+     */
+    public SvgWriter(Writer out, int width, int height, double minX, double minY, double maxX, double maxY)
+            throws IOException {
+        super(width, height, minX, minY, maxX, maxY);
+        this.out = out;
+        out.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">\n");
+        out.write("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+    }
+
+    /**
+     * Writes the header of an SVG image framing a polygon.
+     * @param out the writer receiving the image. Closed by close.
+     * @param width width of the image in pixels.
+     * @param height height of the image in pixels.
+     * @param frame the polygon whose bounding box the image shows.
+     */
+    public SvgWriter(Writer out, int width, int height, Polygon frame) throws IOException {
+        this(out, width, height, bounds(frame));
+    }
+
+    private SvgWriter(Writer out, int width, int height, double[] box) throws IOException {
+        this(out, width, height, box[0], box[1], box[2], box[3]);
+    }
+
+    /**
+     * Opens an SVG file framing a polygon.
+     * @param path the file to write. It is overwritten.
+     * @param width width of the image in pixels.
+     * @param height height of the image in pixels.
+     * @param frame the polygon whose bounding box the image shows.
+     * @return the writer, to be closed once everything is drawn.
+     */
+    public static SvgWriter open(Path path, int width, int height, Polygon frame) throws IOException {
+        Writer out = Files.newBufferedWriter(path);
+        try {
+            return new SvgWriter(out, width, height, frame);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void beginPath(int rgb, double strokeWidth) throws IOException {
+        out.write("<path fill=\"none\" stroke-linecap=\"round\" stroke-linejoin=\"round\" stroke=\"#");
+        String hex = Integer.toHexString(rgb & 0xffffff);
+        for (int i = hex.length(); i < 6; i++) out.write('0');
+        out.write(hex);
+        out.write("\" stroke-width=\"");
+        number(strokeWidth);
+        out.write("\" d=\"");
+        first = true;
+    }
+
+    @Override
+    protected void moveTo(double x, double y) throws IOException {
+        command('M');
+        number(x);
+        out.write(' ');
+        number(y);
+    }
+
+    @Override
+    protected void lineTo(double x, double y) throws IOException {
+        command('L');
+        number(x);
+        out.write(' ');
+        number(y);
+    }
+
+    @Override
+    protected void closePath() throws IOException {
+        command('Z');
+    }
+
+    @Override
+    protected void endPath() throws IOException {
+        out.write("\"/>\n");
+    }
+
+    /** Writes the closing tag and closes the writer. */
+    @Override
+    public void close() throws IOException {
+        try {
+            out.write("</svg>\n");
+        } finally {
+            out.close();
+        }
+    }
+
+    private void command(char command) throws IOException {
+        if (!first) out.write(' ');
+        first = false;
+        out.write(command);
+    }
+
+    /** Writes a number rounded to a hundredth, without trailing zeros. */
+    private void number(double value) throws IOException {
+        long hundredths = Math.round(value * 100);
+        if (hundredths < 0) {
+            out.write('-');
+            hundredths = -hundredths;
+        }
+        out.write(Long.toString(hundredths / 100));
+        int fraction = (int) (hundredths % 100);
+        if (fraction == 0) return;
+        out.write('.');
+        out.write('0' + fraction / 10);
+        if (fraction % 10 != 0) out.write('0' + fraction % 10);
+    }
+
+}
@@ -0,0 +1,179 @@
+/**
+ * FILE: VertexGrid.java
+ * LOC: src.tools
+ *
+ * AUTHOR: Aaron Kersten, aaronkersten21@gmail.com
+ * DATE: 10/17/2026
+ *
+ * DESCRIPTION: Uniform grid over a subset of a polygon's vertices. Each cell keeps its vertices in a doubly linked
+ * list of indices, so vertices can be looked up by area, added and removed in constant time.
+ * NOTE: Vertices outside the area the grid was built over go to the border cells, which the clamped column and row
+ * lookups also visit, so queries stay correct however far vertices are moved.
+ */
+
+package tools;
+
+import shape.ArrayPolygon;
+import shape.Coordinates;
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class VertexGrid {
+    /** Lower left corner of the grid. */
+    private final double minX, minY;
+    /** Width and height of a cell. */
+    private final double cellWidth, cellHeight;
+    /** Number of cells along each axis. */
+    private final int columns, rows;
+    /** First vertex in each cell, or -1 if the cell is empty. */
+    private final int[] first;
+    /** Vertex after each vertex in its cell, or -1 at the end of the cell. */
+    private int[] next;
+    /** Vertex before each vertex in its cell, or -1 at the start of the cell. */
+    private int[] prev;
+    /** Cell holding each vertex, or -1 if the vertex is not in the grid. */
+    private int[] cell;
+
+    /**
+     * Build a grid covering all vertices of the polygon, holding the given subset of them. The grid gets roughly one
+     * cell per stored vertex.
+     * @param polygon the polygon whose vertices are indexed.
+     * @param vertices the vertex indices to store.
+     */
+    public VertexGrid(ArrayPolygon polygon, BitSet vertices) {
+        this(bounds(polygon.getCoordinates(), null), vertices.cardinality(), polygon.getCapacity());
+        for (int v = vertices.nextSetBit(0); v >= 0; v = vertices.nextSetBit(v + 1)) {
+            put(v, polygon.getX(v), polygon.getY(v));
+        }
+    }
+
+    /**
+     * Build a grid covering and holding the given vertices. The grid gets roughly one cell per stored vertex.
+     * @param xs x coordinate of each vertex.
+     * @param ys y coordinate of each vertex.
+     * @param vertices the vertex indices to store.
+     */
+    public VertexGrid(double[] xs, double[] ys, BitSet vertices) {
+        this(bounds(Coordinates.of(xs, ys), vertices), vertices.cardinality(), xs.length);
+        for (int v = vertices.nextSetBit(0); v >= 0; v = vertices.nextSetBit(v + 1)) put(v, xs[v], ys[v]);
+    }
+
+    /**
+     * @param bounds lower left and upper right corners of the covered area, as {x0, y0, x1, y1}.
+     * @param count number of vertices to be stored.
+     * @param capacity number of vertex indices.
+     */
+    private VertexGrid(double[] bounds, int count, int capacity) {
+        int side = Math.max(1, (int) Math.sqrt(count));
+        this.minX = bounds[0];
+        this.minY = bounds[1];
+        this.columns = side;
+        this.rows = side;
+        this.cellWidth = bounds[2] > bounds[0] ? (bounds[2] - bounds[0]) / side : 1;
+        this.cellHeight = bounds[3] > bounds[1] ? (bounds[3] - bounds[1]) / side : 1;
+
+        this.first = new int[columns * rows];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.cell = new int[capacity];
+        Arrays.fill(first, -1);
+        Arrays.fill(cell, -1);
+    }
+
+    /**
+     * @param coordinates coordinates of every vertex index.
+     * @param vertices the vertices to bound, or null for all of them.
+     * @return the bounding box of the vertices as {x0, y0, x1, y1}.
+     */
+    private static double[] bounds(Coordinates coordinates, BitSet vertices) {
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < coordinates.getSize(); v++) {
+            if (vertices != null && !vertices.get(v)) continue;
+            x0 = Math.min(x0, coordinates.getX(v));
+            y0 = Math.min(y0, coordinates.getY(v));
+            x1 = Math.max(x1, coordinates.getX(v));
+            y1 = Math.max(y1, coordinates.getY(v));
+        }
+        return new double[] {x0, y0, x1, y1};
+    }
+
+    public int getColumns() {return columns;}
+
+    public int getRows() {return rows;}
+
+    public double getCellWidth() {return cellWidth;}
+
+    public double getCellHeight() {return cellHeight;}
+
+    /**
+     * @param x an x coordinate.
+     * @return the column containing x, clamped to the grid.
+     */
+    public int column(double x) {
+        return Math.min(columns - 1, Math.max(0, (int) ((x - minX) / cellWidth)));
+    }
+
+    /**
+     * @param y a y coordinate.
+     * @return the row containing y, clamped to the grid.
+     */
+    public int row(double y) {
+        return Math.min(rows - 1, Math.max(0, (int) ((y - minY) / cellHeight)));
+    }
+
+    /**
+     * @param column column of the cell.
+     * @param row row of the cell.
+     * @return the first vertex stored in the cell, or -1 if it is empty.
+     */
+    public int getFirst(int column, int row) {return first[row * columns + column];}
+
+    /**
+     * @param v a stored vertex.
+     * @return the vertex after v in the same cell, or -1 if v is the last one.
+     */
+    public int getNext(int v) {return next[v];}
+
+    public boolean contains(int v) {return cell[v] != -1;}
+
+    /**
+     * Store a vertex in the cell containing its position, making room for its index if needed.
+     * @param v index of the vertex, not already stored.
+     * @param x x coordinate of the vertex.
+     * @param y y coordinate of the vertex.
+     */
+    public void add(int v, double x, double y) {
+        if (v >= cell.length) {
+            int capacity = Math.max(v + 1, 2 * cell.length);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            int old = cell.length;
+            cell = Arrays.copyOf(cell, capacity);
+            Arrays.fill(cell, old, capacity, -1);
+        }
+        put(v, x, y);
+    }
+
+    /**
+     * Remove a vertex from the grid. Does nothing if the vertex is not stored.
+     * @param v index of the vertex.
+     */
+    public void remove(int v) {
+        if (cell[v] == -1) return;
+        if (prev[v] != -1) next[prev[v]] = next[v];
+        else first[cell[v]] = next[v];
+        if (next[v] != -1) prev[next[v]] = prev[v];
+        cell[v] = -1;
+    }
+
+    private void put(int v, double x, double y) {
+        int c = row(y) * columns + column(x);
+        cell[v] = c;
+        prev[v] = -1;
+        next[v] = first[c];
+        if (first[c] != -1) prev[first[c]] = v;
+        first[c] = v;
+    }
+
+}